@@ -0,0 +1,47 @@
+package com.futureh.drone.feeder.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.futureh.drone.feeder.controller.ReactiveVideoHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ServletHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+/**
+ * ReactiveVideoConfig class.
+ *
+ * <p>Mounts the routes of ReactiveVideoHandler on the same Tomcat as the MVC controllers,
+ * under {@code drone-feeder.videos.reactive.path} (default {@code /reactive}). The adapter
+ * uses Servlet non-blocking I/O, so a transfer only takes a container thread while there
+ * are bytes to move.</p>
+ */
+@Configuration
+public class ReactiveVideoConfig {
+
+  /** reactiveVideoServlet method.*/
+  @Bean
+  public ServletRegistrationBean<ServletHttpHandlerAdapter> reactiveVideoServlet(
+      ReactiveVideoHandler reactiveVideoHandler, ObjectMapper objectMapper,
+      @Value("${drone-feeder.videos.reactive.path:/reactive}") String path) {
+    HandlerStrategies strategies = HandlerStrategies.builder()
+        .codecs(codecs -> codecs.defaultCodecs()
+            .jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+        .build();
+    HttpHandler httpHandler = RouterFunctions.toHttpHandler(reactiveVideoHandler.routes(),
+        strategies);
+
+    ServletRegistrationBean<ServletHttpHandlerAdapter> registration =
+        new ServletRegistrationBean<ServletHttpHandlerAdapter>(
+            new ServletHttpHandlerAdapter(httpHandler), path + "/*");
+    registration.setName("reactiveVideo");
+    registration.setAsyncSupported(true);
+    registration.setLoadOnStartup(1);
+    return registration;
+  }
+
+}
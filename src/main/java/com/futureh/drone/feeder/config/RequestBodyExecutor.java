@@ -0,0 +1,52 @@
+package com.futureh.drone.feeder.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+/**
+ * RequestBodyExecutor class.
+ *
+ * <p>Runs the handlers that stream a raw request body (video uploads) as async tasks. By
+ * default the task runs right away on the request thread and reads the body with blocking
+ * I/O; the virtual-thread mode of the jdk21 build replaces it with one that reads the body on
+ * a virtual thread without blocking the container.</p>
+ */
+@Component
+public class RequestBodyExecutor {
+
+  /** BodyHandler interface, a handler step that consumes the request body. */
+  @FunctionalInterface
+  public interface BodyHandler<T> {
+    T handle(InputStream body) throws Exception;
+  }
+
+  private final Long timeout;
+  private final AsyncTaskExecutor executor;
+
+  /** RequestBodyExecutor constructor method, runs the tasks on the request thread. */
+  public RequestBodyExecutor() {
+    this(null, new TaskExecutorAdapter(Runnable::run));
+  }
+
+  /** RequestBodyExecutor constructor method. */
+  public RequestBodyExecutor(Long timeout, AsyncTaskExecutor executor) {
+    this.timeout = timeout;
+    this.executor = executor;
+  }
+
+  /** submit method, the task to return from the handler method.*/
+  public <T> WebAsyncTask<T> submit(HttpServletRequest request, BodyHandler<T> handler) {
+    return new WebAsyncTask<T>(timeout, executor, () -> handler.handle(getBody(request)));
+  }
+
+  /** getBody method, called on the thread that runs the task.*/
+  protected InputStream getBody(HttpServletRequest request) throws IOException {
+    return request.getInputStream();
+  }
+
+}
@@ -0,0 +1,38 @@
+package com.futureh.drone.feeder.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import java.net.URI;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SecondLevelCacheConfig class.
+ *
+ * <p>Hands Hibernate the Caffeine JCache manager that holds its second-level and query cache
+ * regions, configured in {@code application.conf}. The provider shares a manager between
+ * everyone asking for the same URI, so each application context gets a URI of its own and
+ * never reads entries cached from another context's database.</p>
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+  /** hibernateCacheManager method.*/
+  @Bean(destroyMethod = "close")
+  public CacheManager hibernateCacheManager() {
+    return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+        .getCacheManager(URI.create("drone-feeder:" + UUID.randomUUID()),
+            getClass().getClassLoader());
+  }
+
+  /** hibernateCacheCustomizer method.*/
+  @Bean
+  public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager cacheManager) {
+    return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+  }
+
+}
@@ -1,25 +1,51 @@
 package com.futureh.drone.feeder.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.futureh.drone.feeder.config.RequestBodyExecutor;
+import com.futureh.drone.feeder.dto.DeliveryBulkDto;
 import com.futureh.drone.feeder.dto.DeliveryDto;
 import com.futureh.drone.feeder.exception.ConflictWithInputDataException;
 import com.futureh.drone.feeder.exception.InputNotFoundException;
 import com.futureh.drone.feeder.exception.IntServerErrorInVideoFinding;
 import com.futureh.drone.feeder.middleware.DeliveryMiddleware;
+import com.futureh.drone.feeder.middleware.PageMiddleware;
+import com.futureh.drone.feeder.middleware.ValidationResult;
 import com.futureh.drone.feeder.middleware.VideoNameMiddleware;
 import com.futureh.drone.feeder.model.Delivery;
 import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.response.BatchItemResponse;
+import com.futureh.drone.feeder.response.DeliveryBatchResponse;
 import com.futureh.drone.feeder.response.DeliveryDetailsResponse;
 import com.futureh.drone.feeder.response.DeliveryResponse;
+import com.futureh.drone.feeder.response.DispatchResponse;
+import com.futureh.drone.feeder.response.RoutePlanResponse;
 import com.futureh.drone.feeder.response.VideoDetailsResponse;
 import com.futureh.drone.feeder.response.VideoResponse;
 import com.futureh.drone.feeder.service.DeliveryService;
+import com.futureh.drone.feeder.service.DispatchService;
+import com.futureh.drone.feeder.service.MetricsService;
+import com.futureh.drone.feeder.service.RouteService;
+import com.futureh.drone.feeder.util.DeliveryStatus;
+import com.futureh.drone.feeder.util.PageHeaders;
+import com.futureh.drone.feeder.util.ResourceRegionWriter;
+import com.futureh.drone.feeder.util.VersionHeaders;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -30,10 +56,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * DeliveryController class.
@@ -44,10 +74,30 @@ public class DeliveryController {
 
   String videoAlreadyExists = "The video already exists.";
   String deliveryHasntVideo = "The delivery hasn't video.";
+  String deliveryIsNull = "The delivery can't be null.";
+
+  private static final MediaType VIDEO_MP4 = MediaType.parseMediaType("video/mp4");
+  private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+  private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
 
   @Autowired
   private DeliveryService deliveryService;
 
+  @Autowired
+  private DispatchService dispatchService;
+
+  @Autowired
+  private RouteService routeService;
+
+  @Autowired
+  private MetricsService metricsService;
+
+  @Autowired
+  private RequestBodyExecutor requestBodyExecutor;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
   /** addDelivery method.*/
   @PostMapping("/new")
   public ResponseEntity<DeliveryResponse> addDelivery(@RequestBody DeliveryDto delivery) {
@@ -61,6 +111,51 @@ public class DeliveryController {
     return ResponseEntity.status(HttpStatus.CREATED).body(newDeliveryResponse);
   }
 
+  /**
+   * addDeliveries method.
+   *
+   * <p>Validates every delivery of the batch in one pass, stores the valid ones together and
+   * answers with the result of each item, in request order.</p>
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<DeliveryBatchResponse> addDeliveries(
+      @RequestBody List<DeliveryDto> deliveries) {
+    DeliveryMiddleware.isValidBatch(deliveries);
+
+    List<BatchItemResponse> items = new ArrayList<BatchItemResponse>(deliveries.size());
+    List<DeliveryDto> validDeliveries = new ArrayList<DeliveryDto>(deliveries.size());
+    List<Integer> validIndexes = new ArrayList<Integer>(deliveries.size());
+    for (int i = 0; i < deliveries.size(); i++) {
+      DeliveryDto delivery = deliveries.get(i);
+      ValidationResult validation = delivery == null
+          ? new ValidationResult().addViolation(deliveryIsNull)
+          : DeliveryMiddleware.validateDelivery(delivery);
+      if (validation.isValid()) {
+        validDeliveries.add(delivery);
+        validIndexes.add(i);
+        items.add(null);
+      } else {
+        items.add(BatchItemResponse.rejected(i, validation.getViolations()));
+      }
+    }
+
+    if (!validDeliveries.isEmpty()) {
+      List<Delivery> newDeliveries = deliveryService.addDeliveries(validDeliveries);
+      for (int i = 0; i < newDeliveries.size(); i++) {
+        int index = validIndexes.get(i);
+        items.set(index, BatchItemResponse.created(index, newDeliveries.get(i).getId()));
+      }
+    }
+
+    DeliveryBatchResponse batchResponse = new DeliveryBatchResponse();
+    batchResponse.setCreated(validDeliveries.size());
+    batchResponse.setRejected(deliveries.size() - validDeliveries.size());
+    batchResponse.setItems(items);
+
+    HttpStatus status = validDeliveries.isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.CREATED;
+    return ResponseEntity.status(status).body(batchResponse);
+  }
+
   /** addVideo method.*/
   @PostMapping("/{id}/uploadVideo")
   public ResponseEntity<DeliveryResponse> addVideo(@PathVariable("id") Long id,
@@ -68,15 +163,11 @@ public class DeliveryController {
     String videoName = StringUtils.cleanPath(multipartFile.getOriginalFilename());
     VideoNameMiddleware.isValidName(videoName);
 
-    Video video = deliveryService.getVideoByName(videoName);
-    if (video != null) {
+    if (deliveryService.existsVideoByName(videoName)) {
       throw new ConflictWithInputDataException(videoAlreadyExists);
     }
 
-    deliveryService.saveFile(videoName, multipartFile);
-
-    Long size = multipartFile.getSize();
-    Video newVideo = new Video(videoName, size);
+    Video newVideo = deliveryService.saveFile(videoName, multipartFile);
 
     Delivery deliveryUpdated = deliveryService.addVideo(id, newVideo);
     DeliveryResponse deliveryUpdatedResponse = new DeliveryResponse();
@@ -85,18 +176,46 @@ public class DeliveryController {
     return ResponseEntity.status(HttpStatus.CREATED).body(deliveryUpdatedResponse);
   }
 
-  /** getAllVideos method.*/
-  @GetMapping("/allVideos")
-  public ResponseEntity<List<VideoResponse>> getAllVideos() {
-    List<Video> videos = deliveryService.getAllVideos();
+  /**
+   * streamVideo method.
+   *
+   * <p>Streaming alternative to uploadVideo for large recordings: the raw request body
+   * (application/octet-stream) is written straight to its final location in one pass. The
+   * body is read in a task of the RequestBodyExecutor, after the checks.</p>
+   */
+  @PutMapping("/{id}/uploadVideo/{videoName}")
+  public WebAsyncTask<ResponseEntity<DeliveryResponse>> streamVideo(@PathVariable("id") Long id,
+      @PathVariable("videoName") String videoName, HttpServletRequest request) {
+    VideoNameMiddleware.isValidName(videoName);
+
+    if (deliveryService.existsVideoByName(videoName)) {
+      throw new ConflictWithInputDataException(videoAlreadyExists);
+    }
+    deliveryService.getDeliveryById(id);
 
-    List<VideoResponse> videosResponse = videos.stream().map(vdo -> {
-      VideoResponse videoResponse = new VideoResponse();
-      videoResponse.createResponseByVideoEntity(vdo);
-      return videoResponse;
-    }).collect(Collectors.toList());
+    long declaredSize = request.getContentLengthLong();
+    return requestBodyExecutor.submit(request, body -> {
+      Video newVideo = deliveryService.saveStream(videoName, body, declaredSize);
 
-    return ResponseEntity.ok(videosResponse);
+      Delivery deliveryUpdated = deliveryService.addVideo(id, newVideo);
+      DeliveryResponse deliveryUpdatedResponse = new DeliveryResponse();
+      deliveryUpdatedResponse.createResponseByDeliveryEntity(deliveryUpdated);
+
+      return ResponseEntity.status(HttpStatus.CREATED).body(deliveryUpdatedResponse);
+    });
+  }
+
+  /** getAllVideos method.*/
+  @GetMapping("/allVideos")
+  public ResponseEntity<List<VideoResponse>> getAllVideos(
+      @RequestParam(value = "afterId", required = false) Long afterId,
+      @RequestParam(value = "page", defaultValue = "0") int page,
+      @RequestParam(value = "size", defaultValue = "100") int size) {
+    PageMiddleware.isValidPage(page, size);
+    Slice<VideoResponse> videos = deliveryService.getAllVideos(afterId, page, size);
+
+    return ResponseEntity.ok().headers(PageHeaders.nextCursor(videos, VideoResponse::getId))
+        .body(videos.getContent());
   }
 
   /** getVideoDetails method.*/
@@ -112,16 +231,82 @@ public class DeliveryController {
 
   /** getAllDeliveries method.*/
   @GetMapping("/all")
-  public ResponseEntity<List<DeliveryResponse>> getAllDeliveries() {
-    List<Delivery> deliveries = deliveryService.getAllDeliveries();
+  public ResponseEntity<List<DeliveryResponse>> getAllDeliveries(
+      @RequestParam(value = "afterId", required = false) Long afterId,
+      @RequestParam(value = "page", defaultValue = "0") int page,
+      @RequestParam(value = "size", defaultValue = "100") int size) {
+    PageMiddleware.isValidPage(page, size);
+    Slice<DeliveryResponse> deliveries = deliveryService.getAllDeliveries(afterId, page, size);
+
+    return ResponseEntity.ok()
+        .headers(PageHeaders.nextCursor(deliveries, DeliveryResponse::getId))
+        .headers(VersionHeaders.forSlice(deliveries, DeliveryResponse::getId,
+            DeliveryResponse::getVersion))
+        .body(deliveries.getContent());
+  }
+
+  /**
+   * exportDeliveries method.
+   *
+   * <p>Writes every delivery as one JSON object per line (NDJSON) while it is read from the
+   * database, instead of building the whole list in memory first.</p>
+   */
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportDeliveries() {
+    StreamingResponseBody body = outputStream -> {
+      OutputStream out = new BufferedOutputStream(outputStream, EXPORT_BUFFER_SIZE);
+      ObjectWriter writer = objectMapper.writerFor(DeliveryResponse.class)
+          .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+          .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+      try {
+        deliveryService.exportDeliveries(delivery -> {
+          DeliveryResponse deliveryResponse = new DeliveryResponse();
+          deliveryResponse.createResponseByDeliveryEntity(delivery);
+          try {
+            writer.writeValue(out, deliveryResponse);
+            out.write('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      out.flush();
+    };
 
-    List<DeliveryResponse> deliveriesResponse = deliveries.stream().map(dlv -> {
-      DeliveryResponse deliveryResponse = new DeliveryResponse();
-      deliveryResponse.createResponseByDeliveryEntity(dlv);
-      return deliveryResponse;
-    }).collect(Collectors.toList());
+    return ResponseEntity.ok().contentType(NDJSON).body(body);
+  }
 
-    return ResponseEntity.ok(deliveriesResponse);
+  /** getDeliveriesNear method.*/
+  @GetMapping("/near")
+  public ResponseEntity<List<DeliveryResponse>> getDeliveriesNear(
+      @RequestParam("latitude") double latitude,
+      @RequestParam("longitude") double longitude,
+      @RequestParam(value = "radiusInKm", defaultValue = "5") double radiusInKm,
+      @RequestParam(value = "status", defaultValue = "TO_DELIVER") DeliveryStatus status,
+      @RequestParam(value = "limit", defaultValue = "100") int limit) {
+    DeliveryMiddleware.isValidRadius(latitude, longitude, radiusInKm);
+    PageMiddleware.isValidPage(0, limit);
+
+    return ResponseEntity.ok(deliveryService.getDeliveriesNear(latitude, longitude, radiusInKm,
+        status, limit));
+  }
+
+  /** getDeliveriesWithin method.*/
+  @GetMapping("/within")
+  public ResponseEntity<List<DeliveryResponse>> getDeliveriesWithin(
+      @RequestParam("minLatitude") double minLatitude,
+      @RequestParam("minLongitude") double minLongitude,
+      @RequestParam("maxLatitude") double maxLatitude,
+      @RequestParam("maxLongitude") double maxLongitude,
+      @RequestParam(value = "status", defaultValue = "TO_DELIVER") DeliveryStatus status,
+      @RequestParam(value = "limit", defaultValue = "100") int limit) {
+    DeliveryMiddleware.isValidBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+    PageMiddleware.isValidPage(0, limit);
+
+    return ResponseEntity.ok(deliveryService.getDeliveriesWithin(minLatitude, minLongitude,
+        maxLatitude, maxLongitude, status, limit));
   }
 
   /** getDeliveryById method.*/
@@ -132,7 +317,8 @@ public class DeliveryController {
     DeliveryDetailsResponse deliveryDetailsResponse = new DeliveryDetailsResponse();
     deliveryDetailsResponse.createResponseByDeliveryEntity(delivery);
 
-    return ResponseEntity.ok(deliveryDetailsResponse);
+    return ResponseEntity.ok().headers(VersionHeaders.forDelivery(delivery))
+        .body(deliveryDetailsResponse);
   }
 
   /** removeDelivery method.*/
@@ -147,6 +333,57 @@ public class DeliveryController {
     return ResponseEntity.ok(response);
   }
 
+  /** updateDeliveriesStatus method.*/
+  @PutMapping("/bulk/status")
+  public ResponseEntity<HashMap<String, Object>> updateDeliveriesStatus(
+      @RequestBody DeliveryBulkDto bulk) {
+    DeliveryMiddleware.isValidBulk(bulk, true);
+
+    int updated = deliveryService.updateDeliveriesStatus(bulk);
+
+    HashMap<String, Object> response = new HashMap<String, Object>();
+    response.put("message", updated + " deliveries have been moved to " + bulk.getNewStatus()
+        + ".");
+    response.put("count", updated);
+
+    return ResponseEntity.ok(response);
+  }
+
+  /** removeDeliveries method.*/
+  @PostMapping("/bulk/delete")
+  public ResponseEntity<HashMap<String, Object>> removeDeliveries(
+      @RequestBody DeliveryBulkDto bulk) {
+    DeliveryMiddleware.isValidBulk(bulk, false);
+
+    int removed = deliveryService.removeDeliveries(bulk);
+
+    HashMap<String, Object> response = new HashMap<String, Object>();
+    response.put("message", removed + " deliveries have been removed.");
+    response.put("count", removed);
+
+    return ResponseEntity.ok(response);
+  }
+
+  /** dispatchDeliveries method.*/
+  @PostMapping("/dispatch")
+  public ResponseEntity<DispatchResponse> dispatchDeliveries(
+      @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+    DeliveryMiddleware.isValidDispatch(limit);
+
+    List<Delivery> deliveries = dispatchService.dispatch(limit);
+
+    DispatchResponse dispatchResponse = new DispatchResponse();
+    dispatchResponse.createResponseByDeliveryEntities(deliveries);
+
+    return ResponseEntity.ok(dispatchResponse);
+  }
+
+  /** planRoutes method.*/
+  @GetMapping("/routes")
+  public ResponseEntity<RoutePlanResponse> planRoutes() {
+    return ResponseEntity.ok(routeService.planWave());
+  }
+
   /** updateDelivery method.*/
   @PutMapping("/update/{id}")
   public ResponseEntity<DeliveryResponse> updateDelivery(@PathVariable("id") Long id,
@@ -161,9 +398,20 @@ public class DeliveryController {
     return ResponseEntity.ok(deliveryUpdatedResponse);
   }
 
-  /** downloadVideo method.*/
+  /**
+   * downloadVideo method.
+   *
+   * <p>Supports single byte ranges ({@code Range}/{@code If-Range}) so players can seek and
+   * interrupted downloads can resume without transferring the whole file again. The
+   * conditional headers are checked against the video's ETag first: Spring doesn't check them
+   * for a streamed body, so a matching {@code If-None-Match} is answered here with 304 (null
+   * tells Spring the response is complete). A HEAD gets the headers of the GET and no
+   * body.</p>
+   */
   @GetMapping("/{id}/downloadVideo")
-  public ResponseEntity<?> downloadVideo(@PathVariable("id") Long id) {
+  public ResponseEntity<StreamingResponseBody> downloadVideo(@PathVariable("id") Long id,
+      @RequestHeader HttpHeaders requestHeaders, HttpServletRequest request,
+      WebRequest webRequest) {
     Delivery delivery = deliveryService.getDeliveryById(id);
     Video video = delivery.getVideo();
     if (video == null) {
@@ -172,22 +420,73 @@ public class DeliveryController {
 
     String videoName = video.getFileName();
     Resource resource = null;
+    long contentLength;
+    long lastModified;
     try {
-      resource = deliveryService.getVideoAsResource(videoName);
+      resource = deliveryService.getVideoAsResource(video);
       if (resource == null) {
         throw new IOException();
       }
+      contentLength = resource.contentLength();
+      lastModified = resource.lastModified();
     } catch (IOException e) {
       throw new IntServerErrorInVideoFinding();
     }
 
-    String contentType = "application/octet-stream";
-    String headerValue = "attachment; filename=\"" + resource.getFilename() + "\"";
+    String eTag = ResourceRegionWriter.eTag(lastModified, contentLength);
+    if (webRequest.checkNotModified(eTag, lastModified)) {
+      return null;
+    }
+    HttpRange range = ResourceRegionWriter.requestedRange(requestHeaders, eTag, lastModified);
+
+    long start = 0;
+    long length = contentLength;
+    ResponseEntity.BodyBuilder responseBuilder;
+    if (range == null) {
+      responseBuilder = ResponseEntity.ok();
+    } else {
+      start = range.getRangeStart(contentLength);
+      length = range.getRangeEnd(contentLength) - start + 1;
+      if (start >= contentLength || length <= 0) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + contentLength)
+            .build();
+      }
+      responseBuilder = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+          .header(HttpHeaders.CONTENT_RANGE,
+              "bytes " + start + "-" + (start + length - 1) + "/" + contentLength);
+    }
 
-    return ResponseEntity.ok()
-        .contentType(MediaType.parseMediaType(contentType))
-        .header(HttpHeaders.CONTENT_DISPOSITION, headerValue)
-        .body(resource);
+    String headerValue = "inline; filename=\"" + videoName + "\"";
+    responseBuilder
+        .contentType(VIDEO_MP4)
+        .contentLength(length)
+        .eTag(eTag)
+        .lastModified(lastModified)
+        .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+        .header(HttpHeaders.CONTENT_DISPOSITION, headerValue);
+
+    if (HttpMethod.HEAD.matches(request.getMethod())) {
+      return responseBuilder.build();
+    }
+
+    boolean partial = range != null;
+    try {
+      if (ResourceRegionWriter.trySendfile(request, resource, start, length)) {
+        metricsService.recordDownload(partial, length);
+        return responseBuilder.build();
+      }
+    } catch (IOException e) {
+      throw new IntServerErrorInVideoFinding();
+    }
+
+    Resource videoResource = resource;
+    long regionStart = start;
+    long regionLength = length;
+    return responseBuilder.body(outputStream -> {
+      ResourceRegionWriter.write(videoResource, regionStart, regionLength, outputStream);
+      metricsService.recordDownload(partial, regionLength);
+    });
   }
 
   /** deleteVideo method.*/
@@ -200,8 +499,7 @@ public class DeliveryController {
       throw new InputNotFoundException(deliveryHasntVideo);
     }
 
-    String videoName = video.getFileName();
-    Delivery deliveryUpdated = deliveryService.deleteVideo(id, videoName);
+    Delivery deliveryUpdated = deliveryService.deleteVideo(id);
 
     DeliveryResponse deliveryUpdatedResponse = new DeliveryResponse();
     deliveryUpdatedResponse.createResponseByDeliveryEntity(deliveryUpdated);
@@ -2,13 +2,16 @@ package com.futureh.drone.feeder.controller;
 
 import com.futureh.drone.feeder.dto.DroneDto;
 import com.futureh.drone.feeder.middleware.DroneMiddleware;
+import com.futureh.drone.feeder.middleware.PageMiddleware;
 import com.futureh.drone.feeder.model.Drone;
 import com.futureh.drone.feeder.response.DroneResponse;
 import com.futureh.drone.feeder.service.DroneService;
+import com.futureh.drone.feeder.util.PageHeaders;
+import com.futureh.drone.feeder.util.VersionHeaders;
 import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,6 +21,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -45,16 +49,16 @@ public class DroneController {
 
   /** getAllDrones method.*/
   @GetMapping("/all")
-  public ResponseEntity<List<DroneResponse>> getAllDrones() {
-    List<Drone> drones = droneService.getAllDrones();
-
-    List<DroneResponse> dronesResponse = drones.stream().map(drn -> {
-      DroneResponse droneResponse = new DroneResponse();
-      droneResponse.createResponseByDroneEntity(drn);
-      return droneResponse;
-    }).collect(Collectors.toList());
-
-    return ResponseEntity.ok(dronesResponse);
+  public ResponseEntity<List<DroneResponse>> getAllDrones(
+      @RequestParam(value = "afterId", required = false) Long afterId,
+      @RequestParam(value = "page", defaultValue = "0") int page,
+      @RequestParam(value = "size", defaultValue = "100") int size) {
+    PageMiddleware.isValidPage(page, size);
+    Slice<DroneResponse> drones = droneService.getAllDrones(afterId, page, size);
+
+    return ResponseEntity.ok().headers(PageHeaders.nextCursor(drones, DroneResponse::getId))
+        .headers(VersionHeaders.forSlice(drones, DroneResponse::getId, DroneResponse::getVersion))
+        .body(drones.getContent());
   }
 
   /** getDroneById method.*/
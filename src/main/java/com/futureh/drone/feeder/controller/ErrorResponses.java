@@ -0,0 +1,78 @@
+package com.futureh.drone.feeder.controller;
+
+import com.futureh.drone.feeder.exception.ConflictWithInputDataException;
+import com.futureh.drone.feeder.exception.InputNotFoundException;
+import com.futureh.drone.feeder.exception.IntServerErrorInVideoFinding;
+import com.futureh.drone.feeder.exception.PayloadTooLargeException;
+import com.futureh.drone.feeder.exception.WrongInputDataException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
+
+/**
+ * ErrorResponses class.
+ *
+ * <p>The status and body answered for each handled error, shared by ExceptionControllerManager
+ * and ReactiveVideoHandler so both APIs answer the same error the same way.</p>
+ */
+public class ErrorResponses {
+
+  private static final String CONCURRENT_UPDATE =
+      "The resource was changed by another request, try again.";
+
+  private static final Map<Class<? extends Exception>, HttpStatus> STATUSES;
+
+  static {
+    Map<Class<? extends Exception>, HttpStatus> statuses =
+        new LinkedHashMap<Class<? extends Exception>, HttpStatus>();
+    statuses.put(MissingServletRequestPartException.class, HttpStatus.BAD_REQUEST);
+    statuses.put(WrongInputDataException.class, HttpStatus.BAD_REQUEST);
+    statuses.put(InputNotFoundException.class, HttpStatus.NOT_FOUND);
+    statuses.put(ConflictWithInputDataException.class, HttpStatus.CONFLICT);
+    statuses.put(OptimisticLockingFailureException.class, HttpStatus.CONFLICT);
+    statuses.put(PayloadTooLargeException.class, HttpStatus.PAYLOAD_TOO_LARGE);
+    statuses.put(IntServerErrorInVideoFinding.class, HttpStatus.INTERNAL_SERVER_ERROR);
+    STATUSES = Collections.unmodifiableMap(statuses);
+  }
+
+  /** handledErrors method, the errors answered with the status of the table.*/
+  public static Iterable<Class<? extends Exception>> handledErrors() {
+    return STATUSES.keySet();
+  }
+
+  /** statusOf method, null when the error is not handled.*/
+  public static HttpStatus statusOf(Throwable err) {
+    for (Map.Entry<Class<? extends Exception>, HttpStatus> entry : STATUSES.entrySet()) {
+      if (entry.getKey().isInstance(err)) {
+        return entry.getValue();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * bodyOf method.
+   *
+   * <p>The error's message, and the list of invalid fields of a WrongInputDataException. A
+   * concurrent update is answered with a message the client can act on instead of the
+   * persistence provider's.</p>
+   */
+  public static HashMap<String, Object> bodyOf(Throwable err) {
+    HashMap<String, Object> message = new HashMap<String, Object>();
+    if (err instanceof OptimisticLockingFailureException) {
+      message.put("error", CONCURRENT_UPDATE);
+    } else {
+      message.put("error", err.getMessage());
+    }
+    if (err instanceof WrongInputDataException
+        && !((WrongInputDataException) err).getErrors().isEmpty()) {
+      message.put("errors", ((WrongInputDataException) err).getErrors());
+    }
+    return message;
+  }
+
+}
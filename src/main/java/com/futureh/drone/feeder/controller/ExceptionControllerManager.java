@@ -3,8 +3,12 @@ package com.futureh.drone.feeder.controller;
 import com.futureh.drone.feeder.exception.ConflictWithInputDataException;
 import com.futureh.drone.feeder.exception.InputNotFoundException;
 import com.futureh.drone.feeder.exception.IntServerErrorInVideoFinding;
+import com.futureh.drone.feeder.exception.PayloadTooLargeException;
 import com.futureh.drone.feeder.exception.WrongInputDataException;
+import com.futureh.drone.feeder.service.MetricsService;
 import java.util.HashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -13,53 +17,69 @@ import org.springframework.web.multipart.support.MissingServletRequestPartExcept
 
 /**
  * ExceptionControllerManager class.
+ *
+ * <p>Every handled error is answered with the status and body of ErrorResponses, and also
+ * counted by exception type and status.</p>
  */
 @ControllerAdvice
 public class ExceptionControllerManager {
 
+  @Autowired
+  private MetricsService metricsService;
+
   /** HandleInputNameException method.*/
   @ExceptionHandler(MissingServletRequestPartException.class)
-  public ResponseEntity<HashMap<String, String>> handleInputNameException(
+  public ResponseEntity<HashMap<String, Object>> handleInputNameException(
       MissingServletRequestPartException exception) {
-    HashMap<String, String> message = new HashMap<String, String>();
-    message.put("error", exception.getMessage());
-    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(message);
+    return respond(exception);
   }
 
   /** HandleInputObjetctException method.*/
   @ExceptionHandler(WrongInputDataException.class)
-  public ResponseEntity<HashMap<String, String>> handleInputObjetctException(
+  public ResponseEntity<HashMap<String, Object>> handleInputObjetctException(
       WrongInputDataException exception) {
-    HashMap<String, String> message = new HashMap<String, String>();
-    message.put("error", exception.getMessage());
-    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(message);
+    return respond(exception);
   }
 
   /** HandleIntServerErrorInVideoFinding method.*/
   @ExceptionHandler(IntServerErrorInVideoFinding.class)
-  public ResponseEntity<HashMap<String, String>> handleIntServerErrorInVideoFinding(
+  public ResponseEntity<HashMap<String, Object>> handleIntServerErrorInVideoFinding(
       IntServerErrorInVideoFinding exception) {
-    HashMap<String, String> message = new HashMap<String, String>();
-    message.put("error", exception.getMessage());
-    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(message);
+    return respond(exception);
   }
 
   /** HandleInputNotFoundException method.*/
   @ExceptionHandler(InputNotFoundException.class)
-  public ResponseEntity<HashMap<String, String>> handleInputNotFoundException(
+  public ResponseEntity<HashMap<String, Object>> handleInputNotFoundException(
       InputNotFoundException exception) {
-    HashMap<String, String> message = new HashMap<String, String>();
-    message.put("error", exception.getMessage());
-    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(message);
+    return respond(exception);
   }
 
   /** HandleConflictWithInputData method.*/
   @ExceptionHandler(ConflictWithInputDataException.class)
-  public ResponseEntity<HashMap<String, String>> handleConflictWithInputData(
+  public ResponseEntity<HashMap<String, Object>> handleConflictWithInputData(
       ConflictWithInputDataException exception) {
-    HashMap<String, String> message = new HashMap<String, String>();
-    message.put("error", exception.getMessage());
-    return ResponseEntity.status(HttpStatus.CONFLICT).body(message);
+    return respond(exception);
+  }
+
+  /** HandlePayloadTooLargeException method.*/
+  @ExceptionHandler(PayloadTooLargeException.class)
+  public ResponseEntity<HashMap<String, Object>> handlePayloadTooLargeException(
+      PayloadTooLargeException exception) {
+    return respond(exception);
+  }
+
+  /** HandleOptimisticLockingFailure method, a write lost the race to a concurrent one.*/
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<HashMap<String, Object>> handleOptimisticLockingFailure(
+      OptimisticLockingFailureException exception) {
+    return respond(exception);
+  }
+
+  private ResponseEntity<HashMap<String, Object>> respond(Exception exception) {
+    HttpStatus status = ErrorResponses.statusOf(exception);
+    metricsService.recordError(exception, status);
+    return ResponseEntity.status(status).body(ErrorResponses.bodyOf(exception));
   }
 
 }
@@ -0,0 +1,199 @@
+package com.futureh.drone.feeder.controller;
+
+import com.futureh.drone.feeder.exception.IntServerErrorInVideoFinding;
+import com.futureh.drone.feeder.exception.WrongInputDataException;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.response.DeliveryResponse;
+import com.futureh.drone.feeder.service.MetricsService;
+import com.futureh.drone.feeder.service.ReactiveVideoService;
+import com.futureh.drone.feeder.util.ResourceRegionWriter;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.DefaultPartHttpMessageReader;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveVideoHandler class.
+ *
+ * <p>WebFlux variant of {@code POST /delivery/{id}/uploadVideo} and
+ * {@code GET /delivery/{id}/downloadVideo}, served under {@code drone-feeder.videos.reactive
+ * .path} (see ReactiveVideoConfig). Same requests, responses and errors as DeliveryController,
+ * but the video is streamed without holding a thread for the whole transfer.</p>
+ */
+@Component
+public class ReactiveVideoHandler {
+
+  String paramWithoutVideo = "The param don't have a video (Param must have a video).";
+
+  private static final String VIDEO_PART = "video";
+  private static final MediaType VIDEO_MP4 = MediaType.valueOf("video/mp4");
+  private static final ResolvableType PART_TYPE = ResolvableType.forClass(Part.class);
+
+  @Autowired
+  private ReactiveVideoService reactiveVideoService;
+
+  @Autowired
+  private MetricsService metricsService;
+
+  private final DefaultPartHttpMessageReader partReader = new DefaultPartHttpMessageReader();
+
+  /** ReactiveVideoHandler constructor method, parts are streamed as they arrive. */
+  public ReactiveVideoHandler() {
+    partReader.setStreaming(true);
+  }
+
+  /** routes method.*/
+  public RouterFunction<ServerResponse> routes() {
+    return RouterFunctions.route()
+        .POST("/delivery/{id:\\d+}/uploadVideo", this::uploadVideo)
+        .GET("/delivery/{id:\\d+}/downloadVideo", this::downloadVideo)
+        .filter(this::handleErrors)
+        .build();
+  }
+
+  /**
+   * uploadVideo method.
+   *
+   * <p>The multipart body is read part by part as it arrives: the {@code video} part goes to
+   * storage as it is received and the other parts are skipped. The body is read to its end
+   * before answering, so the connection can be kept alive.</p>
+   */
+  public Mono<ServerResponse> uploadVideo(ServerRequest request) {
+    Long id = Long.valueOf(request.pathVariable("id"));
+    AtomicBoolean videoFound = new AtomicBoolean();
+
+    return partReader.read(PART_TYPE, request.exchange().getRequest(), Collections.emptyMap())
+        .concatMap(part -> {
+          if (VIDEO_PART.equals(part.name()) && part instanceof FilePart
+              && videoFound.compareAndSet(false, true)) {
+            String videoName = StringUtils.cleanPath(((FilePart) part).filename());
+            return reactiveVideoService.addVideo(id, videoName, part.content());
+          }
+          return part.content().doOnNext(DataBufferUtils::release).then(Mono.empty());
+        })
+        .reduce((deliveryUpdated, other) -> deliveryUpdated)
+        .switchIfEmpty(Mono.error(() -> new WrongInputDataException(paramWithoutVideo)))
+        .flatMap(deliveryUpdated -> {
+          DeliveryResponse deliveryUpdatedResponse = new DeliveryResponse();
+          deliveryUpdatedResponse.createResponseByDeliveryEntity(deliveryUpdated);
+          return ServerResponse.status(HttpStatus.CREATED)
+              .contentType(MediaType.APPLICATION_JSON)
+              .bodyValue(deliveryUpdatedResponse);
+        });
+  }
+
+  /**
+   * downloadVideo method.
+   *
+   * <p>Supports single byte ranges ({@code Range}/{@code If-Range}) like the blocking
+   * download.</p>
+   */
+  public Mono<ServerResponse> downloadVideo(ServerRequest request) {
+    Long id = Long.valueOf(request.pathVariable("id"));
+
+    return reactiveVideoService.getVideo(id)
+        .flatMap(video -> reactiveVideoService.getVideoAsResource(video)
+            .flatMap(resource -> sendVideo(request, video, resource)));
+  }
+
+  private Mono<ServerResponse> sendVideo(ServerRequest request, Video video,
+      Resource resource) {
+    long contentLength;
+    long lastModified;
+    try {
+      contentLength = resource.contentLength();
+      lastModified = resource.lastModified();
+    } catch (IOException e) {
+      return Mono.error(new IntServerErrorInVideoFinding());
+    }
+
+    String eTag = ResourceRegionWriter.eTag(lastModified, contentLength);
+    HttpRange range = ResourceRegionWriter.requestedRange(request.headers().asHttpHeaders(),
+        eTag, lastModified);
+
+    long start = 0;
+    long length = contentLength;
+    ServerResponse.BodyBuilder responseBuilder;
+    if (range == null) {
+      responseBuilder = ServerResponse.ok();
+    } else {
+      start = range.getRangeStart(contentLength);
+      length = range.getRangeEnd(contentLength) - start + 1;
+      if (start >= contentLength || length <= 0) {
+        return ServerResponse.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + contentLength)
+            .build();
+      }
+      responseBuilder = ServerResponse.status(HttpStatus.PARTIAL_CONTENT)
+          .header(HttpHeaders.CONTENT_RANGE,
+              "bytes " + start + "-" + (start + length - 1) + "/" + contentLength);
+    }
+
+    boolean partial = range != null;
+    long regionLength = length;
+    return responseBuilder
+        .contentType(VIDEO_MP4)
+        .contentLength(length)
+        .eTag(eTag)
+        .lastModified(Instant.ofEpochMilli(lastModified))
+        .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            "inline; filename=\"" + video.getFileName() + "\"")
+        .body(BodyInserters.fromDataBuffers(reactiveVideoService
+            .read(resource, start, length, request.exchange().getResponse().bufferFactory())
+            .doOnComplete(() -> metricsService.recordDownload(partial, regionLength))));
+  }
+
+  /**
+   * handleErrors method.
+   *
+   * <p>Answers the errors of the routes with the status and body of ErrorResponses, as
+   * ExceptionControllerManager does, and counts them the same way. A failed upload may leave
+   * part of its body unread, so the connection is closed after the response.</p>
+   */
+  public Mono<ServerResponse> handleErrors(ServerRequest request,
+      HandlerFunction<ServerResponse> next) {
+    Mono<ServerResponse> response;
+    try {
+      response = next.handle(request);
+    } catch (Exception err) {
+      response = Mono.error(err);
+    }
+    return response.onErrorResume(err -> {
+      HttpStatus status = ErrorResponses.statusOf(err);
+      if (status == null) {
+        return Mono.error(err);
+      }
+
+      metricsService.recordError((Exception) err, status);
+      ServerResponse.BodyBuilder responseBuilder = ServerResponse.status(status);
+      if (request.method() == HttpMethod.POST) {
+        responseBuilder.header(HttpHeaders.CONNECTION, "close");
+      }
+      return responseBuilder.contentType(MediaType.APPLICATION_JSON)
+          .bodyValue(ErrorResponses.bodyOf(err));
+    });
+  }
+
+}
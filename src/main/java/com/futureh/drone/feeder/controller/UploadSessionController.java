@@ -0,0 +1,106 @@
+package com.futureh.drone.feeder.controller;
+
+import com.futureh.drone.feeder.config.RequestBodyExecutor;
+import com.futureh.drone.feeder.dto.UploadSessionDto;
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.response.DeliveryResponse;
+import com.futureh.drone.feeder.response.UploadSessionResponse;
+import com.futureh.drone.feeder.service.UploadSessionService;
+import com.futureh.drone.feeder.storage.UploadSession;
+import java.io.IOException;
+import java.util.HashMap;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+/**
+ * UploadSessionController class.
+ */
+@RestController
+@RequestMapping("/delivery")
+public class UploadSessionController {
+
+  @Autowired
+  private UploadSessionService uploadSessionService;
+
+  @Autowired
+  private RequestBodyExecutor requestBodyExecutor;
+
+  /** createUploadSession method.*/
+  @PostMapping("/{id}/uploadSession")
+  public ResponseEntity<UploadSessionResponse> createUploadSession(@PathVariable("id") Long id,
+      @RequestBody UploadSessionDto uploadSession) {
+    UploadSession newSession = uploadSessionService.createSession(id, uploadSession);
+
+    UploadSessionResponse newSessionResponse = new UploadSessionResponse();
+    newSessionResponse.createResponseByUploadSession(newSession);
+
+    return ResponseEntity.status(HttpStatus.CREATED).body(newSessionResponse);
+  }
+
+  /** getUploadSession method.*/
+  @GetMapping("/uploadSession/{sessionId}")
+  public ResponseEntity<UploadSessionResponse> getUploadSession(
+      @PathVariable("sessionId") String sessionId) {
+    UploadSession session = uploadSessionService.getSession(sessionId);
+
+    UploadSessionResponse sessionResponse = new UploadSessionResponse();
+    sessionResponse.createResponseByUploadSession(session);
+
+    return ResponseEntity.ok(sessionResponse);
+  }
+
+  /** uploadChunk method.*/
+  @PutMapping("/uploadSession/{sessionId}")
+  public WebAsyncTask<ResponseEntity<UploadSessionResponse>> uploadChunk(
+      @PathVariable("sessionId") String sessionId, @RequestParam("offset") Long offset,
+      HttpServletRequest request) {
+    uploadSessionService.getSession(sessionId);
+
+    return requestBodyExecutor.submit(request, body -> {
+      UploadSession session = uploadSessionService.writeChunk(sessionId, offset, body);
+
+      UploadSessionResponse sessionResponse = new UploadSessionResponse();
+      sessionResponse.createResponseByUploadSession(session);
+
+      return ResponseEntity.ok(sessionResponse);
+    });
+  }
+
+  /** finalizeUploadSession method.*/
+  @PostMapping("/uploadSession/{sessionId}/finalize")
+  public ResponseEntity<DeliveryResponse> finalizeUploadSession(
+      @PathVariable("sessionId") String sessionId) throws IOException {
+    Delivery deliveryUpdated = uploadSessionService.finalizeSession(sessionId);
+
+    DeliveryResponse deliveryUpdatedResponse = new DeliveryResponse();
+    deliveryUpdatedResponse.createResponseByDeliveryEntity(deliveryUpdated);
+
+    return ResponseEntity.status(HttpStatus.CREATED).body(deliveryUpdatedResponse);
+  }
+
+  /** abortUploadSession method.*/
+  @DeleteMapping("/uploadSession/{sessionId}")
+  public ResponseEntity<HashMap<String, String>> abortUploadSession(
+      @PathVariable("sessionId") String sessionId) throws IOException {
+    String idRemoved = uploadSessionService.abortSession(sessionId);
+
+    HashMap<String, String> response = new HashMap<String, String>();
+    String message = "Upload session " + idRemoved + " has been removed.";
+    response.put("message", message);
+
+    return ResponseEntity.ok(response);
+  }
+
+}
@@ -0,0 +1,42 @@
+package com.futureh.drone.feeder.dto;
+
+import com.futureh.drone.feeder.util.DeliveryStatus;
+import java.util.List;
+
+/**
+ * DeliveryBulkDto class.
+ *
+ * <p>Selects deliveries either by {@code ids} or by their current {@code status};
+ * {@code newStatus} is only used by status transitions.</p>
+ */
+public class DeliveryBulkDto {
+
+  private List<Long> ids;
+  private DeliveryStatus status;
+  private DeliveryStatus newStatus;
+
+  public List<Long> getIds() {
+    return ids;
+  }
+
+  public void setIds(List<Long> ids) {
+    this.ids = ids;
+  }
+
+  public DeliveryStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(DeliveryStatus status) {
+    this.status = status;
+  }
+
+  public DeliveryStatus getNewStatus() {
+    return newStatus;
+  }
+
+  public void setNewStatus(DeliveryStatus newStatus) {
+    this.newStatus = newStatus;
+  }
+
+}
@@ -0,0 +1,27 @@
+package com.futureh.drone.feeder.dto;
+
+/**
+ * UploadSessionDto class.
+ */
+public class UploadSessionDto {
+
+  private String fileName;
+  private Long size;
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  public Long getSize() {
+    return size;
+  }
+
+  public void setSize(Long size) {
+    this.size = size;
+  }
+
+}
@@ -0,0 +1,14 @@
+package com.futureh.drone.feeder.exception;
+
+/**
+ * PayloadTooLargeException class.
+ */
+public class PayloadTooLargeException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public PayloadTooLargeException(String message) {
+    super(message);
+  }
+
+}
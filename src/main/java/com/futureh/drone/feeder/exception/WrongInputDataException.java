@@ -1,5 +1,8 @@
 package com.futureh.drone.feeder.exception;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * InputObjetctException class.
  */
@@ -7,8 +10,20 @@ public class WrongInputDataException extends RuntimeException {
 
   private static final long serialVersionUID = 1L;
 
+  private final List<String> errors;
+
   public WrongInputDataException(String message) {
     super(message);
+    this.errors = Collections.emptyList();
+  }
+
+  public WrongInputDataException(String message, List<String> errors) {
+    super(message);
+    this.errors = errors;
+  }
+
+  public List<String> getErrors() {
+    return errors;
   }
 
 }
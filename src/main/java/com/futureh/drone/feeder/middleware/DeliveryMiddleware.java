@@ -1,46 +1,143 @@
 package com.futureh.drone.feeder.middleware;
 
+import com.futureh.drone.feeder.dto.DeliveryBulkDto;
 import com.futureh.drone.feeder.dto.DeliveryDto;
 import com.futureh.drone.feeder.exception.WrongInputDataException;
+import java.util.List;
 
 /**
- * VideoNameMiddleware class.
+ * DeliveryMiddleware class.
  */
 public class DeliveryMiddleware {
 
+  public static final int MAX_BATCH_SIZE = 5000;
+  public static final double MAX_RADIUS_IN_KM = 100;
+
+  /**
+   * isValidBatch method.
+   */
+  public static void isValidBatch(List<DeliveryDto> deliveries) {
+    if (deliveries == null || deliveries.isEmpty() || deliveries.size() > MAX_BATCH_SIZE) {
+      throw new WrongInputDataException("The batch must have between 1 and " + MAX_BATCH_SIZE
+          + " deliveries.");
+    }
+  }
+
+  /**
+   * isValidDispatch method.
+   */
+  public static void isValidDispatch(int limit) {
+    if (limit < 1 || limit > MAX_BATCH_SIZE) {
+      throw new WrongInputDataException("The dispatch limit must be between 1 and "
+          + MAX_BATCH_SIZE + ".");
+    }
+  }
+
+  /**
+   * isValidRadius method.
+   */
+  public static void isValidRadius(double latitude, double longitude, double radiusInKm) {
+    isValidPoint(latitude, longitude);
+    if (!(radiusInKm > 0 && radiusInKm <= MAX_RADIUS_IN_KM)) {
+      throw new WrongInputDataException("The radius must be greater than 0 and at most "
+          + (int) MAX_RADIUS_IN_KM + " km.");
+    }
+  }
+
+  /**
+   * isValidBox method.
+   */
+  public static void isValidBox(double minLatitude, double minLongitude, double maxLatitude,
+      double maxLongitude) {
+    isValidPoint(minLatitude, minLongitude);
+    isValidPoint(maxLatitude, maxLongitude);
+    if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+      throw new WrongInputDataException("The minimum corner of the box can't be greater than the"
+          + " maximum corner.");
+    }
+  }
+
+  private static void isValidPoint(double latitude, double longitude) {
+    if (!(latitude >= -90 && latitude <= 90)) {
+      throw new WrongInputDataException("Latitude must be between -90 and 90.");
+    }
+    if (!(longitude >= -180 && longitude <= 180)) {
+      throw new WrongInputDataException("Longitude must be between -180 and 180.");
+    }
+  }
+
+  /**
+   * isValidBulk method.
+   *
+   * <p>A bulk operation must select its deliveries by ids or by status, never both and never
+   * neither, so an empty body can't touch the whole table.</p>
+   */
+  public static void isValidBulk(DeliveryBulkDto bulk, boolean requiresNewStatus) {
+    boolean byIds = bulk.getIds() != null;
+    boolean byStatus = bulk.getStatus() != null;
+    if (byIds == byStatus) {
+      throw new WrongInputDataException("The deliveries must be selected by ids or by status.");
+    }
+    if (byIds && (bulk.getIds().isEmpty() || bulk.getIds().size() > MAX_BATCH_SIZE)) {
+      throw new WrongInputDataException("The ids must have between 1 and " + MAX_BATCH_SIZE
+          + " deliveries.");
+    }
+    if (requiresNewStatus && bulk.getNewStatus() == null) {
+      throw new WrongInputDataException("The new status can't be null.");
+    }
+  }
+
   /**
    * isValidDelivery method.
    */
   public static void isValidDelivery(DeliveryDto delivery) {
+    validateDelivery(delivery).throwIfInvalid();
+  }
+
+  /**
+   * validateDelivery method.
+   *
+   * <p>Checks every field and returns all violations instead of stopping at the first one. A
+   * missing zip code, coordinate or weight counts as a violation of that field.</p>
+   */
+  public static ValidationResult validateDelivery(DeliveryDto delivery) {
+    ValidationResult result = new ValidationResult();
+
     String receiverName = delivery.getReceiverName();
-    if (receiverName.length() > 32) {
-      throw new WrongInputDataException("Delivery receiver name has more than 32 characters.");
+    if (receiverName != null && receiverName.length() > 32) {
+      result.addViolation("Delivery receiver name has more than 32 characters.");
     }
 
     String address = delivery.getAddress();
-    if (address.length() > 100) {
-      throw new WrongInputDataException("Delivery address has more than 100 characters.");
+    if (address != null && address.length() > 100) {
+      result.addViolation("Delivery address has more than 100 characters.");
     }
 
-    String zipCode = delivery.getZipCode();
-    if (!zipCode.matches("\\d{5}-\\d{3}")) {
-      throw new WrongInputDataException("Zip code isn't in default format (12345-123).");
+    if (!isZipCode(delivery.getZipCode())) {
+      result.addViolation("Zip code isn't in default format (12345-123).");
     }
 
-    String latitude = delivery.getLatitude();
-    if (!latitude.matches("[-+]\\d{2}.\\d{6}")) {
-      throw new WrongInputDataException("Latitude isn't in the format.");
+    if (!TextScanner.isSignedDecimal(delivery.getLatitude(), 2, 6)) {
+      result.addViolation("Latitude isn't in the format.");
     }
 
-    String longitude = delivery.getLongitude();
-    if (!longitude.matches("[-+]\\d{2}.\\d{6}")) {
-      throw new WrongInputDataException("Longitude isn't in the format.");
+    if (!TextScanner.isSignedDecimal(delivery.getLongitude(), 2, 6)) {
+      result.addViolation("Longitude isn't in the format.");
     }
 
     Float weightInKg = delivery.getWeightInKg();
-    if (weightInKg > 12) {
-      throw new WrongInputDataException("The weight exceeded the limit (12Kg).");
+    if (weightInKg == null) {
+      result.addViolation("Delivery must have weight in kg.");
+    } else if (weightInKg > 12) {
+      result.addViolation("The weight exceeded the limit (12Kg).");
     }
+
+    return result;
+  }
+
+  private static boolean isZipCode(String zipCode) {
+    return zipCode != null && zipCode.length() == 9 && TextScanner.isDigits(zipCode, 0, 5)
+        && zipCode.charAt(5) == '-' && TextScanner.isDigits(zipCode, 6, 9);
   }
 
 }
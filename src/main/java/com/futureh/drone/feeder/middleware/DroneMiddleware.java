@@ -1,34 +1,55 @@
 package com.futureh.drone.feeder.middleware;
 
 import com.futureh.drone.feeder.dto.DroneDto;
-import com.futureh.drone.feeder.exception.WrongInputDataException;
 
 /**
- * VideoNameMiddleware class.
+ * DroneMiddleware class.
  */
 public class DroneMiddleware {
 
   /**
-   * isValidDelivery method.
+   * isValidDrone method.
    */
   public static void isValidDrone(DroneDto drone) {
-    String name = drone.getName(); 
+    validateDrone(drone).throwIfInvalid();
+  }
+
+  /**
+   * validateDrone method.
+   *
+   * <p>Checks every field and returns all violations instead of stopping at the first one.</p>
+   */
+  public static ValidationResult validateDrone(DroneDto drone) {
+    ValidationResult result = new ValidationResult();
+
+    String name = drone.getName();
     if (name.length() != 4) {
-      throw new WrongInputDataException("Drone name must be 4 characters.");
+      result.addViolation("Drone name must be 4 characters.");
+    } else if (!isDroneName(name)) {
+      result.addViolation("Drone name must have uppercase characters and numbers.");
     }
-    if (!name.matches("[A-Z_0-9]{4}")) {
-      throw new WrongInputDataException("Drone name must have uppercase characters and numbers.");
+
+    String model = drone.getModel();
+    if (model != null && model.length() > 32) {
+      result.addViolation("Drone name has more than 32 characters.");
     }
 
-    String model = drone.getModel(); 
-    if (model.length() > 32) {
-      throw new WrongInputDataException("Drone name has more than 32 characters.");
+    if (drone.getCapacityWeightInKg() == null) {
+      result.addViolation("Drone must have weight capacity in kg.");
     }
 
-    Float capacity = drone.getCapacityWeightInKg();
-    if (capacity == null) {
-      throw new WrongInputDataException("Drone must have weight capacity in kg.");
+    return result;
+  }
+
+  private static boolean isDroneName(String name) {
+    for (int i = 0; i < name.length(); i++) {
+      char character = name.charAt(i);
+      if (!(character >= 'A' && character <= 'Z') && !TextScanner.isDigit(character)
+          && character != '_') {
+        return false;
+      }
     }
+    return true;
   }
 
 }
@@ -0,0 +1,26 @@
+package com.futureh.drone.feeder.middleware;
+
+import com.futureh.drone.feeder.exception.WrongInputDataException;
+
+/**
+ * PageMiddleware class.
+ */
+public class PageMiddleware {
+
+  public static final int MAX_PAGE_SIZE = 1000;
+
+  /**
+   * isValidPage method.
+   */
+  public static void isValidPage(int page, int size) {
+    if (page < 0) {
+      throw new WrongInputDataException("The page number can't be negative.");
+    }
+
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new WrongInputDataException("The page size must be between 1 and "
+          + MAX_PAGE_SIZE + ".");
+    }
+  }
+
+}
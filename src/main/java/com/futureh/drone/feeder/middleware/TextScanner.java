@@ -0,0 +1,53 @@
+package com.futureh.drone.feeder.middleware;
+
+/**
+ * TextScanner class.
+ *
+ * <p>Character scanners for the fixed formats checked by the middlewares. They replace
+ * {@code String.matches}, which compiles a new Pattern on every call.</p>
+ */
+final class TextScanner {
+
+  private TextScanner() { }
+
+  static boolean isDigit(char character) {
+    return character >= '0' && character <= '9';
+  }
+
+  /** isDigits method, true when every char in [from, to) is an ASCII digit.*/
+  static boolean isDigits(String text, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (!isDigit(text.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** toInt method, reads the ASCII digits in [from, to); callers check them first.*/
+  static int toInt(String text, int from, int to) {
+    int value = 0;
+    for (int i = from; i < to; i++) {
+      value = value * 10 + (text.charAt(i) - '0');
+    }
+    return value;
+  }
+
+  /** isWordChar method, the {@code \w} class of java.util.regex.*/
+  static boolean isWordChar(char character) {
+    return isDigit(character) || character == '_' || (character >= 'a' && character <= 'z')
+        || (character >= 'A' && character <= 'Z');
+  }
+
+  /** isSignedDecimal method, matches {@code [-+]\d{intDigits}\.\d{fractionDigits}}.*/
+  static boolean isSignedDecimal(String text, int intDigits, int fractionDigits) {
+    int point = 1 + intDigits;
+    if (text == null || text.length() != point + 1 + fractionDigits) {
+      return false;
+    }
+    char sign = text.charAt(0);
+    return (sign == '-' || sign == '+') && isDigits(text, 1, point) && text.charAt(point) == '.'
+        && isDigits(text, point + 1, text.length());
+  }
+
+}
@@ -0,0 +1,51 @@
+package com.futureh.drone.feeder.middleware;
+
+import com.futureh.drone.feeder.exception.WrongInputDataException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ValidationResult class.
+ *
+ * <p>Collects every violation found while validating one input, so a client gets all of them in
+ * a single response. Valid inputs, the common case, never allocate the violation list.</p>
+ */
+public class ValidationResult {
+
+  private List<String> violations;
+
+  /** addViolation method.*/
+  public ValidationResult addViolation(String violation) {
+    if (violations == null) {
+      violations = new ArrayList<String>(4);
+    }
+    violations.add(violation);
+    return this;
+  }
+
+  public boolean isValid() {
+    return violations == null;
+  }
+
+  /** getViolations method.*/
+  public List<String> getViolations() {
+    if (violations == null) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(violations);
+  }
+
+  /**
+   * throwIfInvalid method.
+   *
+   * <p>Throws a WrongInputDataException with the first violation as its message and all of them
+   * as its errors.</p>
+   */
+  public void throwIfInvalid() {
+    if (violations != null) {
+      throw new WrongInputDataException(violations.get(0), getViolations());
+    }
+  }
+
+}
@@ -1,43 +1,86 @@
 package com.futureh.drone.feeder.middleware;
 
-import com.futureh.drone.feeder.exception.WrongInputDataException;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-
 /**
  * VideoNameMiddleware class.
  */
 public class VideoNameMiddleware {
 
+  private static final String STANDARD_NAME =
+      " Must be used the standard name (DRON-yyyy-MM-dd-HHmmss.mp4).";
+  private static final int NAME_LENGTH = 26;
+  private static final int[] DATE_DASHES = { 4, 7, 10 };
+
   /**
    * isValidName method.
    */
   public static void isValidName(String fileName) {
-    if (fileName.length() != 26) {
-      throw new WrongInputDataException("The video name length isn't 26 characters."
-          + " Must be used the standard name (DRON-yyyy-MM-dd-HHmmss.mp4).");
+    validateName(fileName).throwIfInvalid();
+  }
+
+  /**
+   * validateName method.
+   *
+   * <p>Checks the drone prefix, the format and the date-time of a standard video name and returns
+   * all violations; a missing or blank name is a violation too. The date-time is scanned by
+   * hand, so no formatter is built and no exception is thrown for an invalid name.</p>
+   */
+  public static ValidationResult validateName(String fileName) {
+    ValidationResult result = new ValidationResult();
+
+    if (fileName == null || fileName.isBlank()) {
+      return result.addViolation("The video name can't be empty." + STANDARD_NAME);
+    }
+
+    if (fileName.length() != NAME_LENGTH) {
+      return result.addViolation("The video name length isn't 26 characters." + STANDARD_NAME);
     }
 
-    String droneName = fileName.substring(0, 5);
-    if (!droneName.matches("^(?:\\w{4})-$")) {
-      throw new WrongInputDataException("The default drone name isn't correct."
-          + " Must be used the standard name (DRON-yyyy-MM-dd-HHmmss.mp4).");
+    if (!isDronePrefix(fileName)) {
+      result.addViolation("The default drone name isn't correct." + STANDARD_NAME);
     }
 
-    String format = fileName.substring(fileName.length() - 4, fileName.length());
-    if (!format.equals(".mp4")) {
-      throw new WrongInputDataException("The video format isn't correct."
-          + " Must be used the standard name (DRON-yyyy-MM-dd-HHmmss.mp4).");
+    if (!fileName.endsWith(".mp4")) {
+      result.addViolation("The video format isn't correct." + STANDARD_NAME);
     }
 
-    String date = fileName.substring(5, fileName.length() - 4);
-    try {
-      DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd-HHmmss");
-      LocalDate.parse(date, dateFormat);
-    } catch (Exception exc) {
-      throw new WrongInputDataException("The delivery date-time isn't correct."
-          + " Must be used the standard name (DRON-yyyy-MM-dd-HHmmss.mp4).");
+    if (!isDateTime(fileName, 5)) {
+      result.addViolation("The delivery date-time isn't correct." + STANDARD_NAME);
     }
+
+    return result;
+  }
+
+  private static boolean isDronePrefix(String fileName) {
+    for (int i = 0; i < 4; i++) {
+      if (!TextScanner.isWordChar(fileName.charAt(i))) {
+        return false;
+      }
+    }
+    return fileName.charAt(4) == '-';
+  }
+
+  /** isDateTime method, checks yyyy-MM-dd-HHmmss starting at {@code from}.*/
+  private static boolean isDateTime(String text, int from) {
+    for (int dash : DATE_DASHES) {
+      if (text.charAt(from + dash) != '-') {
+        return false;
+      }
+    }
+    if (!TextScanner.isDigits(text, from, from + 4)
+        || !TextScanner.isDigits(text, from + 5, from + 7)
+        || !TextScanner.isDigits(text, from + 8, from + 10)
+        || !TextScanner.isDigits(text, from + 11, from + 17)) {
+      return false;
+    }
+
+    int year = TextScanner.toInt(text, from, from + 4);
+    int month = TextScanner.toInt(text, from + 5, from + 7);
+    int day = TextScanner.toInt(text, from + 8, from + 10);
+    int hour = TextScanner.toInt(text, from + 11, from + 13);
+    int minute = TextScanner.toInt(text, from + 13, from + 15);
+    int second = TextScanner.toInt(text, from + 15, from + 17);
+    return year >= 1 && month >= 1 && month <= 12 && day >= 1 && day <= 31 && hour <= 23
+        && minute <= 59 && second <= 59;
   }
 
 }
@@ -1,21 +1,39 @@
 package com.futureh.drone.feeder.model;
 
 import com.futureh.drone.feeder.util.DeliveryStatus;
+import java.time.Instant;
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.ManyToOne;
 import javax.persistence.OneToOne;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
+import javax.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Delivery class.
+ *
+ * <p>Kept in the second-level cache. The bulk status updates and removals evict the cached
+ * deliveries.</p>
  */
 @Entity
 @Table(name = "delivery")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "delivery")
 public class Delivery {
 
+  /**
+   * IDENTITY, generated by the insert itself on the transaction's connection. A sequence is
+   * emulated with a table on MySQL and its ids are fetched on a second connection, which the
+   * connection limiter of the virtual threads doesn't allow. DeliveryService.addDeliveries
+   * batches the inserts with JDBC instead.
+   */
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
@@ -24,12 +42,28 @@ public class Delivery {
   private String zipCode;
   private String latitude;
   private String longitude;
+
+  /** Numeric copies of latitude and longitude, kept in step by their setters. */
+  private Double latitudeInDegrees;
+  private Double longitudeInDegrees;
+
   private DeliveryStatus status;
   private Float weightInKg;
 
-  @OneToOne(cascade = CascadeType.ALL)
+  @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
   private Video video;
 
+  /** Drone the delivery was dispatched to, null until the dispatcher assigns one. */
+  @ManyToOne(fetch = FetchType.LAZY)
+  private Drone drone;
+
+  /** Bumped on every change of the delivery, for optimistic locking and its ETag. */
+  @Version
+  private Long version;
+
+  /** When the version last changed, for the Last-Modified of the delivery. */
+  private Instant lastModified;
+
   /** Delivery default constructor method. */
   public Delivery() { }
 
@@ -39,8 +73,8 @@ public class Delivery {
     this.receiverName = receiverName;
     this.address = address;
     this.zipCode = zipCode;
-    this.latitude = latitude;
-    this.longitude = longitude;
+    this.setLatitude(latitude);
+    this.setLongitude(longitude);
     this.status = DeliveryStatus.TO_DELIVER;
     this.weightInKg = weightInKg;
   }
@@ -83,6 +117,7 @@ public class Delivery {
 
   public void setLatitude(String latitude) {
     this.latitude = latitude;
+    this.latitudeInDegrees = toDegrees(latitude);
   }
 
   public String getLongitude() {
@@ -91,6 +126,15 @@ public class Delivery {
 
   public void setLongitude(String longitude) {
     this.longitude = longitude;
+    this.longitudeInDegrees = toDegrees(longitude);
+  }
+
+  public Double getLatitudeInDegrees() {
+    return latitudeInDegrees;
+  }
+
+  public Double getLongitudeInDegrees() {
+    return longitudeInDegrees;
   }
 
   public DeliveryStatus getStatus() {
@@ -117,4 +161,37 @@ public class Delivery {
     this.video = video;
   }
 
+  public Drone getDrone() {
+    return drone;
+  }
+
+  public void setDrone(Drone drone) {
+    this.drone = drone;
+  }
+
+  private static Double toDegrees(String coordinate) {
+    if (coordinate == null) {
+      return null;
+    }
+    try {
+      return Double.valueOf(coordinate);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public Instant getLastModified() {
+    return lastModified;
+  }
+
+  @PrePersist
+  @PreUpdate
+  void touch() {
+    lastModified = Instant.now();
+  }
+
 }
@@ -1,25 +1,38 @@
 package com.futureh.drone.feeder.model;
 
+import java.time.Instant;
 import java.util.List;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToMany;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
+import javax.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Drone class.
+ *
+ * <p>Kept in the second-level cache: drones are read on every dispatch and rarely change.</p>
  */
 @Entity
 @Table(name = "drone")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "drone")
 public class Drone {
 
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
+
+  @Column(unique = true)
   private String name;
+
   private String model;
   private Float capacityWeightInKg;
 
@@ -27,6 +40,13 @@ public class Drone {
   @JoinColumn(name = "video_id")
   private List<Video> videos;
 
+  /** Bumped on every change of the drone, for optimistic locking and its ETag. */
+  @Version
+  private Long version;
+
+  /** When the version last changed, for the Last-Modified of the drone. */
+  private Instant lastModified;
+
   /** Drone default constructor method. */
   public Drone() { }
 
@@ -81,4 +101,18 @@ public class Drone {
     this.videos.add(video);
   }
 
+  public Long getVersion() {
+    return version;
+  }
+
+  public Instant getLastModified() {
+    return lastModified;
+  }
+
+  @PrePersist
+  @PreUpdate
+  void touch() {
+    lastModified = Instant.now();
+  }
+
 }
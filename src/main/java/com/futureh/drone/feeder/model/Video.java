@@ -1,28 +1,63 @@
 package com.futureh.drone.feeder.model;
 
+import com.futureh.drone.feeder.util.VideoProcessingStatus;
+import java.time.Instant;
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
+import javax.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Video class.
+ *
+ * <p>Kept in the second-level cache. The background processing updates it with a bulk
+ * query, which evicts the cached videos.</p>
  */
 @Entity
-@Table(name = "video")
+@Table(name = "video", indexes = @Index(name = "video_checksum_idx", columnList = "checksum"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "video")
 public class Video {
 
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
+
+  @Column(unique = true)
   private String fileName;
+
   private Long size;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   private Drone drone;
 
+  /** Filled in by the background processing once the file has been inspected. */
+  private VideoProcessingStatus processingStatus;
+
+  /** SHA-256 of the content, known at upload; it addresses the stored blob. */
+  @Column(length = 64)
+  private String checksum;
+
+  private Long durationInMs;
+  private Integer width;
+  private Integer height;
+
+  /** Bumped on every change of the video, for optimistic locking and its ETag. */
+  @Version
+  private Long version;
+
+  /** When the version last changed, for the Last-Modified of the video. */
+  private Instant lastModified;
+
   /** Video default constructor method. */
   public Video() { }
 
@@ -30,6 +65,7 @@ public class Video {
   public Video(String fileName, Long size) {
     this.fileName = fileName;
     this.size = size;
+    this.processingStatus = VideoProcessingStatus.PENDING;
   }
 
   public Long getId() {
@@ -64,4 +100,58 @@ public class Video {
     this.drone = drone;
   }
 
+  public VideoProcessingStatus getProcessingStatus() {
+    return processingStatus;
+  }
+
+  public void setProcessingStatus(VideoProcessingStatus processingStatus) {
+    this.processingStatus = processingStatus;
+  }
+
+  public String getChecksum() {
+    return checksum;
+  }
+
+  public void setChecksum(String checksum) {
+    this.checksum = checksum;
+  }
+
+  public Long getDurationInMs() {
+    return durationInMs;
+  }
+
+  public void setDurationInMs(Long durationInMs) {
+    this.durationInMs = durationInMs;
+  }
+
+  public Integer getWidth() {
+    return width;
+  }
+
+  public void setWidth(Integer width) {
+    this.width = width;
+  }
+
+  public Integer getHeight() {
+    return height;
+  }
+
+  public void setHeight(Integer height) {
+    this.height = height;
+  }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public Instant getLastModified() {
+    return lastModified;
+  }
+
+  @PrePersist
+  @PreUpdate
+  void touch() {
+    lastModified = Instant.now();
+  }
+
 }
@@ -0,0 +1,68 @@
+package com.futureh.drone.feeder.model;
+
+import java.time.Instant;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * VideoBlob class.
+ *
+ * <p>Row of a stored blob in the ledger that every replica shares: the uploads that pin it
+ * and the row lock the blob is removed under. Never cached, it is always read locked.</p>
+ */
+@Entity
+@Table(name = "video_blob")
+public class VideoBlob {
+
+  @Id
+  @Column(length = 64)
+  private String checksum;
+
+  private int pins;
+
+  /** The pins of an instance that stopped before releasing them expire at this instant. */
+  private Instant pinnedUntil;
+
+  /** VideoBlob default constructor method. */
+  public VideoBlob() { }
+
+  /** VideoBlob constructor method. */
+  public VideoBlob(String checksum) {
+    this.checksum = checksum;
+  }
+
+  public String getChecksum() {
+    return checksum;
+  }
+
+  public int getPins() {
+    return pins;
+  }
+
+  public Instant getPinnedUntil() {
+    return pinnedUntil;
+  }
+
+  /** pin method.*/
+  public void pin(Instant until) {
+    pins++;
+    if (pinnedUntil == null || until.isAfter(pinnedUntil)) {
+      pinnedUntil = until;
+    }
+  }
+
+  /** unpin method.*/
+  public void unpin() {
+    if (pins > 0) {
+      pins--;
+    }
+  }
+
+  /** isPinned method.*/
+  public boolean isPinned(Instant now) {
+    return pins > 0 && pinnedUntil != null && pinnedUntil.isAfter(now);
+  }
+
+}
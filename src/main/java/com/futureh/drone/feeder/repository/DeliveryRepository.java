@@ -1,7 +1,26 @@
 package com.futureh.drone.feeder.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.response.DeliveryResponse;
+import com.futureh.drone.feeder.util.DeliveryStatus;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -10,4 +29,113 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
 
+  String DELIVERY_RESPONSE = "select new com.futureh.drone.feeder.response.DeliveryResponse("
+      + "d.id, d.receiverName, d.address, d.zipCode, d.latitude, d.longitude, d.status,"
+      + " d.weightInKg, v.fileName, d.version) from Delivery d left join d.video v";
+
+  @Query(DELIVERY_RESPONSE)
+  Slice<DeliveryResponse> findResponsesBy(Pageable pageable);
+
+  @Query(DELIVERY_RESPONSE + " where d.id > :id")
+  Slice<DeliveryResponse> findResponsesByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+  @Override
+  @EntityGraph(attributePaths = {"video", "video.drone"})
+  Optional<Delivery> findById(Long id);
+
+  @Query(DELIVERY_RESPONSE + " where d.id in :ids")
+  List<DeliveryResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+  /** Bulk updates bump the version and stamp {@code lastModified} like an entity update. */
+  String TOUCH = "d.version = d.version + 1, d.lastModified = :now";
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Delivery d set d.status = :newStatus, " + TOUCH + " where d.id in :ids")
+  int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+      @Param("newStatus") DeliveryStatus newStatus, @Param("now") Instant now);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Delivery d set d.status = :newStatus, " + TOUCH
+      + " where d.status = :status")
+  int updateStatusByStatus(@Param("status") DeliveryStatus status,
+      @Param("newStatus") DeliveryStatus newStatus, @Param("now") Instant now);
+
+  @Query("select d.id from Delivery d where d.status = :status")
+  List<Long> findIdsByStatus(@Param("status") DeliveryStatus status);
+
+  /** Rows of video id, file name and checksum, the files to release after a removal. */
+  String VIDEO_FILES = "select v.id, v.fileName, v.checksum from Delivery d join d.video v";
+
+  @Query(VIDEO_FILES + " where d.id in :ids")
+  List<Object[]> findVideoFilesByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query(VIDEO_FILES + " where d.status = :status order by v.id")
+  List<Object[]> findVideoFilesByStatus(@Param("status") DeliveryStatus status,
+      Pageable pageable);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from Delivery d where d.id in :ids")
+  int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from Delivery d where d.video.id in :videoIds")
+  int deleteByVideoIdIn(@Param("videoIds") Collection<Long> videoIds);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from Delivery d where d.status = :status")
+  int deleteByStatus(@Param("status") DeliveryStatus status);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Delivery d set d.drone = null, " + TOUCH + " where d.drone.id = :droneId")
+  int unassignDrone(@Param("droneId") Long droneId, @Param("now") Instant now);
+
+  List<Delivery> findByStatusAndDroneIsNull(DeliveryStatus status, Pageable pageable);
+
+  /**
+   * findDroneLoads method.
+   *
+   * <p>Rows of drone id and the summed weight of its deliveries in {@code status}.</p>
+   */
+  @Query("select d.drone.id, sum(d.weightInKg) from Delivery d where d.status = :status"
+      + " and d.drone is not null group by d.drone.id")
+  List<Object[]> findDroneLoads(@Param("status") DeliveryStatus status);
+
+  /**
+   * findStops method.
+   *
+   * <p>Rows of id, latitude and longitude in degrees, weight and assigned drone id (null when
+   * unassigned) of the located deliveries in {@code status}, for the route planner.</p>
+   */
+  @Query("select d.id, d.latitudeInDegrees, d.longitudeInDegrees, d.weightInKg, dr.id"
+      + " from Delivery d left join d.drone dr where d.status = :status"
+      + " and d.latitudeInDegrees is not null and d.longitudeInDegrees is not null"
+      + " and d.weightInKg is not null")
+  List<Object[]> findStops(@Param("status") DeliveryStatus status);
+
+  /**
+   * streamAll method.
+   *
+   * <p>Reads every delivery, with its video, through a server-side cursor. Must be
+   * consumed inside a transaction and closed afterwards. The second-level cache is ignored;
+   * for the rows read after the cursor opens, the session's cache mode must be IGNORE as well
+   * (see DeliveryService.exportDeliveries).</p>
+   */
+  @QueryHints({
+      @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+      @QueryHint(name = HINT_READONLY, value = "true"),
+      @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+  })
+  @Query("select d from Delivery d left join fetch d.video order by d.id")
+  Stream<Delivery> streamAll();
+
+  /**
+   * streamLocations method.
+   *
+   * <p>Rows of id, latitude and longitude in degrees and status, for the location index.</p>
+   */
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  @Query("select d.id, d.latitudeInDegrees, d.longitudeInDegrees, d.status from Delivery d"
+      + " where d.latitudeInDegrees is not null and d.longitudeInDegrees is not null")
+  Stream<Object[]> streamLocations();
+
 }
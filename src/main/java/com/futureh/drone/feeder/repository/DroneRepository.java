@@ -1,7 +1,20 @@
 package com.futureh.drone.feeder.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.response.DroneResponse;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -10,4 +23,29 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface DroneRepository extends JpaRepository<Drone, Long> {
 
+  String DRONE_RESPONSE = "select new com.futureh.drone.feeder.response.DroneResponse("
+      + "d.id, d.name, d.model, d.capacityWeightInKg, d.version) from Drone d";
+
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  @Query(DRONE_RESPONSE)
+  Slice<DroneResponse> findResponsesBy(Pageable pageable);
+
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  @Query(DRONE_RESPONSE + " where d.id > :id")
+  Slice<DroneResponse> findResponsesByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  Optional<Drone> findByName(String name);
+
+  /**
+   * findCapacitiesForUpdate method.
+   *
+   * <p>Rows of drone id and capacity, for the drones that have one, read with
+   * {@code SELECT ... FOR UPDATE}: the rows stay locked until the transaction ends.</p>
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select d.id, d.capacityWeightInKg from Drone d where d.capacityWeightInKg is not null"
+      + " order by d.id")
+  List<Object[]> findCapacitiesForUpdate();
+
 }
@@ -0,0 +1,23 @@
+package com.futureh.drone.feeder.repository;
+
+import com.futureh.drone.feeder.model.VideoBlob;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * VideoBlobRepository interface.
+ */
+@Repository
+public interface VideoBlobRepository extends JpaRepository<VideoBlob, String> {
+
+  /** SELECT ... FOR UPDATE: held until the transaction ends. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select b from VideoBlob b where b.checksum = :checksum")
+  Optional<VideoBlob> findForUpdate(@Param("checksum") String checksum);
+
+}
@@ -1,7 +1,23 @@
 package com.futureh.drone.feeder.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.response.VideoResponse;
+import com.futureh.drone.feeder.util.VideoProcessingStatus;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -10,4 +26,42 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface VideoRepository extends JpaRepository<Video, Long> {
 
+  String VIDEO_RESPONSE = "select new com.futureh.drone.feeder.response.VideoResponse("
+      + "v.id, v.fileName, v.size, d.name) from Video v left join v.drone d";
+
+  @Query(VIDEO_RESPONSE)
+  Slice<VideoResponse> findResponsesBy(Pageable pageable);
+
+  @Query(VIDEO_RESPONSE + " where v.id > :id")
+  Slice<VideoResponse> findResponsesByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+  @Override
+  @EntityGraph(attributePaths = "drone")
+  Optional<Video> findById(Long id);
+
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  Optional<Video> findByFileName(String fileName);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from Video v where v.id in :ids")
+  int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  boolean existsByFileName(String fileName);
+
+  boolean existsByChecksum(String checksum);
+
+  @Query("select v.id from Video v where v.processingStatus = :status order by v.id")
+  List<Long> findIdsByProcessingStatus(@Param("status") VideoProcessingStatus status,
+      Pageable pageable);
+
+  @Modifying
+  @Query("update Video v set v.processingStatus = :status, v.checksum = :checksum,"
+      + " v.durationInMs = :durationInMs, v.width = :width, v.height = :height,"
+      + " v.version = v.version + 1, v.lastModified = :now where v.id = :id")
+  int updateProcessing(@Param("id") Long id, @Param("status") VideoProcessingStatus status,
+      @Param("checksum") String checksum, @Param("durationInMs") Long durationInMs,
+      @Param("width") Integer width, @Param("height") Integer height,
+      @Param("now") Instant now);
+
 }
@@ -0,0 +1,55 @@
+package com.futureh.drone.feeder.response;
+
+import com.futureh.drone.feeder.model.Delivery;
+
+/**
+ * AssignmentResponse class.
+ */
+public class AssignmentResponse {
+
+  private Long deliveryId;
+  private Float weightInKg;
+  private Long droneId;
+  private String droneName;
+
+  public Long getDeliveryId() {
+    return deliveryId;
+  }
+
+  public void setDeliveryId(Long deliveryId) {
+    this.deliveryId = deliveryId;
+  }
+
+  public Float getWeightInKg() {
+    return weightInKg;
+  }
+
+  public void setWeightInKg(Float weightInKg) {
+    this.weightInKg = weightInKg;
+  }
+
+  public Long getDroneId() {
+    return droneId;
+  }
+
+  public void setDroneId(Long droneId) {
+    this.droneId = droneId;
+  }
+
+  public String getDroneName() {
+    return droneName;
+  }
+
+  public void setDroneName(String droneName) {
+    this.droneName = droneName;
+  }
+
+  /** createResponseByDeliveryEntity method.*/
+  public void createResponseByDeliveryEntity(Delivery delivery) {
+    this.deliveryId = delivery.getId();
+    this.weightInKg = delivery.getWeightInKg();
+    this.droneId = delivery.getDrone().getId();
+    this.droneName = delivery.getDrone().getName();
+  }
+
+}
@@ -0,0 +1,68 @@
+package com.futureh.drone.feeder.response;
+
+import java.util.List;
+
+/**
+ * BatchItemResponse class.
+ */
+public class BatchItemResponse {
+
+  public static final String CREATED = "CREATED";
+  public static final String REJECTED = "REJECTED";
+
+  private int index;
+  private String result;
+  private Long id;
+  private List<String> errors;
+
+  public int getIndex() {
+    return index;
+  }
+
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  public String getResult() {
+    return result;
+  }
+
+  public void setResult(String result) {
+    this.result = result;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public List<String> getErrors() {
+    return errors;
+  }
+
+  public void setErrors(List<String> errors) {
+    this.errors = errors;
+  }
+
+  /** created method.*/
+  public static BatchItemResponse created(int index, Long id) {
+    BatchItemResponse item = new BatchItemResponse();
+    item.setIndex(index);
+    item.setResult(CREATED);
+    item.setId(id);
+    return item;
+  }
+
+  /** rejected method.*/
+  public static BatchItemResponse rejected(int index, List<String> errors) {
+    BatchItemResponse item = new BatchItemResponse();
+    item.setIndex(index);
+    item.setResult(REJECTED);
+    item.setErrors(errors);
+    return item;
+  }
+
+}
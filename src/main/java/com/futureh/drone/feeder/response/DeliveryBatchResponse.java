@@ -0,0 +1,38 @@
+package com.futureh.drone.feeder.response;
+
+import java.util.List;
+
+/**
+ * DeliveryBatchResponse class.
+ */
+public class DeliveryBatchResponse {
+
+  private int created;
+  private int rejected;
+  private List<BatchItemResponse> items;
+
+  public int getCreated() {
+    return created;
+  }
+
+  public void setCreated(int created) {
+    this.created = created;
+  }
+
+  public int getRejected() {
+    return rejected;
+  }
+
+  public void setRejected(int rejected) {
+    this.rejected = rejected;
+  }
+
+  public List<BatchItemResponse> getItems() {
+    return items;
+  }
+
+  public void setItems(List<BatchItemResponse> items) {
+    this.items = items;
+  }
+
+}
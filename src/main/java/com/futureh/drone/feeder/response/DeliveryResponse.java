@@ -1,5 +1,6 @@
 package com.futureh.drone.feeder.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.futureh.drone.feeder.model.Delivery;
 import com.futureh.drone.feeder.util.DeliveryStatus;
 
@@ -17,6 +18,34 @@ public class DeliveryResponse {
   private DeliveryStatus status;
   private Float weightInKg;
   private String videoName;
+  private Long version;
+
+  /** DeliveryResponse default constructor method. */
+  public DeliveryResponse() { }
+
+  /** DeliveryResponse constructor method. */
+  public DeliveryResponse(Long id, String receiverName, String address, String zipCode,
+      String latitude, String longitude, DeliveryStatus status, Float weightInKg,
+      String videoName) {
+    this.id = id;
+    this.receiverName = receiverName;
+    this.address = address;
+    this.zipCode = zipCode;
+    this.latitude = latitude;
+    this.longitude = longitude;
+    this.status = status;
+    this.weightInKg = weightInKg;
+    this.videoName = videoName != null ? videoName : "None";
+  }
+
+  /** DeliveryResponse constructor method, used by the repository projections. */
+  public DeliveryResponse(Long id, String receiverName, String address, String zipCode,
+      String latitude, String longitude, DeliveryStatus status, Float weightInKg,
+      String videoName, Long version) {
+    this(id, receiverName, address, zipCode, latitude, longitude, status, weightInKg,
+        videoName);
+    this.version = version;
+  }
 
   public Long getId() {
     return id;
@@ -90,6 +119,16 @@ public class DeliveryResponse {
     this.videoName = videoName;
   }
 
+  /** getVersion method, only for the ETag of the listings. */
+  @JsonIgnore
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
   /**createResponseByDeliveryEntity method.*/
   public void createResponseByDeliveryEntity(Delivery delivery) {
     setId(delivery.getId());
@@ -100,6 +139,7 @@ public class DeliveryResponse {
     setLongitude(delivery.getLongitude());
     setStatus(delivery.getStatus());
     setWeightInKg(delivery.getWeightInKg());
+    setVersion(delivery.getVersion());
 
     if (delivery.getVideo() != null) {
       setVideoName(delivery.getVideo().getFileName());      
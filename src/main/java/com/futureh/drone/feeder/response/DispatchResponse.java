@@ -0,0 +1,54 @@
+package com.futureh.drone.feeder.response;
+
+import com.futureh.drone.feeder.model.Delivery;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DispatchResponse class.
+ */
+public class DispatchResponse {
+
+  private int assigned;
+  private int unassigned;
+  private List<AssignmentResponse> assignments;
+
+  public int getAssigned() {
+    return assigned;
+  }
+
+  public void setAssigned(int assigned) {
+    this.assigned = assigned;
+  }
+
+  public int getUnassigned() {
+    return unassigned;
+  }
+
+  public void setUnassigned(int unassigned) {
+    this.unassigned = unassigned;
+  }
+
+  public List<AssignmentResponse> getAssignments() {
+    return assignments;
+  }
+
+  public void setAssignments(List<AssignmentResponse> assignments) {
+    this.assignments = assignments;
+  }
+
+  /** createResponseByDeliveryEntities method.*/
+  public void createResponseByDeliveryEntities(List<Delivery> deliveries) {
+    this.assignments = new ArrayList<AssignmentResponse>();
+    for (Delivery delivery : deliveries) {
+      if (delivery.getDrone() != null) {
+        AssignmentResponse assignment = new AssignmentResponse();
+        assignment.createResponseByDeliveryEntity(delivery);
+        this.assignments.add(assignment);
+      }
+    }
+    this.assigned = this.assignments.size();
+    this.unassigned = deliveries.size() - this.assigned;
+  }
+
+}
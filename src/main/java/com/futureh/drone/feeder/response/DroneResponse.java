@@ -1,5 +1,6 @@
 package com.futureh.drone.feeder.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.futureh.drone.feeder.model.Drone;
 
 /**
@@ -11,6 +12,25 @@ public class DroneResponse {
   private String name;
   private String model;
   private Float capacityWeightInKg;
+  private Long version;
+
+  /** DroneResponse default constructor method. */
+  public DroneResponse() { }
+
+  /** DroneResponse constructor method. */
+  public DroneResponse(Long id, String name, String model, Float capacityWeightInKg) {
+    this.id = id;
+    this.name = name;
+    this.model = model;
+    this.capacityWeightInKg = capacityWeightInKg;
+  }
+
+  /** DroneResponse constructor method, used by the repository projections. */
+  public DroneResponse(Long id, String name, String model, Float capacityWeightInKg,
+      Long version) {
+    this(id, name, model, capacityWeightInKg);
+    this.version = version;
+  }
 
   public Long getId() {
     return id;
@@ -44,12 +64,23 @@ public class DroneResponse {
     this.capacityWeightInKg = capacityWeightInKg;
   }
 
+  /** getVersion method, only for the ETag of the listings. */
+  @JsonIgnore
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
   /** createResponseByDroneEntity method.*/
   public void createResponseByDroneEntity(Drone drone) {
     setId(drone.getId());
     setName(drone.getName());
     setModel(drone.getModel());
     setCapacityWeightInKg(drone.getCapacityWeightInKg());
+    setVersion(drone.getVersion());
   }
 
 }
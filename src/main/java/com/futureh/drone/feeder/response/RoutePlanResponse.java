@@ -0,0 +1,47 @@
+package com.futureh.drone.feeder.response;
+
+import java.util.List;
+
+/**
+ * RoutePlanResponse class.
+ */
+public class RoutePlanResponse {
+
+  private int routed;
+  private double distanceInKm;
+  private List<SortieResponse> sorties;
+  private List<Long> unrouted;
+
+  public int getRouted() {
+    return routed;
+  }
+
+  public void setRouted(int routed) {
+    this.routed = routed;
+  }
+
+  public double getDistanceInKm() {
+    return distanceInKm;
+  }
+
+  public void setDistanceInKm(double distanceInKm) {
+    this.distanceInKm = distanceInKm;
+  }
+
+  public List<SortieResponse> getSorties() {
+    return sorties;
+  }
+
+  public void setSorties(List<SortieResponse> sorties) {
+    this.sorties = sorties;
+  }
+
+  public List<Long> getUnrouted() {
+    return unrouted;
+  }
+
+  public void setUnrouted(List<Long> unrouted) {
+    this.unrouted = unrouted;
+  }
+
+}
@@ -0,0 +1,65 @@
+package com.futureh.drone.feeder.response;
+
+import java.util.List;
+
+/**
+ * SortieResponse class.
+ */
+public class SortieResponse {
+
+  private Long droneId;
+  private String droneName;
+  private int sortie;
+  private float weightInKg;
+  private double distanceInKm;
+  private List<Long> deliveryIds;
+
+  public Long getDroneId() {
+    return droneId;
+  }
+
+  public void setDroneId(Long droneId) {
+    this.droneId = droneId;
+  }
+
+  public String getDroneName() {
+    return droneName;
+  }
+
+  public void setDroneName(String droneName) {
+    this.droneName = droneName;
+  }
+
+  public int getSortie() {
+    return sortie;
+  }
+
+  public void setSortie(int sortie) {
+    this.sortie = sortie;
+  }
+
+  public float getWeightInKg() {
+    return weightInKg;
+  }
+
+  public void setWeightInKg(float weightInKg) {
+    this.weightInKg = weightInKg;
+  }
+
+  public double getDistanceInKm() {
+    return distanceInKm;
+  }
+
+  public void setDistanceInKm(double distanceInKm) {
+    this.distanceInKm = distanceInKm;
+  }
+
+  public List<Long> getDeliveryIds() {
+    return deliveryIds;
+  }
+
+  public void setDeliveryIds(List<Long> deliveryIds) {
+    this.deliveryIds = deliveryIds;
+  }
+
+}
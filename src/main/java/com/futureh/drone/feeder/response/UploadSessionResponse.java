@@ -0,0 +1,86 @@
+package com.futureh.drone.feeder.response;
+
+import com.futureh.drone.feeder.storage.UploadSession;
+import java.util.List;
+
+/**
+ * UploadSessionResponse class.
+ */
+public class UploadSessionResponse {
+
+  private String id;
+  private Long deliveryId;
+  private String fileName;
+  private Long size;
+  private Long receivedBytes;
+  private List<String> receivedRanges;
+  private boolean complete;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public Long getDeliveryId() {
+    return deliveryId;
+  }
+
+  public void setDeliveryId(Long deliveryId) {
+    this.deliveryId = deliveryId;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  public Long getSize() {
+    return size;
+  }
+
+  public void setSize(Long size) {
+    this.size = size;
+  }
+
+  public Long getReceivedBytes() {
+    return receivedBytes;
+  }
+
+  public void setReceivedBytes(Long receivedBytes) {
+    this.receivedBytes = receivedBytes;
+  }
+
+  public List<String> getReceivedRanges() {
+    return receivedRanges;
+  }
+
+  public void setReceivedRanges(List<String> receivedRanges) {
+    this.receivedRanges = receivedRanges;
+  }
+
+  public boolean isComplete() {
+    return complete;
+  }
+
+  public void setComplete(boolean complete) {
+    this.complete = complete;
+  }
+
+  /** createResponseByUploadSession method.*/
+  public void createResponseByUploadSession(UploadSession session) {
+    setId(session.getId());
+    setDeliveryId(session.getDeliveryId());
+    setFileName(session.getFileName());
+    setSize(session.getSize());
+    setReceivedBytes(session.getReceivedBytes());
+    setReceivedRanges(session.getReceivedRanges());
+    setComplete(session.isComplete());
+  }
+
+}
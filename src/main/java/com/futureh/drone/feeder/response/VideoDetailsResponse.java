@@ -1,6 +1,7 @@
 package com.futureh.drone.feeder.response;
 
 import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.util.VideoProcessingStatus;
 
 /**
  * VideoDetailsResponse class.
@@ -10,6 +11,11 @@ public class VideoDetailsResponse {
   private Long id;
   private String fileName;
   private Long size;
+  private VideoProcessingStatus processingStatus;
+  private String checksum;
+  private Long durationInMs;
+  private Integer width;
+  private Integer height;
   private DroneResponse drone;
 
   public Long getId() {
@@ -36,6 +42,46 @@ public class VideoDetailsResponse {
     this.size = size;
   }
 
+  public VideoProcessingStatus getProcessingStatus() {
+    return processingStatus;
+  }
+
+  public void setProcessingStatus(VideoProcessingStatus processingStatus) {
+    this.processingStatus = processingStatus;
+  }
+
+  public String getChecksum() {
+    return checksum;
+  }
+
+  public void setChecksum(String checksum) {
+    this.checksum = checksum;
+  }
+
+  public Long getDurationInMs() {
+    return durationInMs;
+  }
+
+  public void setDurationInMs(Long durationInMs) {
+    this.durationInMs = durationInMs;
+  }
+
+  public Integer getWidth() {
+    return width;
+  }
+
+  public void setWidth(Integer width) {
+    this.width = width;
+  }
+
+  public Integer getHeight() {
+    return height;
+  }
+
+  public void setHeight(Integer height) {
+    this.height = height;
+  }
+
   public DroneResponse getDrone() {
     return drone;
   }
@@ -49,6 +95,11 @@ public class VideoDetailsResponse {
     setId(video.getId());
     setFileName(video.getFileName());
     setSize(video.getSize());
+    setProcessingStatus(video.getProcessingStatus());
+    setChecksum(video.getChecksum());
+    setDurationInMs(video.getDurationInMs());
+    setWidth(video.getWidth());
+    setHeight(video.getHeight());
 
     DroneResponse droneResponse = new DroneResponse();
     if (video.getDrone() != null) {
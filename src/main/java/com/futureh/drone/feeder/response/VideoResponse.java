@@ -12,6 +12,17 @@ public class VideoResponse {
   private Long size;
   private String droneName;
 
+  /** VideoResponse default constructor method. */
+  public VideoResponse() { }
+
+  /** VideoResponse constructor method, used by the repository projections. */
+  public VideoResponse(Long id, String fileName, Long size, String droneName) {
+    this.id = id;
+    this.fileName = fileName;
+    this.size = size;
+    this.droneName = droneName != null ? droneName : "None";
+  }
+
   public Long getId() {
     return id;
   }
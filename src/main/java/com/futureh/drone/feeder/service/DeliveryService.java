@@ -1,28 +1,60 @@
 package com.futureh.drone.feeder.service;
 
+import com.futureh.drone.feeder.dto.DeliveryBulkDto;
 import com.futureh.drone.feeder.dto.DeliveryDto;
 import com.futureh.drone.feeder.exception.InputNotFoundException;
 import com.futureh.drone.feeder.exception.IntServerErrorInVideoFinding;
+import com.futureh.drone.feeder.exception.PayloadTooLargeException;
 import com.futureh.drone.feeder.exception.WrongInputDataException;
 import com.futureh.drone.feeder.model.Delivery;
 import com.futureh.drone.feeder.model.Drone;
 import com.futureh.drone.feeder.model.Video;
 import com.futureh.drone.feeder.repository.DeliveryRepository;
 import com.futureh.drone.feeder.repository.VideoRepository;
+import com.futureh.drone.feeder.response.DeliveryResponse;
+import com.futureh.drone.feeder.response.VideoResponse;
+import com.futureh.drone.feeder.storage.StoredBlob;
+import com.futureh.drone.feeder.storage.VideoStorage;
 import com.futureh.drone.feeder.util.DeliveryStatus;
-import java.io.File;
+import com.futureh.drone.feeder.util.GeoGrid;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
@@ -34,6 +66,20 @@ public class DeliveryService {
   String paramWithoutVideo = "The param don't have a video (Param must have a video).";
   String videoIdNotFound = "Video id not found.";
   String deliveryIdNotFound = "Delivery id not found.";
+  String videoTooLarge = "The video exceeded the upload size limit.";
+
+  private static final Sort BY_ID = Sort.by("id");
+  private static final String INSERT_DELIVERY = "insert into delivery (receiver_name, address,"
+      + " zip_code, latitude, longitude, latitude_in_degrees, longitude_in_degrees, status,"
+      + " weight_in_kg, version, last_modified) values (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+  private static final int BULK_CHUNK_SIZE = 1000;
+  private static final Logger LOGGER = LoggerFactory.getLogger(DeliveryService.class);
+
+  @Value("${drone-feeder.videos.max-upload-size:2GB}")
+  private DataSize maxUploadSize = DataSize.ofGigabytes(2);
+
+  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+  private int batchSize = 50;
 
   @Autowired
   private DeliveryRepository deliveryRepository;
@@ -44,6 +90,20 @@ public class DeliveryService {
   @Autowired
   private VideoRepository videoRepository;
 
+  @Autowired
+  private VideoStorage videoStorage;
+
+  @Autowired
+  private VideoProcessingService videoProcessingService;
+
+  @Autowired
+  private MetricsService metricsService;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private final GeoGrid deliveriesByLocation = new GeoGrid();
+
   /** addDelivery method.*/
   public Delivery addDelivery(DeliveryDto delivery) {
     String receiverName = delivery.getReceiverName();
@@ -54,71 +114,330 @@ public class DeliveryService {
     Float weightInKg = delivery.getWeightInKg();
     Delivery newDelivery = deliveryRepository.save(
         new Delivery(receiverName, address, zipCode, latitude, longitude, weightInKg));
+    indexAfterCommit(newDelivery);
     return newDelivery;
   }
 
+  /**
+   * addDeliveries method.
+   *
+   * <p>Inserts already validated deliveries in one transaction, as JDBC batches of
+   * {@code batchSize} on the transaction's connection. Hibernate never batches inserts into an
+   * IDENTITY column, so the rows are written here; with rewriteBatchedStatements each batch
+   * reaches MySQL as one multi-row insert, and the generated ids come back in order. No cached
+   * query reads the delivery table, so nothing has to be invalidated. The deliveries returned
+   * carry their id but are not managed.</p>
+   */
+  @Transactional
+  public List<Delivery> addDeliveries(List<DeliveryDto> deliveries) {
+    List<Delivery> newDeliveries = new ArrayList<Delivery>(deliveries.size());
+    for (DeliveryDto delivery : deliveries) {
+      newDeliveries.add(new Delivery(delivery.getReceiverName(), delivery.getAddress(),
+          delivery.getZipCode(), delivery.getLatitude(), delivery.getLongitude(),
+          delivery.getWeightInKg()));
+    }
+    entityManager.unwrap(Session.class).doWork(connection -> insert(connection, newDeliveries));
+    afterCommit(() -> newDeliveries.forEach(this::index));
+    return newDeliveries;
+  }
+
+  private void insert(Connection connection, List<Delivery> deliveries) throws SQLException {
+    Timestamp now = Timestamp.from(Instant.now());
+    try (PreparedStatement statement = connection.prepareStatement(INSERT_DELIVERY,
+        Statement.RETURN_GENERATED_KEYS)) {
+      for (int from = 0; from < deliveries.size(); from += batchSize) {
+        List<Delivery> batch = deliveries.subList(from,
+            Math.min(from + batchSize, deliveries.size()));
+        for (Delivery delivery : batch) {
+          statement.setString(1, delivery.getReceiverName());
+          statement.setString(2, delivery.getAddress());
+          statement.setString(3, delivery.getZipCode());
+          statement.setString(4, delivery.getLatitude());
+          statement.setString(5, delivery.getLongitude());
+          statement.setObject(6, delivery.getLatitudeInDegrees(), Types.DOUBLE);
+          statement.setObject(7, delivery.getLongitudeInDegrees(), Types.DOUBLE);
+          statement.setInt(8, delivery.getStatus().ordinal());
+          statement.setObject(9, delivery.getWeightInKg(), Types.FLOAT);
+          statement.setTimestamp(10, now);
+          statement.addBatch();
+        }
+        statement.executeBatch();
+
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+          for (Delivery delivery : batch) {
+            if (!keys.next()) {
+              throw new SQLException("Missing generated id of a delivery.");
+            }
+            delivery.setId(keys.getLong(1));
+          }
+        }
+      }
+    }
+  }
+
   /** getVideoByName method.*/
   public Video getVideoByName(String videoName) {
-    List<Video> videos = videoRepository.findAll();
-    Video video = videos.stream()
-        .filter(vdo -> vdo.getFileName().equals(videoName))
-        .findAny().orElse(null);
-    return video;
+    return videoRepository.findByFileName(videoName).orElse(null);
   }
 
-  /** saveFile method.*/
-  public void saveFile(String videoName, MultipartFile multipartFile) throws IOException {
-    Path uploadDirectory = Paths.get("videos-uploads");
+  /** existsVideoByName method.*/
+  public boolean existsVideoByName(String videoName) {
+    return videoRepository.existsByFileName(videoName);
+  }
+
+  /**
+   * saveFile method.
+   *
+   * <p>Stores the uploaded content by its checksum and returns the video to add, not yet
+   * persisted. Content that is already stored is not written a second time.</p>
+   */
+  public Video saveFile(String videoName, MultipartFile multipartFile) throws IOException {
+    try (InputStream inputStream = multipartFile.getInputStream()) {
+      return toVideo(videoName, saveBlob(inputStream, "multipart"));
+    } catch (IOException err) {
+      throw new WrongInputDataException(paramWithoutVideo);
+    }
+  }
+
+  /**
+   * saveStream method.
+   *
+   * <p>Writes a raw request body straight to storage, like saveFile. A declared length of -1
+   * means the length is unknown (chunked transfer encoding).</p>
+   */
+  public Video saveStream(String videoName, InputStream inputStream, long declaredSize) {
+    if (declaredSize > maxUploadSize.toBytes()) {
+      throw new PayloadTooLargeException(videoTooLarge);
+    }
 
     try {
-      InputStream inputStream = multipartFile.getInputStream();
-      Path videoPath = uploadDirectory.resolve(videoName);
-      Files.copy(inputStream, videoPath, StandardCopyOption.REPLACE_EXISTING);
+      return toVideo(videoName, saveBlob(inputStream, "stream"));
     } catch (IOException err) {
       throw new WrongInputDataException(paramWithoutVideo);
     }
   }
 
-  /** addVideo method.*/
+  private StoredBlob saveBlob(InputStream inputStream, String source) throws IOException {
+    Timer.Sample sample = metricsService.startTimer();
+    try {
+      StoredBlob storedBlob = videoStorage.saveBlob(inputStream, maxUploadSize.toBytes());
+      metricsService.recordUpload(source, storedBlob.getSize());
+      return storedBlob;
+    } finally {
+      metricsService.stopStorageTimer(sample, "save");
+    }
+  }
+
+  /** toVideo method, the video row for content just stored by the video storage.*/
+  public static Video toVideo(String videoName, StoredBlob storedBlob) {
+    Video video = new Video(videoName, storedBlob.getSize());
+    video.setChecksum(storedBlob.getChecksum());
+    return video;
+  }
+
+  /**
+   * addVideo method.
+   *
+   * <p>Links the stored video to the delivery and hands it to the background processing,
+   * which fills in the duration and resolution after the response is sent. The delivery is
+   * read and saved in one transaction, so its lazy video can be loaded even when it comes
+   * from the second-level cache, and the changes are flushed before leaving the method. The
+   * upload's pin on the blob is released once the video row is committed, or after the
+   * rollback if it can't be saved, in which case an unreferenced blob is deleted. A video
+   * the delivery already had is replaced: its row is deleted and its file released after the
+   * commit.</p>
+   */
+  @Transactional
   public Delivery addVideo(Long id, Video video) throws IOException {
-    String videoName = video.getFileName();
-    String droneName = videoName.substring(0, 4);
-    Drone drone = droneService.getDroneByName(droneName);
-    video.setDrone(drone);
+    String checksum = video.getChecksum();
+    Delivery deliveryUpdate;
+    try {
+      String videoName = video.getFileName();
+      String droneName = videoName.substring(0, 4);
+      Drone drone = droneService.getDroneByName(droneName);
+      video.setDrone(drone);
 
-    Delivery delivery = this.getDeliveryById(id);
+      Delivery delivery = this.getDeliveryById(id);
+      Video replacedVideo = delivery.getVideo();
 
-    delivery.setVideo(video);
-    delivery.setStatus(DeliveryStatus.DELIVERED);
-    Delivery deliveryUpdate = deliveryRepository.save(delivery);
+      delivery.setVideo(video);
+      delivery.setStatus(DeliveryStatus.DELIVERED);
+      deliveryUpdate = deliveryRepository.save(delivery);
+      if (replacedVideo != null) {
+        // By id: the processing of the replaced video may have raised its version meanwhile.
+        videoRepository.deleteByIdIn(List.of(replacedVideo.getId()));
+        deleteVideoFilesAfterCommit(List.of(replacedVideo));
+      }
+      entityManager.flush();
+    } catch (RuntimeException err) {
+      if (checksum != null) {
+        afterRollback(() -> {
+          videoStorage.unpin(checksum);
+          deleteBlob(checksum);
+        });
+      }
+      throw err;
+    }
+    if (checksum != null) {
+      afterCommit(() -> videoStorage.unpin(checksum));
+    }
+    indexAfterCommit(deliveryUpdate);
+    if (deliveryUpdate != null && deliveryUpdate.getVideo() != null) {
+      Long videoId = deliveryUpdate.getVideo().getId();
+      afterCommit(() -> videoProcessingService.submit(videoId));
+    }
 
     return deliveryUpdate;
   }
 
-  /** getAllVideos method.*/
-  public List<Video> getAllVideos() {
-    return videoRepository.findAll();
+  /**
+   * getAllVideos method.
+   *
+   * <p>Returns one slice ordered by id: the rows after {@code afterId} when a keyset cursor is
+   * given, otherwise page {@code page}. Rows are read straight into the response class, so
+   * no entity is loaded or tracked by the persistence context.</p>
+   */
+  @Transactional(readOnly = true)
+  public Slice<VideoResponse> getAllVideos(Long afterId, int page, int size) {
+    if (afterId != null) {
+      return videoRepository.findResponsesByIdGreaterThan(afterId,
+          PageRequest.of(0, size, BY_ID));
+    }
+    return videoRepository.findResponsesBy(PageRequest.of(page, size, BY_ID));
   }
 
-  /** getVideoById method.*/
+  /**
+   * getVideoById method.
+   *
+   * <p>The video comes with its drone. When it is read from the second-level cache the entity
+   * graph's join isn't applied, so the drone is loaded here, usually from the cache too.</p>
+   */
+  @Transactional(readOnly = true)
   public Video getVideoById(Long id) {
     Video video = videoRepository.findById(id).orElse(null);
     if (video != null) {
+      Hibernate.initialize(video.getDrone());
       return video;      
     } else {
       throw new InputNotFoundException(videoIdNotFound);
     }
   }
 
-  /** getAllDeliveries method.*/
-  public List<Delivery> getAllDeliveries() {
-    return deliveryRepository.findAll();
+  /**
+   * getAllDeliveries method.
+   *
+   * <p>Returns one slice ordered by id: the rows after {@code afterId} when a keyset cursor is
+   * given, otherwise page {@code page}. Rows are read straight into the response class, so
+   * no entity is loaded or tracked by the persistence context.</p>
+   */
+  @Transactional(readOnly = true)
+  public Slice<DeliveryResponse> getAllDeliveries(Long afterId, int page, int size) {
+    if (afterId != null) {
+      return deliveryRepository.findResponsesByIdGreaterThan(afterId,
+          PageRequest.of(0, size, BY_ID));
+    }
+    return deliveryRepository.findResponsesBy(PageRequest.of(page, size, BY_ID));
+  }
+
+  /**
+   * exportDeliveries method.
+   *
+   * <p>Hands every delivery to {@code action} in id order while reading them through a database
+   * cursor. Each delivery is detached once handled, so the persistence context does not grow
+   * with the table. The session ignores the second-level cache meanwhile: Hibernate applies
+   * the cache mode hint of a streamed query only while the cursor is opened, not while its
+   * rows are read.</p>
+   */
+  @Transactional(readOnly = true)
+  public void exportDeliveries(Consumer<Delivery> action) {
+    Session session = entityManager.unwrap(Session.class);
+    CacheMode cacheMode = session.getCacheMode();
+    session.setCacheMode(CacheMode.IGNORE);
+    try (Stream<Delivery> deliveries = deliveryRepository.streamAll()) {
+      deliveries.forEach(delivery -> {
+        action.accept(delivery);
+        entityManager.detach(delivery);
+      });
+    } finally {
+      session.setCacheMode(cacheMode);
+    }
+  }
+
+  /**
+   * indexDeliveries method.
+   *
+   * <p>Loads the coordinates of every delivery into the in-memory location index once the
+   * application is ready. From then on the index follows the writes made through this
+   * service, applied after their transaction commits.</p>
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void indexDeliveries() {
+    deliveriesByLocation.clear();
+    try (Stream<Object[]> locations = deliveryRepository.streamLocations()) {
+      locations.forEach(location -> deliveriesByLocation.put((Long) location[0],
+          (Double) location[1], (Double) location[2], (DeliveryStatus) location[3]));
+    }
+  }
+
+  /**
+   * getDeliveriesNear method.
+   *
+   * <p>Deliveries in {@code status} within {@code radiusInKm} of the point, nearest first.
+   * The location index picks the ids; only the matches are read from the database.</p>
+   */
+  @Transactional(readOnly = true)
+  public List<DeliveryResponse> getDeliveriesNear(double latitude, double longitude,
+      double radiusInKm, DeliveryStatus status, int limit) {
+    return findResponses(deliveriesByLocation.nearest(latitude, longitude, radiusInKm, status,
+        limit));
+  }
+
+  /** getDeliveriesWithin method, deliveries in {@code status} inside the bounding box.*/
+  @Transactional(readOnly = true)
+  public List<DeliveryResponse> getDeliveriesWithin(double minLatitude, double minLongitude,
+      double maxLatitude, double maxLongitude, DeliveryStatus status, int limit) {
+    return findResponses(deliveriesByLocation.withinBox(minLatitude, minLongitude, maxLatitude,
+        maxLongitude, status, limit));
+  }
+
+  private List<DeliveryResponse> findResponses(List<GeoGrid.Point> points) {
+    List<DeliveryResponse> responses = new ArrayList<DeliveryResponse>(points.size());
+    if (points.isEmpty()) {
+      return responses;
+    }
+
+    List<Long> ids = new ArrayList<Long>(points.size());
+    for (GeoGrid.Point point : points) {
+      ids.add(point.getId());
+    }
+    Map<Long, DeliveryResponse> responsesById = new HashMap<Long, DeliveryResponse>();
+    for (DeliveryResponse response : deliveryRepository.findResponsesByIdIn(ids)) {
+      responsesById.put(response.getId(), response);
+    }
+    for (Long id : ids) {
+      DeliveryResponse response = responsesById.get(id);
+      if (response != null) {
+        responses.add(response);
+      }
+    }
+    return responses;
   }
 
-  /** getDeliveryById method.*/
+  /**
+   * getDeliveryById method.
+   *
+   * <p>The delivery comes with its video and the video's drone, loaded like in getVideoById
+   * when the delivery is read from the second-level cache.</p>
+   */
+  @Transactional(readOnly = true)
   public Delivery getDeliveryById(Long id) {
     Delivery delivery = deliveryRepository.findById(id).orElse(null);
     if (delivery != null) {
+      Hibernate.initialize(delivery.getVideo());
+      if (delivery.getVideo() != null) {
+        Hibernate.initialize(delivery.getVideo().getDrone());
+      }
       return delivery;      
     } else {
       throw new InputNotFoundException(deliveryIdNotFound);
@@ -126,17 +445,179 @@ public class DeliveryService {
   }
 
   /** removeDelivery method.*/
+  @Transactional
   public Long removeDelivery(Long id) {
     Delivery delivery = deliveryRepository.findById(id).orElse(null);
     if (delivery != null) {
       deliveryRepository.delete(delivery);
+      afterCommit(() -> deliveriesByLocation.remove(List.of(id)));
+      if (delivery.getVideo() != null) {
+        deleteVideoFilesAfterCommit(List.of(delivery.getVideo()));
+      }
       return id;
     } else {
       throw new InputNotFoundException(deliveryIdNotFound);
     }
   }
 
+  /**
+   * updateDeliveriesStatus method.
+   *
+   * <p>Moves the selected deliveries to the new status with one UPDATE statement.</p>
+   */
+  @Transactional
+  public int updateDeliveriesStatus(DeliveryBulkDto bulk) {
+    if (bulk.getIds() != null) {
+      afterCommit(() -> deliveriesByLocation.setStatus(bulk.getIds(), bulk.getNewStatus()));
+      return deliveryRepository.updateStatusByIdIn(bulk.getIds(), bulk.getNewStatus(),
+          Instant.now());
+    }
+    afterCommit(() -> deliveriesByLocation.replaceStatus(bulk.getStatus(),
+        bulk.getNewStatus()));
+    return deliveryRepository.updateStatusByStatus(bulk.getStatus(), bulk.getNewStatus(),
+        Instant.now());
+  }
+
+  /**
+   * removeDeliveries method.
+   *
+   * <p>Deletes the selected deliveries and their videos with set-based DELETE statements.
+   * Deliveries go first because they reference the videos. Of the videos, only the id, file
+   * name and checksum are read, {@code BULK_CHUNK_SIZE} rows at a time: by ids, for each chunk
+   * of the ids; by status, a page of the videos left, whose deliveries and videos are deleted
+   * before the next page is read, and then the deliveries without a video in one statement.
+   * The video files are released only after the transaction commits, so a rollback never
+   * leaves rows pointing at missing files.</p>
+   */
+  @Transactional
+  public int removeDeliveries(DeliveryBulkDto bulk) {
+    Map<String, String> videoFiles = new LinkedHashMap<String, String>();
+    int removed = 0;
+    if (bulk.getIds() != null) {
+      List<Long> ids = bulk.getIds();
+      for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+        List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + BULK_CHUNK_SIZE));
+        List<Long> videoIds = collectVideoFiles(deliveryRepository.findVideoFilesByIdIn(chunk),
+            videoFiles);
+        removed += deliveryRepository.deleteByIdIn(chunk);
+        if (!videoIds.isEmpty()) {
+          videoRepository.deleteByIdIn(videoIds);
+        }
+      }
+      afterCommit(() -> deliveriesByLocation.remove(ids));
+    } else {
+      DeliveryStatus status = bulk.getStatus();
+      List<Long> videoIds;
+      do {
+        videoIds = collectVideoFiles(deliveryRepository.findVideoFilesByStatus(status,
+            PageRequest.of(0, BULK_CHUNK_SIZE)), videoFiles);
+        if (!videoIds.isEmpty()) {
+          removed += deliveryRepository.deleteByVideoIdIn(videoIds);
+          videoRepository.deleteByIdIn(videoIds);
+        }
+      } while (videoIds.size() == BULK_CHUNK_SIZE);
+      removed += deliveryRepository.deleteByStatus(status);
+      afterCommit(() -> deliveriesByLocation.removeStatus(status));
+    }
+
+    if (!videoFiles.isEmpty()) {
+      afterCommit(() -> videoFiles.forEach(this::deleteVideoFile));
+    }
+    return removed;
+  }
+
+  /** Puts the file name and checksum of each row in {@code videoFiles}, returns the ids. */
+  private static List<Long> collectVideoFiles(List<Object[]> rows,
+      Map<String, String> videoFiles) {
+    List<Long> videoIds = new ArrayList<Long>(rows.size());
+    for (Object[] row : rows) {
+      videoIds.add((Long) row[0]);
+      videoFiles.put((String) row[1], (String) row[2]);
+    }
+    return videoIds;
+  }
+
+  private void deleteVideoFilesAfterCommit(List<Video> videos) {
+    if (!videos.isEmpty()) {
+      afterCommit(() -> deleteVideoFiles(videos));
+    }
+  }
+
+  private void indexAfterCommit(Delivery delivery) {
+    if (delivery != null) {
+      afterCommit(() -> index(delivery));
+    }
+  }
+
+  private void index(Delivery delivery) {
+    deliveriesByLocation.put(delivery.getId(), delivery.getLatitudeInDegrees(),
+        delivery.getLongitudeInDegrees(), delivery.getStatus());
+  }
+
+  /** Runs {@code action} once the current transaction commits, or now without one. */
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  /** Runs {@code action} once the current transaction rolls back, or now without one. */
+  private static void afterRollback(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status != STATUS_COMMITTED) {
+          action.run();
+        }
+      }
+    });
+  }
+
+  /** Deletes files stored by name and the blobs no other video references. */
+  private void deleteVideoFiles(List<Video> videos) {
+    for (Video video : videos) {
+      deleteVideoFile(video.getFileName(), video.getChecksum());
+    }
+  }
+
+  private void deleteVideoFile(String fileName, String checksum) {
+    Timer.Sample sample = metricsService.startTimer();
+    try {
+      videoStorage.delete(fileName);
+    } catch (IOException err) {
+      LOGGER.warn("Could not delete the video file {}.", fileName, err);
+    } finally {
+      metricsService.stopStorageTimer(sample, "delete");
+    }
+    if (checksum != null) {
+      deleteBlob(checksum);
+    }
+  }
+
+  private void deleteBlob(String checksum) {
+    Timer.Sample sample = metricsService.startTimer();
+    try {
+      videoStorage.deleteBlob(checksum, () -> videoRepository.existsByChecksum(checksum));
+    } catch (IOException err) {
+      LOGGER.warn("Could not delete the video blob {}.", checksum, err);
+    } finally {
+      metricsService.stopStorageTimer(sample, "deleteBlob");
+    }
+  }
+
   /** updateDelivery method.*/
+  @Transactional
   public Delivery updateDelivery(Long id, DeliveryDto delivery) {
     Delivery deliveryUpdate = deliveryRepository.findById(id).orElse(null);
     if (deliveryUpdate != null) {
@@ -146,49 +627,48 @@ public class DeliveryService {
       deliveryUpdate.setLongitude(delivery.getLongitude());
       deliveryUpdate.setLatitude(delivery.getLatitude());
       deliveryUpdate.setWeightInKg(delivery.getWeightInKg());
-      return deliveryRepository.save(deliveryUpdate);
+      Delivery deliveryUpdated = deliveryRepository.save(deliveryUpdate);
+      indexAfterCommit(deliveryUpdated);
+      return deliveryUpdated;
     } else {
       throw new InputNotFoundException(deliveryIdNotFound);
     }
   }
 
   /** getVideoAsResource method.*/
-  public Resource getVideoAsResource(String videoName) throws IOException {
-    Path uploadDirectory = Paths.get("videos-uploads");
-    Stream<Path> files = Files.list(uploadDirectory);
-    Path foundVideo = files.filter(video -> video.getFileName().toString().equals(videoName))
-        .findAny().orElse(null);
-
-    files.close();
+  public Resource getVideoAsResource(Video video) throws IOException {
+    Timer.Sample sample = metricsService.startTimer();
+    try {
+      return videoStorage.load(video.getFileName(), video.getChecksum());
+    } finally {
+      metricsService.stopStorageTimer(sample, "load");
+    }
+  }
 
-    if (foundVideo != null) {
-      return new UrlResource(foundVideo.toUri());
-    } else {
-      return null;
-    }
-  }
-
-  /** deleteVideo method.*/
-  public Delivery deleteVideo(Long id, String videoName) throws IOException {
-    Path uploadDirectory = Paths.get("videos-uploads");
-    Stream<Path> files = Files.list(uploadDirectory);
-    Path videoPath = files.filter(video -> video.getFileName().toString().equals(videoName))
-        .findAny().orElse(null);
-    File myObj = new File(videoPath.toUri());
-    files.close();
-
-    if (myObj.delete()) {
-      Delivery deliveryUpdate = deliveryRepository.findById(id).orElse(null);
-      if (deliveryUpdate != null) {
-        deliveryUpdate.setVideo(null);
-        deliveryUpdate.setStatus(DeliveryStatus.TO_DELIVER);
-        return deliveryRepository.save(deliveryUpdate);
-      } else {
-        throw new InputNotFoundException(deliveryIdNotFound);
-      }
-    } else {
+  /**
+   * deleteVideo method.
+   *
+   * <p>Unlinks the video from the delivery and deletes its row. The file is released after
+   * the commit: a blob is only deleted when no other video has the same content.</p>
+   */
+  @Transactional
+  public Delivery deleteVideo(Long id) throws IOException {
+    Delivery deliveryUpdate = deliveryRepository.findById(id).orElse(null);
+    if (deliveryUpdate == null) {
+      throw new InputNotFoundException(deliveryIdNotFound);
+    }
+    Video video = deliveryUpdate.getVideo();
+    if (video == null || !videoStorage.exists(video.getFileName(), video.getChecksum())) {
       throw new IntServerErrorInVideoFinding();
     }
+
+    deliveryUpdate.setVideo(null);
+    deliveryUpdate.setStatus(DeliveryStatus.TO_DELIVER);
+    Delivery deliveryUpdated = deliveryRepository.save(deliveryUpdate);
+    videoRepository.delete(video);
+    indexAfterCommit(deliveryUpdated);
+    deleteVideoFilesAfterCommit(List.of(video));
+    return deliveryUpdated;
   }
 
 }
@@ -0,0 +1,89 @@
+package com.futureh.drone.feeder.service;
+
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.repository.DroneRepository;
+import com.futureh.drone.feeder.util.CapacityIndex;
+import com.futureh.drone.feeder.util.DeliveryStatus;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * DispatchService class.
+ */
+@Service
+public class DispatchService {
+
+  private static final Sort HEAVIEST_FIRST = Sort.by(Sort.Direction.DESC, "weightInKg")
+      .and(Sort.by("id"));
+
+  @Autowired
+  private DeliveryRepository deliveryRepository;
+
+  @Autowired
+  private DroneRepository droneRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  /**
+   * dispatch method.
+   *
+   * <p>Assigns up to {@code limit} unassigned {@code TO_DELIVER} deliveries, heaviest first, to
+   * the drone with the least free capacity that still fits each one. The free capacity of a
+   * drone is its capacity minus the weight of the {@code TO_DELIVER} deliveries it already
+   * carries. Returns the deliveries considered; the ones left without a drone fit nowhere.</p>
+   *
+   * <p>The run starts by locking the rows of the drones with {@code SELECT ... FOR UPDATE},
+   * held until its transaction commits, so runs on any replica go one at a time and each
+   * reads the deliveries and loads the previous one committed. Only the id and capacity of
+   * the drones are read; the drones that get a delivery are loaded once each, usually from
+   * the second-level cache.</p>
+   */
+  public List<Delivery> dispatch(int limit) {
+    return transactionTemplate.execute(status -> assignPendingDeliveries(limit));
+  }
+
+  private List<Delivery> assignPendingDeliveries(int limit) {
+    List<Object[]> capacities = droneRepository.findCapacitiesForUpdate();
+    List<Delivery> pendingDeliveries = deliveryRepository.findByStatusAndDroneIsNull(
+        DeliveryStatus.TO_DELIVER, PageRequest.of(0, limit, HEAVIEST_FIRST));
+    if (pendingDeliveries.isEmpty()) {
+      return pendingDeliveries;
+    }
+
+    Map<Long, Double> loads = new HashMap<Long, Double>();
+    for (Object[] row : deliveryRepository.findDroneLoads(DeliveryStatus.TO_DELIVER)) {
+      loads.put((Long) row[0], row[1] == null ? 0 : ((Number) row[1]).doubleValue());
+    }
+
+    Map<Long, Drone> assignedDrones = new HashMap<Long, Drone>();
+    CapacityIndex capacityIndex = new CapacityIndex();
+    for (Object[] row : capacities) {
+      Long droneId = (Long) row[0];
+      float capacityWeightInKg = ((Number) row[1]).floatValue();
+      capacityIndex.add(droneId,
+          (float) (capacityWeightInKg - loads.getOrDefault(droneId, 0D)));
+    }
+
+    for (Delivery delivery : pendingDeliveries) {
+      if (delivery.getWeightInKg() == null) {
+        continue;
+      }
+      Long droneId = capacityIndex.assign(delivery.getWeightInKg());
+      if (droneId != null) {
+        delivery.setDrone(assignedDrones.computeIfAbsent(droneId,
+            id -> droneRepository.findById(id).orElse(null)));
+      }
+    }
+    return pendingDeliveries;
+  }
+
+}
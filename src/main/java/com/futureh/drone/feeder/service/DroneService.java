@@ -3,10 +3,16 @@ package com.futureh.drone.feeder.service;
 import com.futureh.drone.feeder.dto.DroneDto;
 import com.futureh.drone.feeder.exception.InputNotFoundException;
 import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
 import com.futureh.drone.feeder.repository.DroneRepository;
-import java.util.List;
+import com.futureh.drone.feeder.response.DroneResponse;
+import java.time.Instant;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * DroneService class.
@@ -17,9 +23,14 @@ public class DroneService {
   String droneIdNotFound = "Drone id not found.";
   String droneNameNotFound = "Drone name not found.";
 
+  private static final Sort BY_ID = Sort.by("id");
+
   @Autowired
   private DroneRepository droneRepository;
 
+  @Autowired
+  private DeliveryRepository deliveryRepository;
+
   /** addDrone method.*/
   public Drone addDrone(DroneDto drone) {
     String name = drone.getName();
@@ -29,12 +40,17 @@ public class DroneService {
     return newDrone;
   }
 
-  /** getDroneByName method.*/
+  /**
+   * getDroneByName method.
+   *
+   * <p>Resolved through the unique name index. The query and the drone come from the
+   * second-level cache, kept in the memory of each instance. A change made through this
+   * instance invalidates it, so the drone returned carries its current version; a change made
+   * by another instance is only seen once the entries expire (1 minute for the query, 10 for
+   * the drone, see application.conf).</p>
+   */
   public Drone getDroneByName(String droneName) {
-    List<Drone> drones = droneRepository.findAll();
-    Drone drone = drones.stream()
-        .filter(drn -> drn.getName().equals(droneName))
-        .findAny().orElse(null);
+    Drone drone = droneRepository.findByName(droneName).orElse(null);
     if (drone != null) {
       return drone;
     } else {
@@ -42,9 +58,20 @@ public class DroneService {
     }
   }
 
-  /** getAllDrones method.*/
-  public List<Drone> getAllDrones() {
-    return droneRepository.findAll();
+  /**
+   * getAllDrones method.
+   *
+   * <p>Returns one slice ordered by id: the rows after {@code afterId} when a keyset cursor is
+   * given, otherwise page {@code page}. Rows are read straight into the response class, so
+   * no entity is loaded or tracked by the persistence context.</p>
+   */
+  @Transactional(readOnly = true)
+  public Slice<DroneResponse> getAllDrones(Long afterId, int page, int size) {
+    if (afterId != null) {
+      return droneRepository.findResponsesByIdGreaterThan(afterId,
+          PageRequest.of(0, size, BY_ID));
+    }
+    return droneRepository.findResponsesBy(PageRequest.of(page, size, BY_ID));
   }
 
   /** getDroneById method.*/
@@ -57,10 +84,12 @@ public class DroneService {
     }
   }
 
-  /** removeDrone method.*/
+  /** removeDrone method, the drone's deliveries go back to the dispatcher.*/
+  @Transactional
   public Long removeDrone(Long id) {
     Drone drone = droneRepository.findById(id).orElse(null);
     if (drone != null) {
+      deliveryRepository.unassignDrone(id, Instant.now());
       droneRepository.delete(drone);
       return id;
     } else {
@@ -75,7 +104,6 @@ public class DroneService {
       droneUpdate.setName(drone.getName());
       droneUpdate.setModel(drone.getModel());
       droneUpdate.setCapacityWeightInKg(drone.getCapacityWeightInKg());
-      droneRepository.save(droneUpdate);
       return droneRepository.save(droneUpdate);
     } else {
       throw new InputNotFoundException(droneIdNotFound);
@@ -0,0 +1,75 @@
+package com.futureh.drone.feeder.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * MetricsService class.
+ *
+ * <p>Names and tags of the application's own meters, next to the request latencies Spring
+ * Boot already records as {@code http.server.requests}: video bytes received and served,
+ * the time spent in the video storage and the errors answered by the API.</p>
+ */
+@Service
+public class MetricsService {
+
+  public static final String VIDEO_UPLOAD = "drone.feeder.video.upload";
+  public static final String VIDEO_DOWNLOAD = "drone.feeder.video.download";
+  public static final String STORAGE = "drone.feeder.storage";
+  public static final String ERRORS = "drone.feeder.errors";
+
+  private final MeterRegistry meterRegistry;
+
+  /** MetricsService constructor method. */
+  public MetricsService(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /** recordUpload method, the size of a video received through {@code source}.*/
+  public void recordUpload(String source, long bytes) {
+    DistributionSummary.builder(VIDEO_UPLOAD)
+        .description("Video bytes received")
+        .baseUnit("bytes")
+        .tag("source", source)
+        .register(meterRegistry)
+        .record(bytes);
+  }
+
+  /** recordDownload method, the bytes of a video sent, whole or as a range.*/
+  public void recordDownload(boolean partial, long bytes) {
+    DistributionSummary.builder(VIDEO_DOWNLOAD)
+        .description("Video bytes sent")
+        .baseUnit("bytes")
+        .tag("range", partial ? "partial" : "full")
+        .register(meterRegistry)
+        .record(bytes);
+  }
+
+  /** startTimer method.*/
+  public Timer.Sample startTimer() {
+    return Timer.start(meterRegistry);
+  }
+
+  /** stopStorageTimer method, records the time since {@code sample} for the operation.*/
+  public void stopStorageTimer(Timer.Sample sample, String operation) {
+    sample.stop(Timer.builder(STORAGE)
+        .description("Time spent in the video storage")
+        .tag("operation", operation)
+        .register(meterRegistry));
+  }
+
+  /** recordError method.*/
+  public void recordError(Exception exception, HttpStatus status) {
+    Counter.builder(ERRORS)
+        .description("Errors answered by the API")
+        .tag("exception", exception.getClass().getSimpleName())
+        .tag("status", String.valueOf(status.value()))
+        .register(meterRegistry)
+        .increment();
+  }
+
+}
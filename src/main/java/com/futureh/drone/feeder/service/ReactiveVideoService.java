@@ -0,0 +1,181 @@
+package com.futureh.drone.feeder.service;
+
+import com.futureh.drone.feeder.exception.ConflictWithInputDataException;
+import com.futureh.drone.feeder.exception.InputNotFoundException;
+import com.futureh.drone.feeder.exception.IntServerErrorInVideoFinding;
+import com.futureh.drone.feeder.exception.PayloadTooLargeException;
+import com.futureh.drone.feeder.middleware.VideoNameMiddleware;
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.storage.RangedResource;
+import com.futureh.drone.feeder.storage.StoredBlob;
+import com.futureh.drone.feeder.storage.VideoStorage;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * ReactiveVideoService class.
+ *
+ * <p>Non-blocking counterpart of the video methods of DeliveryService. The video bytes move
+ * as DataBuffers between the request or response and an AsynchronousFileChannel, one buffer
+ * at a time as the other side asks for more, so no thread waits on a slow link. The short
+ * blocking steps, the database and the storing of the finished file by its content, run on
+ * the bounded elastic scheduler through the DeliveryService and VideoStorage methods.</p>
+ */
+@Service
+public class ReactiveVideoService {
+
+  String videoAlreadyExists = "The video already exists.";
+  String deliveryHasntVideo = "The delivery hasn't video.";
+  String videoTooLarge = "The video exceeded the upload size limit.";
+
+  public static final int BUFFER_SIZE = 64 * 1024;
+
+  @Value("${drone-feeder.videos.max-upload-size:2GB}")
+  private DataSize maxUploadSize = DataSize.ofGigabytes(2);
+
+  @Autowired
+  private DeliveryService deliveryService;
+
+  @Autowired
+  private VideoStorage videoStorage;
+
+  @Autowired
+  private MetricsService metricsService;
+
+  /**
+   * addVideo method.
+   *
+   * <p>Checks the name and the delivery, writes {@code content} to a staging file, then
+   * stores it by its content and links it to the delivery like the blocking upload. Fails
+   * with PayloadTooLargeException as soon as the content passes the upload size limit.</p>
+   */
+  public Mono<Delivery> addVideo(Long id, String videoName, Flux<DataBuffer> content) {
+    return blocking(() -> {
+      VideoNameMiddleware.isValidName(videoName);
+      if (deliveryService.existsVideoByName(videoName)) {
+        throw new ConflictWithInputDataException(videoAlreadyExists);
+      }
+      deliveryService.getDeliveryById(id);
+      return videoStorage.createStaging("reactive-" + UUID.randomUUID());
+    }).flatMap(stagingPath -> writeStaging(content, stagingPath)
+        .then(blocking(() -> toVideo(videoName, stagingPath)))
+        .onErrorResume(err -> blocking(() -> {
+          videoStorage.discard(stagingPath);
+          return stagingPath;
+        }).then(Mono.error(err))))
+        .flatMap(video -> blocking(() -> deliveryService.addVideo(id, video)));
+  }
+
+  /**
+   * blocking method.
+   *
+   * <p>Runs {@code callable} on the bounded elastic scheduler and hands its result over to the
+   * parallel one, so a cancel while the response is being written can't interrupt it.</p>
+   */
+  private static <T> Mono<T> blocking(Callable<T> callable) {
+    return Mono.fromCallable(callable).subscribeOn(Schedulers.boundedElastic())
+        .publishOn(Schedulers.parallel());
+  }
+
+  private Mono<Void> writeStaging(Flux<DataBuffer> content, Path stagingPath) {
+    long maxBytes = maxUploadSize.toBytes();
+    AtomicLong received = new AtomicLong();
+    Flux<DataBuffer> limited = content.handle((buffer, sink) -> {
+      if (received.addAndGet(buffer.readableByteCount()) > maxBytes) {
+        DataBufferUtils.release(buffer);
+        sink.error(new PayloadTooLargeException(videoTooLarge));
+      } else {
+        sink.next(buffer);
+      }
+    });
+    return DataBufferUtils.write(limited, stagingPath, StandardOpenOption.WRITE)
+        .doOnSuccess(done -> metricsService.recordUpload("reactive", received.get()));
+  }
+
+  private Video toVideo(String videoName, Path stagingPath) throws IOException {
+    StoredBlob storedBlob;
+    Timer.Sample sample = metricsService.startTimer();
+    try {
+      storedBlob = videoStorage.promoteBlob(stagingPath);
+    } finally {
+      metricsService.stopStorageTimer(sample, "promote");
+    }
+    return DeliveryService.toVideo(videoName, storedBlob);
+  }
+
+  /** getVideo method, the video of the delivery.*/
+  public Mono<Video> getVideo(Long id) {
+    return blocking(() -> {
+      Video video = deliveryService.getDeliveryById(id).getVideo();
+      if (video == null) {
+        throw new InputNotFoundException(deliveryHasntVideo);
+      }
+      return video;
+    });
+  }
+
+  /**
+   * getVideoAsResource method.
+   *
+   * <p>The stored video, with its length and last modification already known, so they can be
+   * read without blocking.</p>
+   */
+  public Mono<Resource> getVideoAsResource(Video video) {
+    return blocking(() -> {
+      try {
+        Resource resource = deliveryService.getVideoAsResource(video);
+        if (resource == null) {
+          throw new IOException();
+        }
+        return resource;
+      } catch (IOException e) {
+        throw new IntServerErrorInVideoFinding();
+      }
+    });
+  }
+
+  /**
+   * read method.
+   *
+   * <p>The {@code length} bytes of the video from {@code start}. A video on this node's disk
+   * is read through an AsynchronousFileChannel; one in object storage is read from its range
+   * on the bounded elastic scheduler.</p>
+   */
+  public Flux<DataBuffer> read(Resource resource, long start, long length,
+      DataBufferFactory bufferFactory) {
+    Flux<DataBuffer> content;
+    if (resource.isFile()) {
+      content = DataBufferUtils.readAsynchronousFileChannel(() -> AsynchronousFileChannel.open(
+          resource.getFile().toPath(), StandardOpenOption.READ), start, bufferFactory,
+          BUFFER_SIZE);
+    } else if (resource instanceof RangedResource) {
+      content = DataBufferUtils.readInputStream(
+          () -> ((RangedResource) resource).getInputStream(start, length), bufferFactory,
+          BUFFER_SIZE).subscribeOn(Schedulers.boundedElastic());
+    } else {
+      content = DataBufferUtils.skipUntilByteCount(DataBufferUtils.readInputStream(
+          resource::getInputStream, bufferFactory, BUFFER_SIZE), start)
+          .subscribeOn(Schedulers.boundedElastic());
+    }
+    return DataBufferUtils.takeUntilByteCount(content, length);
+  }
+
+}
@@ -0,0 +1,226 @@
+package com.futureh.drone.feeder.service;
+
+import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.repository.DroneRepository;
+import com.futureh.drone.feeder.response.RoutePlanResponse;
+import com.futureh.drone.feeder.response.SortieResponse;
+import com.futureh.drone.feeder.util.DeliveryStatus;
+import com.futureh.drone.feeder.util.RoutePlanner;
+import com.futureh.drone.feeder.util.RoutePlanner.Stop;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * RouteService class.
+ */
+@Service
+public class RouteService {
+
+  @Value("${drone-feeder.routes.base-latitude:#{null}}")
+  private Double baseLatitude;
+
+  @Value("${drone-feeder.routes.base-longitude:#{null}}")
+  private Double baseLongitude;
+
+  @Value("${drone-feeder.routes.parallelism:0}")
+  private int parallelism;
+
+  private ForkJoinPool routePool = ForkJoinPool.commonPool();
+
+  @Autowired
+  private DeliveryRepository deliveryRepository;
+
+  @Autowired
+  private DroneRepository droneRepository;
+
+  /** Sortie being planned: its drone, its number for that drone and its stops. */
+  private static class PlannedSortie {
+
+    private final Drone drone;
+    private final int number;
+    private final List<Stop> stops;
+    private double distanceInKm;
+
+    PlannedSortie(Drone drone, int number, List<Stop> stops) {
+      this.drone = drone;
+      this.number = number;
+      this.stops = stops;
+    }
+
+  }
+
+  /** createRoutePool method, a dedicated pool when a parallelism is configured.*/
+  @PostConstruct
+  public void createRoutePool() {
+    if (parallelism > 0) {
+      routePool = new ForkJoinPool(parallelism);
+    }
+  }
+
+  /** shutdownRoutePool method.*/
+  @PreDestroy
+  public void shutdownRoutePool() {
+    if (routePool != ForkJoinPool.commonPool()) {
+      routePool.shutdown();
+    }
+  }
+
+  /**
+   * planWave method.
+   *
+   * <p>Plans sorties for every located {@code TO_DELIVER} delivery. Deliveries the dispatcher
+   * already gave a drone are flown by that drone. The others are swept by bearing from the
+   * base and cut into sorties for the fleet in turn, largest drones first, so each sortie
+   * covers one sector. Every sortie fits its drone's capacity and its stops are ordered with
+   * nearest-neighbour plus 2-opt, in parallel on the route pool. Without a configured base the
+   * centroid of the wave is used. Nothing is persisted.</p>
+   */
+  public RoutePlanResponse planWave() {
+    Map<Long, Drone> fleet = new LinkedHashMap<Long, Drone>();
+    List<Drone> drones = new ArrayList<Drone>(droneRepository.findAll());
+    drones.sort(Comparator.comparing(Drone::getCapacityWeightInKg,
+        Comparator.nullsLast(Comparator.reverseOrder())).thenComparing(Drone::getId));
+    for (Drone drone : drones) {
+      if (drone.getCapacityWeightInKg() != null && drone.getCapacityWeightInKg() > 0) {
+        fleet.put(drone.getId(), drone);
+      }
+    }
+
+    List<Stop> unassigned = new ArrayList<Stop>();
+    Map<Long, List<Stop>> assigned = new HashMap<Long, List<Stop>>();
+    List<Long> unrouted = new ArrayList<Long>();
+    double latitudeSum = 0;
+    double longitudeSum = 0;
+    List<Object[]> rows = deliveryRepository.findStops(DeliveryStatus.TO_DELIVER);
+    for (Object[] row : rows) {
+      Stop stop = new Stop((Long) row[0], (Double) row[1], (Double) row[2], (Float) row[3]);
+      latitudeSum += stop.getLatitude();
+      longitudeSum += stop.getLongitude();
+      Long droneId = (Long) row[4];
+      if (droneId == null) {
+        unassigned.add(stop);
+      } else if (fleet.containsKey(droneId)) {
+        assigned.computeIfAbsent(droneId, key -> new ArrayList<Stop>()).add(stop);
+      } else {
+        unrouted.add(stop.getId());
+      }
+    }
+    Stop base = baseLatitude != null && baseLongitude != null
+        ? new Stop(null, baseLatitude, baseLongitude, 0)
+        : new Stop(null, rows.isEmpty() ? 0 : latitudeSum / rows.size(),
+            rows.isEmpty() ? 0 : longitudeSum / rows.size(), 0);
+
+    Map<Long, Integer> sortieCounts = new HashMap<Long, Integer>();
+    List<PlannedSortie> sorties = new ArrayList<PlannedSortie>();
+    for (Map.Entry<Long, List<Stop>> entry : assigned.entrySet()) {
+      Drone drone = fleet.get(entry.getKey());
+      RoutePlanner.sweep(base, entry.getValue());
+      for (List<Stop> stops : RoutePlanner.cut(entry.getValue(), drone.getCapacityWeightInKg())) {
+        sorties.add(new PlannedSortie(drone, sortieCounts.merge(drone.getId(), 1, Integer::sum),
+            stops));
+      }
+      collectUnrouted(entry.getValue(), drone.getCapacityWeightInKg(), unrouted);
+    }
+    sweepAcrossFleet(base, unassigned, new ArrayList<Drone>(fleet.values()), sortieCounts,
+        sorties, unrouted);
+
+    routePool.submit(() -> sorties.parallelStream().forEach(sortie ->
+        sortie.distanceInKm = RoutePlanner.sequence(base, sortie.stops))).join();
+
+    return toResponse(sorties, unrouted);
+  }
+
+  private static void sweepAcrossFleet(Stop base, List<Stop> stops, List<Drone> fleet,
+      Map<Long, Integer> sortieCounts, List<PlannedSortie> sorties, List<Long> unrouted) {
+    RoutePlanner.sweep(base, stops);
+    int next = 0;
+    Drone drone = null;
+    List<Stop> sortie = new ArrayList<Stop>();
+    float loadInKg = 0;
+    for (Stop stop : stops) {
+      if (drone != null && loadInKg + stop.getWeightInKg() <= drone.getCapacityWeightInKg()) {
+        sortie.add(stop);
+        loadInKg += stop.getWeightInKg();
+        continue;
+      }
+      if (!sortie.isEmpty()) {
+        sorties.add(new PlannedSortie(drone, sortieCounts.merge(drone.getId(), 1, Integer::sum),
+            sortie));
+      }
+
+      drone = null;
+      for (int tried = 0; tried < fleet.size() && drone == null; tried++) {
+        Drone candidate = fleet.get(next);
+        next = (next + 1) % fleet.size();
+        if (candidate.getCapacityWeightInKg() >= stop.getWeightInKg()) {
+          drone = candidate;
+        }
+      }
+      sortie = new ArrayList<Stop>();
+      loadInKg = 0;
+      if (drone == null) {
+        unrouted.add(stop.getId());
+      } else {
+        sortie.add(stop);
+        loadInKg = stop.getWeightInKg();
+      }
+    }
+    if (!sortie.isEmpty()) {
+      sorties.add(new PlannedSortie(drone, sortieCounts.merge(drone.getId(), 1, Integer::sum),
+          sortie));
+    }
+  }
+
+  private static void collectUnrouted(List<Stop> stops, float capacityInKg,
+      List<Long> unrouted) {
+    for (Stop stop : stops) {
+      if (stop.getWeightInKg() > capacityInKg) {
+        unrouted.add(stop.getId());
+      }
+    }
+  }
+
+  private static RoutePlanResponse toResponse(List<PlannedSortie> sorties,
+      List<Long> unrouted) {
+    List<SortieResponse> sortieResponses = new ArrayList<SortieResponse>(sorties.size());
+    int routed = 0;
+    double distanceInKm = 0;
+    for (PlannedSortie sortie : sorties) {
+      SortieResponse sortieResponse = new SortieResponse();
+      sortieResponse.setDroneId(sortie.drone.getId());
+      sortieResponse.setDroneName(sortie.drone.getName());
+      sortieResponse.setSortie(sortie.number);
+      sortieResponse.setDistanceInKm(sortie.distanceInKm);
+      List<Long> deliveryIds = new ArrayList<Long>(sortie.stops.size());
+      float weightInKg = 0;
+      for (Stop stop : sortie.stops) {
+        deliveryIds.add(stop.getId());
+        weightInKg += stop.getWeightInKg();
+      }
+      sortieResponse.setDeliveryIds(deliveryIds);
+      sortieResponse.setWeightInKg(weightInKg);
+      sortieResponses.add(sortieResponse);
+      routed += deliveryIds.size();
+      distanceInKm += sortie.distanceInKm;
+    }
+
+    RoutePlanResponse response = new RoutePlanResponse();
+    response.setSorties(sortieResponses);
+    response.setRouted(routed);
+    response.setDistanceInKm(distanceInKm);
+    response.setUnrouted(unrouted);
+    return response;
+  }
+
+}
@@ -0,0 +1,229 @@
+package com.futureh.drone.feeder.service;
+
+import com.futureh.drone.feeder.dto.UploadSessionDto;
+import com.futureh.drone.feeder.exception.ConflictWithInputDataException;
+import com.futureh.drone.feeder.exception.InputNotFoundException;
+import com.futureh.drone.feeder.exception.PayloadTooLargeException;
+import com.futureh.drone.feeder.exception.WrongInputDataException;
+import com.futureh.drone.feeder.middleware.VideoNameMiddleware;
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.storage.StoredBlob;
+import com.futureh.drone.feeder.storage.UploadSession;
+import com.futureh.drone.feeder.storage.VideoStorage;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * UploadSessionService class.
+ *
+ * <p>Resumable uploads: a session is created for a delivery, chunks are written at their
+ * offsets into a staging file in any order (and may be re-sent), and finalize stores the file
+ * by its content and creates the Video row.</p>
+ *
+ * <p>A session that receives nothing for {@code drone-feeder.videos.upload-session-ttl} is
+ * dropped with its staging file. A session being finalized stays listed but takes no more
+ * chunks, and finalize refuses a session while one of its chunks is being written.</p>
+ *
+ * <p>The sessions are kept in this instance's memory and their staging files in its local
+ * work directory, so a session is bound to the node that created it: its chunks and its
+ * finalize must reach that node, and it is lost when the node restarts.</p>
+ */
+@Service
+public class UploadSessionService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(UploadSessionService.class);
+
+  String videoAlreadyExists = "The video already exists.";
+  String sessionNotFound = "Upload session not found.";
+  String invalidSize = "The video size must be greater than zero.";
+  String videoTooLarge = "The video exceeded the upload size limit.";
+  String invalidOffset = "The chunk offset is outside the video.";
+  String sessionIncomplete = "The upload session hasn't received the whole video.";
+  String stagingError = "The upload session couldn't store the chunk.";
+  String sessionClosed = "The upload session is being finalized or was closed.";
+  String sessionBusy = "The upload session is still receiving a chunk.";
+
+  private final Map<String, UploadSession> sessions = new ConcurrentHashMap<String,
+      UploadSession>();
+
+  private final VideoStorage videoStorage;
+
+  private final DeliveryService deliveryService;
+
+  private final MetricsService metricsService;
+
+  @Value("${drone-feeder.videos.max-upload-size:2GB}")
+  private DataSize maxUploadSize = DataSize.ofGigabytes(2);
+
+  @Value("${drone-feeder.videos.upload-session-ttl:1h}")
+  private Duration sessionTtl = Duration.ofHours(1);
+
+  /** UploadSessionService constructor method. */
+  public UploadSessionService(VideoStorage videoStorage, DeliveryService deliveryService,
+      MetricsService metricsService) {
+    this.videoStorage = videoStorage;
+    this.deliveryService = deliveryService;
+    this.metricsService = metricsService;
+  }
+
+  /**
+   * discardLeftoverStaging method.
+   *
+   * <p>Runs before the application takes requests, when no session is live yet: the staging
+   * files left by the sessions of a previous run can no longer be finalized nor expired, so
+   * they are deleted.</p>
+   */
+  @PostConstruct
+  public void discardLeftoverStaging() {
+    try {
+      for (Path stagingPath : videoStorage.listStaging()) {
+        videoStorage.discard(stagingPath);
+      }
+    } catch (IOException err) {
+      LOGGER.warn("Could not discard the staging files of a previous run: {}",
+          err.getMessage());
+    }
+  }
+
+  /** createSession method.*/
+  public UploadSession createSession(Long deliveryId, UploadSessionDto uploadSession) {
+    String fileName = uploadSession.getFileName();
+    VideoNameMiddleware.isValidName(fileName);
+
+    Long size = uploadSession.getSize();
+    if (size == null || size <= 0) {
+      throw new WrongInputDataException(invalidSize);
+    }
+    if (size > maxUploadSize.toBytes()) {
+      throw new PayloadTooLargeException(videoTooLarge);
+    }
+    if (deliveryService.existsVideoByName(fileName)) {
+      throw new ConflictWithInputDataException(videoAlreadyExists);
+    }
+    deliveryService.getDeliveryById(deliveryId);
+
+    String id = UUID.randomUUID().toString();
+    try {
+      UploadSession session = new UploadSession(id, deliveryId, fileName, size,
+          videoStorage.createStaging(id));
+      sessions.put(id, session);
+      return session;
+    } catch (IOException err) {
+      throw new WrongInputDataException(stagingError);
+    }
+  }
+
+  /** getSession method.*/
+  public UploadSession getSession(String sessionId) {
+    UploadSession session = sessions.get(sessionId);
+    if (session != null) {
+      return session;
+    } else {
+      throw new InputNotFoundException(sessionNotFound);
+    }
+  }
+
+  /** writeChunk method.*/
+  public UploadSession writeChunk(String sessionId, long offset, InputStream inputStream) {
+    UploadSession session = getSession(sessionId);
+    if (offset < 0 || offset >= session.getSize()) {
+      throw new WrongInputDataException(invalidOffset);
+    }
+    if (!session.startWrite()) {
+      throw new ConflictWithInputDataException(sessionClosed);
+    }
+
+    try {
+      long written = videoStorage.writeAt(session.getStagingPath(), offset, inputStream,
+          session.getSize() - offset);
+      session.addReceivedRange(offset, offset + written);
+      metricsService.recordUpload("session", written);
+      return session;
+    } catch (IOException err) {
+      throw new WrongInputDataException(stagingError);
+    } finally {
+      session.endWrite();
+    }
+  }
+
+  /**
+   * finalizeSession method.
+   *
+   * <p>The session is closed, not removed, while its file is stored, so a late chunk gets a
+   * conflict instead of writing into a file being read. Whatever the outcome, the session and
+   * its staging file are gone afterwards.</p>
+   */
+  public Delivery finalizeSession(String sessionId) throws IOException {
+    UploadSession session = getSession(sessionId);
+    if (!session.isComplete()) {
+      throw new ConflictWithInputDataException(sessionIncomplete);
+    }
+    close(session);
+
+    try {
+      StoredBlob storedBlob;
+      Timer.Sample sample = metricsService.startTimer();
+      try {
+        storedBlob = videoStorage.promoteBlob(session.getStagingPath());
+      } finally {
+        metricsService.stopStorageTimer(sample, "promote");
+      }
+      Video newVideo = DeliveryService.toVideo(session.getFileName(), storedBlob);
+      return deliveryService.addVideo(session.getDeliveryId(), newVideo);
+    } finally {
+      sessions.remove(sessionId, session);
+      videoStorage.discard(session.getStagingPath());
+    }
+  }
+
+  /** abortSession method.*/
+  public String abortSession(String sessionId) throws IOException {
+    UploadSession session = getSession(sessionId);
+    close(session);
+
+    sessions.remove(sessionId, session);
+    videoStorage.discard(session.getStagingPath());
+    return sessionId;
+  }
+
+  /** expireIdleSessions method, drops the sessions idle for longer than the TTL.*/
+  @Scheduled(fixedDelayString = "${drone-feeder.videos.upload-session-sweep-delay:60000}")
+  public void expireIdleSessions() {
+    Instant idleSince = Instant.now().minus(sessionTtl);
+    for (UploadSession session : sessions.values()) {
+      if (!session.closeIfIdleSince(idleSince)) {
+        continue;
+      }
+      sessions.remove(session.getId(), session);
+      try {
+        videoStorage.discard(session.getStagingPath());
+      } catch (IOException err) {
+        LOGGER.warn("Could not discard the upload session {}: {}", session.getId(),
+            err.getMessage());
+      }
+    }
+  }
+
+  private void close(UploadSession session) {
+    if (!session.close()) {
+      throw new ConflictWithInputDataException(session.isClosed() ? sessionClosed
+          : sessionBusy);
+    }
+  }
+
+}
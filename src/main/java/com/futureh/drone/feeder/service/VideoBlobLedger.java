@@ -0,0 +1,128 @@
+package com.futureh.drone.feeder.service;
+
+import com.futureh.drone.feeder.model.VideoBlob;
+import com.futureh.drone.feeder.repository.VideoBlobRepository;
+import com.futureh.drone.feeder.storage.BlobPins;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * VideoBlobLedger class.
+ *
+ * <p>The blob pins of every replica, kept in the {@code video_blob} table. Each change takes
+ * the blob's row with {@code SELECT ... FOR UPDATE} in a transaction of its own, so a pin is
+ * committed before the upload checks the blob, and a removal checks the pins and the video
+ * rows and removes the blob while holding that row. Pins of an instance that stopped before
+ * releasing them expire after {@code drone-feeder.videos.blob-pin-lease}.</p>
+ */
+@Service
+public class VideoBlobLedger implements BlobPins {
+
+  private static final int LOCK_ATTEMPTS = 3;
+
+  @Value("${drone-feeder.videos.blob-pin-lease:1d}")
+  private Duration pinLease = Duration.ofDays(1);
+
+  @Autowired
+  private VideoBlobRepository videoBlobRepository;
+
+  private final TransactionTemplate requiresNew;
+
+  /** VideoBlobLedger constructor method. */
+  @Autowired
+  public VideoBlobLedger(PlatformTransactionManager transactionManager) {
+    requiresNew = new TransactionTemplate(transactionManager);
+    requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  @Override
+  public void pin(String checksum) {
+    Instant until = Instant.now().plus(pinLease);
+    withLockedBlob(checksum, blob -> {
+      blob.pin(until);
+      return true;
+    });
+  }
+
+  @Override
+  public void unpin(String checksum) {
+    withLockedBlob(checksum, blob -> {
+      blob.unpin();
+      return true;
+    });
+  }
+
+  /**
+   * removeUnpinned method.
+   *
+   * <p>The ledger row goes with the blob. If removing the blob fails, the transaction rolls
+   * back and the row stays.</p>
+   */
+  @Override
+  public boolean removeUnpinned(String checksum, BooleanSupplier referenced,
+      BlobRemoval removal) throws IOException {
+    try {
+      return withLockedBlob(checksum, blob -> {
+        if (blob.isPinned(Instant.now()) || referenced.getAsBoolean()) {
+          return false;
+        }
+        try {
+          boolean removed = removal.remove();
+          videoBlobRepository.delete(blob);
+          return removed;
+        } catch (IOException err) {
+          throw new UncheckedIOException(err);
+        }
+      });
+    } catch (UncheckedIOException err) {
+      throw err.getCause();
+    }
+  }
+
+  /** The row may be removed between its creation and the lock, then both are retried. */
+  private boolean withLockedBlob(String checksum, LockedBlobAction action) {
+    for (int attempt = 1; attempt <= LOCK_ATTEMPTS; attempt++) {
+      createIfAbsent(checksum);
+      Optional<Boolean> result = requiresNew.execute(status -> videoBlobRepository
+          .findForUpdate(checksum).map(action::apply));
+      if (result.isPresent()) {
+        return result.get();
+      }
+    }
+    throw new IllegalStateException("Could not lock the video blob " + checksum + ".");
+  }
+
+  private void createIfAbsent(String checksum) {
+    try {
+      requiresNew.executeWithoutResult(status -> {
+        if (!videoBlobRepository.existsById(checksum)) {
+          videoBlobRepository.saveAndFlush(new VideoBlob(checksum));
+        }
+      });
+    } catch (DataIntegrityViolationException err) {
+      // Created at the same time by another upload of the same content.
+    }
+  }
+
+  /**
+   * LockedBlobAction interface.
+   */
+  @FunctionalInterface
+  private interface LockedBlobAction {
+
+    boolean apply(VideoBlob blob);
+
+  }
+
+}
@@ -0,0 +1,156 @@
+package com.futureh.drone.feeder.service;
+
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.repository.VideoRepository;
+import com.futureh.drone.feeder.storage.VideoStorage;
+import com.futureh.drone.feeder.util.VideoInspector;
+import com.futureh.drone.feeder.util.VideoInspector.VideoMetadata;
+import com.futureh.drone.feeder.util.VideoProcessingStatus;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * VideoProcessingService class.
+ *
+ * <p>Inspects stored videos off the request thread: a fixed number of workers take video ids
+ * from a bounded queue, compute the checksum, duration and resolution and store them on the
+ * video. A checksum recorded at upload must match the content, otherwise the video fails. A
+ * full queue never blocks the caller; the video stays {@code PENDING} and the periodic sweep
+ * queues it again once there is room.</p>
+ */
+@Service
+public class VideoProcessingService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(VideoProcessingService.class);
+
+  @Value("${drone-feeder.videos.processing.workers:2}")
+  private int workers = 2;
+
+  @Value("${drone-feeder.videos.processing.queue-capacity:100}")
+  private int queueCapacity = 100;
+
+  @Autowired
+  private VideoRepository videoRepository;
+
+  @Autowired
+  private VideoStorage videoStorage;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private ThreadPoolExecutor executor;
+  private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+  /** start method.*/
+  @PostConstruct
+  public void start() {
+    AtomicInteger threads = new AtomicInteger();
+    executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<Runnable>(queueCapacity), runnable -> {
+          Thread thread = new Thread(runnable, "video-processing-" + threads.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /** stop method.*/
+  @PreDestroy
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * submit method.
+   *
+   * <p>Queues the video for processing and returns at once. Returns false when the queue is
+   * full; a video already queued is not queued twice.</p>
+   */
+  public boolean submit(Long videoId) {
+    if (!queued.add(videoId)) {
+      return true;
+    }
+    try {
+      executor.execute(() -> {
+        try {
+          process(videoId);
+        } finally {
+          queued.remove(videoId);
+        }
+      });
+      return true;
+    } catch (RejectedExecutionException e) {
+      queued.remove(videoId);
+      return false;
+    }
+  }
+
+  /** requeuePending method, fills the free queue slots with videos still pending.*/
+  @Scheduled(fixedDelayString = "${drone-feeder.videos.processing.retry-delay:60000}")
+  public void requeuePending() {
+    int room = executor.getQueue().remainingCapacity();
+    if (room == 0) {
+      return;
+    }
+    for (Long videoId : videoRepository.findIdsByProcessingStatus(VideoProcessingStatus.PENDING,
+        PageRequest.of(0, room))) {
+      if (!submit(videoId)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * process method, inspects one video on the calling thread.
+   *
+   * <p>Any error fails the video, an unexpected one too: left {@code PENDING}, the video would
+   * be queued again by every sweep and fail the same way forever.</p>
+   */
+  public void process(Long videoId) {
+    Video video = videoRepository.findById(videoId).orElse(null);
+    if (video == null || video.getProcessingStatus() != VideoProcessingStatus.PENDING) {
+      return;
+    }
+
+    try {
+      VideoMetadata metadata = videoStorage.read(video.getFileName(), video.getChecksum(),
+          VideoInspector::inspect);
+      if (video.getChecksum() != null && !video.getChecksum().equals(metadata.getChecksum())) {
+        throw new IOException("The video content doesn't match its checksum.");
+      }
+      transactionTemplate.executeWithoutResult(status -> videoRepository.updateProcessing(
+          videoId, VideoProcessingStatus.READY, metadata.getChecksum(),
+          metadata.getDurationInMs(), metadata.getWidth(), metadata.getHeight(),
+          Instant.now()));
+    } catch (IOException err) {
+      LOGGER.warn("Could not process the video {}: {}", video.getFileName(), err.getMessage());
+      fail(video);
+    } catch (RuntimeException err) {
+      LOGGER.error("Could not process the video {}", video.getFileName(), err);
+      fail(video);
+    }
+  }
+
+  private void fail(Video video) {
+    transactionTemplate.executeWithoutResult(status -> videoRepository.updateProcessing(
+        video.getId(), VideoProcessingStatus.FAILED, video.getChecksum(), null, null, null,
+        Instant.now()));
+  }
+
+}
@@ -0,0 +1,301 @@
+package com.futureh.drone.feeder.storage;
+
+import com.futureh.drone.feeder.exception.PayloadTooLargeException;
+import com.futureh.drone.feeder.util.VideoInspector;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+
+/**
+ * AbstractVideoStorage class.
+ *
+ * <p>What every backend shares; a backend only stores, finds, opens and removes objects by
+ * key. Videos stored by name use the key derived from the standard video name
+ * (DRON-yyyy-MM-dd-HHmmss.mp4), {@code DRON/yyyy-MM-dd/<name>}, and older ones the bare name.
+ * Uploads are stored by content: the SHA-256 is computed while the upload streams to a local
+ * temporary file and the blob key is {@code .blobs/ab/<sha-256>}. Content that is already
+ * stored is not kept a second time. A blob is referenced by every video row with its checksum
+ * and, until that row is committed, by the upload that stored it (a pin), so it is only
+ * removed once neither exists. The pins are kept by {@link BlobPins}: in memory for a
+ * storage used on its own, in the database shared by every replica in the application.
+ * Resumable upload sessions are staged on the local work directory whatever the backend.</p>
+ */
+public abstract class AbstractVideoStorage implements VideoStorage {
+
+  private static final int STANDARD_NAME_LENGTH = 26;
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String STAGING_DIRECTORY = ".sessions";
+  private static final String STAGING_SUFFIX = ".part";
+  private static final String BLOB_DIRECTORY = ".blobs";
+  private static final String INCOMING_DIRECTORY = ".incoming";
+
+  protected static final String TEMPORARY_SUFFIX = ".upload";
+
+  String videoTooLarge = "The video exceeded the upload size limit.";
+  String chunkTooLarge = "The chunk goes beyond the declared video size.";
+
+  protected final Path workDirectory;
+  private BlobPins blobPins = new InMemoryBlobPins();
+
+  protected AbstractVideoStorage(Path workDirectory) {
+    this.workDirectory = workDirectory;
+  }
+
+  /** setBlobPins method, where the pins and the blob locks are kept.*/
+  @Autowired(required = false)
+  public void setBlobPins(BlobPins blobPins) {
+    this.blobPins = blobPins;
+  }
+
+  /** key method, where a video stored by name is kept.*/
+  public static String key(String videoName) {
+    if (videoName.length() != STANDARD_NAME_LENGTH) {
+      return videoName;
+    }
+
+    String droneName = videoName.substring(0, 4);
+    String date = videoName.substring(5, 15);
+    return droneName + "/" + date + "/" + videoName;
+  }
+
+  /** blobKey method.*/
+  public static String blobKey(String checksum) {
+    return BLOB_DIRECTORY + "/" + checksum.substring(0, 2) + "/" + checksum;
+  }
+
+  protected abstract boolean contains(String key) throws IOException;
+
+  /** Stores the temporary file under the key; the file is consumed. */
+  protected abstract void put(Path temporaryPath, String key) throws IOException;
+
+  /** The object as a resource, or null when it isn't stored. */
+  protected abstract Resource open(String key) throws IOException;
+
+  protected abstract <T> T readKey(String key, VideoFileReader<T> reader) throws IOException;
+
+  protected abstract boolean remove(String key) throws IOException;
+
+  /** A temporary file for content that will be put under {@code key}, null for a blob. */
+  protected Path createTemporaryFile(String key) throws IOException {
+    Path incomingDirectory = workDirectory.resolve(BLOB_DIRECTORY).resolve(INCOMING_DIRECTORY);
+    Files.createDirectories(incomingDirectory);
+    return Files.createTempFile(incomingDirectory, "blob", TEMPORARY_SUFFIX);
+  }
+
+  /** Key of a stored video: its blob first, then its name and then the legacy bare name. */
+  protected String locateKey(String videoName, String checksum) throws IOException {
+    if (checksum != null && contains(blobKey(checksum))) {
+      return blobKey(checksum);
+    }
+    if (videoName == null) {
+      return null;
+    }
+
+    String key = key(videoName);
+    if (contains(key)) {
+      return key;
+    }
+    if (!key.equals(videoName) && contains(videoName)) {
+      return videoName;
+    }
+    return null;
+  }
+
+  /**
+   * save method.
+   *
+   * <p>Streams the content in one pass through a fixed-size buffer into a temporary file, then
+   * stores it under the video name. Fails with PayloadTooLargeException as soon as more than
+   * {@code maxBytes} have been read.</p>
+   */
+  @Override
+  public long save(String videoName, InputStream inputStream, long maxBytes) throws IOException {
+    String key = key(videoName);
+    Path temporaryPath = createTemporaryFile(key);
+    long written = spool(inputStream, temporaryPath, maxBytes, null);
+    try {
+      put(temporaryPath, key);
+    } catch (IOException | RuntimeException err) {
+      Files.deleteIfExists(temporaryPath);
+      throw err;
+    }
+    return written;
+  }
+
+  @Override
+  public StoredBlob saveBlob(InputStream inputStream, long maxBytes) throws IOException {
+    Path temporaryPath = createTemporaryFile(null);
+    MessageDigest digest = VideoInspector.newDigest();
+    long written = spool(inputStream, temporaryPath, maxBytes, digest);
+    return placeBlob(temporaryPath, VideoInspector.toHex(digest.digest()), written);
+  }
+
+  @Override
+  public StoredBlob promoteBlob(Path stagingPath) throws IOException {
+    return placeBlob(stagingPath, VideoInspector.checksum(stagingPath), Files.size(stagingPath));
+  }
+
+  private long spool(InputStream inputStream, Path temporaryPath, long maxBytes,
+      MessageDigest digest) throws IOException {
+    long written = 0;
+    try (OutputStream outputStream = Files.newOutputStream(temporaryPath)) {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        written += read;
+        if (written > maxBytes) {
+          throw new PayloadTooLargeException(videoTooLarge);
+        }
+        if (digest != null) {
+          digest.update(buffer, 0, read);
+        }
+        outputStream.write(buffer, 0, read);
+      }
+    } catch (IOException | RuntimeException err) {
+      Files.deleteIfExists(temporaryPath);
+      throw err;
+    }
+    return written;
+  }
+
+  /**
+   * The blob is pinned before the existence check. On any failure, of the pin itself too, the
+   * pin that was taken is dropped and the temporary file deleted.
+   */
+  private StoredBlob placeBlob(Path temporaryPath, String checksum, long size)
+      throws IOException {
+    String key = blobKey(checksum);
+    boolean pinned = false;
+    try {
+      blobPins.pin(checksum);
+      pinned = true;
+      boolean deduplicated = contains(key);
+      if (deduplicated) {
+        Files.delete(temporaryPath);
+      } else {
+        put(temporaryPath, key);
+      }
+      return new StoredBlob(checksum, size, deduplicated);
+    } catch (IOException | RuntimeException err) {
+      Files.deleteIfExists(temporaryPath);
+      if (pinned) {
+        blobPins.unpin(checksum);
+      }
+      throw err;
+    }
+  }
+
+  @Override
+  public void unpin(String checksum) {
+    blobPins.unpin(checksum);
+  }
+
+  /**
+   * deleteBlob method.
+   *
+   * <p>Pins and references are checked under the blob's lock (see BlobPins).</p>
+   */
+  @Override
+  public boolean deleteBlob(String checksum, BooleanSupplier referenced) throws IOException {
+    return blobPins.removeUnpinned(checksum, referenced, () -> remove(blobKey(checksum)));
+  }
+
+  @Override
+  public boolean exists(String videoName, String checksum) throws IOException {
+    return locateKey(videoName, checksum) != null;
+  }
+
+  @Override
+  public Resource load(String videoName, String checksum) throws IOException {
+    String key = locateKey(videoName, checksum);
+    return key == null ? null : open(key);
+  }
+
+  @Override
+  public Resource load(String videoName) throws IOException {
+    return load(videoName, null);
+  }
+
+  @Override
+  public <T> T read(String videoName, String checksum, VideoFileReader<T> reader)
+      throws IOException {
+    String key = locateKey(videoName, checksum);
+    if (key == null) {
+      throw new NoSuchFileException(videoName);
+    }
+    return readKey(key, reader);
+  }
+
+  @Override
+  public boolean delete(String videoName) throws IOException {
+    String key = locateKey(videoName, null);
+    return key != null && remove(key);
+  }
+
+  @Override
+  public Path createStaging(String sessionId) throws IOException {
+    Path stagingPath = workDirectory.resolve(STAGING_DIRECTORY)
+        .resolve(sessionId + STAGING_SUFFIX);
+    Files.createDirectories(stagingPath.getParent());
+    Files.createFile(stagingPath);
+    return stagingPath;
+  }
+
+  /**
+   * writeAt method.
+   *
+   * <p>Reads at most {@code maxBytes} and fails with PayloadTooLargeException if the chunk is
+   * longer than that.</p>
+   */
+  @Override
+  public long writeAt(Path stagingPath, long position, InputStream inputStream, long maxBytes)
+      throws IOException {
+    long written = 0;
+    try (FileChannel channel = FileChannel.open(stagingPath, StandardOpenOption.WRITE)) {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        if (written + read > maxBytes) {
+          throw new PayloadTooLargeException(chunkTooLarge);
+        }
+        byteBuffer.clear().limit(read);
+        while (byteBuffer.hasRemaining()) {
+          written += channel.write(byteBuffer, position + written);
+        }
+      }
+    }
+    return written;
+  }
+
+  @Override
+  public void discard(Path stagingPath) throws IOException {
+    Files.deleteIfExists(stagingPath);
+  }
+
+  @Override
+  public List<Path> listStaging() throws IOException {
+    Path stagingDirectory = workDirectory.resolve(STAGING_DIRECTORY);
+    if (!Files.isDirectory(stagingDirectory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(stagingDirectory)) {
+      return files.filter(path -> path.getFileName().toString().endsWith(STAGING_SUFFIX))
+          .collect(Collectors.toList());
+    }
+  }
+
+}
@@ -0,0 +1,42 @@
+package com.futureh.drone.feeder.storage;
+
+import java.io.IOException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * BlobPins interface.
+ *
+ * <p>Keeps the pins that uploads hold on the blobs they stored, until the video row that
+ * references the blob is committed, and the lock each blob is removed under. An upload pins
+ * the blob before it checks whether the blob is already stored, and a blob is removed only
+ * while holding its lock, with no pin and no reference. So an upload of the same content
+ * either sees the blob gone and stores it again or pins it before the check.</p>
+ */
+public interface BlobPins {
+
+  /** pin method, holds the blob until {@link #unpin(String)}.*/
+  void pin(String checksum);
+
+  /** unpin method.*/
+  void unpin(String checksum);
+
+  /**
+   * removeUnpinned method.
+   *
+   * <p>Runs {@code removal} under the blob's lock unless the blob is pinned or
+   * {@code referenced} is true, also checked under the lock.</p>
+   */
+  boolean removeUnpinned(String checksum, BooleanSupplier referenced, BlobRemoval removal)
+      throws IOException;
+
+  /**
+   * BlobRemoval interface.
+   */
+  @FunctionalInterface
+  interface BlobRemoval {
+
+    boolean remove() throws IOException;
+
+  }
+
+}
@@ -0,0 +1,58 @@
+package com.futureh.drone.feeder.storage;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * InMemoryBlobPins class.
+ *
+ * <p>Pins counted in memory under striped locks. They only cover uploads of this instance,
+ * so a storage uses them only until the application hands it the database ledger that every
+ * replica shares (see VideoBlobLedger).</p>
+ */
+public class InMemoryBlobPins implements BlobPins {
+
+  private static final int BLOB_LOCKS = 64;
+
+  private final Object[] blobLocks = new Object[BLOB_LOCKS];
+  private final Map<String, Integer> pins = new ConcurrentHashMap<String, Integer>();
+
+  /** InMemoryBlobPins constructor method. */
+  public InMemoryBlobPins() {
+    for (int i = 0; i < BLOB_LOCKS; i++) {
+      blobLocks[i] = new Object();
+    }
+  }
+
+  @Override
+  public void pin(String checksum) {
+    synchronized (blobLock(checksum)) {
+      pins.merge(checksum, 1, Integer::sum);
+    }
+  }
+
+  @Override
+  public void unpin(String checksum) {
+    synchronized (blobLock(checksum)) {
+      pins.computeIfPresent(checksum, (key, count) -> count == 1 ? null : count - 1);
+    }
+  }
+
+  @Override
+  public boolean removeUnpinned(String checksum, BooleanSupplier referenced,
+      BlobRemoval removal) throws IOException {
+    synchronized (blobLock(checksum)) {
+      if (pins.containsKey(checksum) || referenced.getAsBoolean()) {
+        return false;
+      }
+      return removal.remove();
+    }
+  }
+
+  private Object blobLock(String checksum) {
+    return blobLocks[Math.floorMod(checksum.hashCode(), BLOB_LOCKS)];
+  }
+
+}
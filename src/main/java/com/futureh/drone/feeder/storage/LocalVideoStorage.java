@@ -0,0 +1,88 @@
+package com.futureh.drone.feeder.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * LocalVideoStorage class.
+ *
+ * <p>Keeps the videos under {@code drone-feeder.videos.directory}, each key being a path
+ * relative to it, so every lookup is a direct path resolution instead of a directory scan.
+ * Content is written to a temporary file next to its final location and moved into place
+ * atomically.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "drone-feeder.videos.storage", havingValue = "local",
+    matchIfMissing = true)
+public class LocalVideoStorage extends AbstractVideoStorage {
+
+  /** LocalVideoStorage constructor method. */
+  public LocalVideoStorage(
+      @Value("${drone-feeder.videos.directory:videos-uploads}") String directory) {
+    super(Paths.get(directory));
+  }
+
+  /** resolve method.*/
+  public Path resolve(String videoName) {
+    return workDirectory.resolve(key(videoName));
+  }
+
+  /** resolveBlob method.*/
+  public Path resolveBlob(String checksum) {
+    return workDirectory.resolve(blobKey(checksum));
+  }
+
+  /** locate method.*/
+  public Path locate(String videoName) throws IOException {
+    String key = locateKey(videoName, null);
+    return key == null ? null : workDirectory.resolve(key);
+  }
+
+  @Override
+  protected boolean contains(String key) {
+    return Files.isRegularFile(workDirectory.resolve(key));
+  }
+
+  @Override
+  protected Path createTemporaryFile(String key) throws IOException {
+    if (key == null) {
+      return super.createTemporaryFile(null);
+    }
+
+    Path videoPath = workDirectory.resolve(key);
+    Files.createDirectories(videoPath.getParent());
+    return videoPath.resolveSibling(videoPath.getFileName() + TEMPORARY_SUFFIX);
+  }
+
+  @Override
+  protected void put(Path temporaryPath, String key) throws IOException {
+    Path videoPath = workDirectory.resolve(key);
+    Files.createDirectories(videoPath.getParent());
+    Files.move(temporaryPath, videoPath, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  @Override
+  protected Resource open(String key) throws IOException {
+    return new UrlResource(workDirectory.resolve(key).toUri());
+  }
+
+  @Override
+  protected <T> T readKey(String key, VideoFileReader<T> reader) throws IOException {
+    return reader.read(workDirectory.resolve(key));
+  }
+
+  @Override
+  protected boolean remove(String key) throws IOException {
+    return Files.deleteIfExists(workDirectory.resolve(key));
+  }
+
+}
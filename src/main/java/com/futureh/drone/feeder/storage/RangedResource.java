@@ -0,0 +1,16 @@
+package com.futureh.drone.feeder.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.core.io.Resource;
+
+/**
+ * RangedResource interface.
+ *
+ * <p>A resource that can read a byte range without reading what comes before it.</p>
+ */
+public interface RangedResource extends Resource {
+
+  InputStream getInputStream(long start, long length) throws IOException;
+
+}
@@ -0,0 +1,78 @@
+package com.futureh.drone.feeder.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.core.io.AbstractResource;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+
+/**
+ * S3VideoResource class.
+ *
+ * <p>An object in the video bucket. Size and modification time come from the HEAD request
+ * that found it; the content is only fetched when read, and a byte range with a ranged GET.</p>
+ */
+public class S3VideoResource extends AbstractResource implements RangedResource {
+
+  private final S3Client s3Client;
+  private final String bucket;
+  private final String objectKey;
+  private final long contentLength;
+  private final long lastModified;
+
+  /** S3VideoResource constructor method. */
+  public S3VideoResource(S3Client s3Client, String bucket, String objectKey, long contentLength,
+      long lastModified) {
+    this.s3Client = s3Client;
+    this.bucket = bucket;
+    this.objectKey = objectKey;
+    this.contentLength = contentLength;
+    this.lastModified = lastModified;
+  }
+
+  @Override
+  public String getDescription() {
+    return "s3://" + bucket + "/" + objectKey;
+  }
+
+  @Override
+  public String getFilename() {
+    return objectKey.substring(objectKey.lastIndexOf('/') + 1);
+  }
+
+  @Override
+  public boolean exists() {
+    return true;
+  }
+
+  @Override
+  public long contentLength() {
+    return contentLength;
+  }
+
+  @Override
+  public long lastModified() {
+    return lastModified;
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    return get(GetObjectRequest.builder().bucket(bucket).key(objectKey).build());
+  }
+
+  @Override
+  public InputStream getInputStream(long start, long length) throws IOException {
+    return get(GetObjectRequest.builder().bucket(bucket).key(objectKey)
+        .range("bytes=" + start + "-" + (start + length - 1)).build());
+  }
+
+  private InputStream get(GetObjectRequest request) throws IOException {
+    try {
+      return s3Client.getObject(request);
+    } catch (SdkException err) {
+      throw new IOException("Could not read " + getDescription() + ".", err);
+    }
+  }
+
+}
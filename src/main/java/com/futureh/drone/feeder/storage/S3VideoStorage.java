@@ -0,0 +1,182 @@
+package com.futureh.drone.feeder.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+/**
+ * S3VideoStorage class.
+ *
+ * <p>Keeps the videos in a bucket of an S3-compatible object store (AWS S3, MinIO...), each
+ * key under {@code drone-feeder.videos.s3.prefix}, so every replica of the application sees
+ * the same videos. Uploads are still spooled to the local work directory first: the checksum
+ * is known before anything is sent and the object is put with its exact length.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "drone-feeder.videos.storage", havingValue = "s3")
+public class S3VideoStorage extends AbstractVideoStorage {
+
+  private static final String VIDEO_CONTENT_TYPE = "video/mp4";
+  private static final int NOT_FOUND = 404;
+
+  private final S3Client s3Client;
+  private final String bucket;
+  private final String prefix;
+
+  /** S3VideoStorage constructor method, from the application properties. */
+  @Autowired
+  public S3VideoStorage(
+      @Value("${drone-feeder.videos.directory:videos-uploads}") String directory,
+      @Value("${drone-feeder.videos.s3.endpoint:}") String endpoint,
+      @Value("${drone-feeder.videos.s3.region:us-east-1}") String region,
+      @Value("${drone-feeder.videos.s3.bucket}") String bucket,
+      @Value("${drone-feeder.videos.s3.prefix:}") String prefix,
+      @Value("${drone-feeder.videos.s3.access-key:}") String accessKey,
+      @Value("${drone-feeder.videos.s3.secret-key:}") String secretKey,
+      @Value("${drone-feeder.videos.s3.path-style-access:true}") boolean pathStyleAccess) {
+    this(directory, createClient(endpoint, region, accessKey, secretKey, pathStyleAccess),
+        bucket, prefix);
+  }
+
+  /** S3VideoStorage constructor method. */
+  public S3VideoStorage(String directory, S3Client s3Client, String bucket, String prefix) {
+    super(Paths.get(directory));
+    this.s3Client = s3Client;
+    this.bucket = bucket;
+    this.prefix = prefix == null || prefix.isEmpty() ? "" : prefix.replaceAll("/+$", "") + "/";
+  }
+
+  /** createClient method.*/
+  public static S3Client createClient(String endpoint, String region, String accessKey,
+      String secretKey, boolean pathStyleAccess) {
+    S3ClientBuilder builder = S3Client.builder()
+        .region(Region.of(region))
+        .serviceConfiguration(S3Configuration.builder()
+            .pathStyleAccessEnabled(pathStyleAccess)
+            .build());
+    if (endpoint != null && !endpoint.isEmpty()) {
+      builder.endpointOverride(URI.create(endpoint));
+    }
+    if (accessKey != null && !accessKey.isEmpty()) {
+      builder.credentialsProvider(StaticCredentialsProvider.create(
+          AwsBasicCredentials.create(accessKey, secretKey)));
+    } else {
+      builder.credentialsProvider(DefaultCredentialsProvider.create());
+    }
+    return builder.build();
+  }
+
+  /** close method.*/
+  @PreDestroy
+  public void close() {
+    s3Client.close();
+  }
+
+  private String objectKey(String key) {
+    return prefix + key;
+  }
+
+  private HeadObjectResponse head(String key) throws IOException {
+    try {
+      return s3Client.headObject(HeadObjectRequest.builder().bucket(bucket)
+          .key(objectKey(key)).build());
+    } catch (NoSuchKeyException err) {
+      return null;
+    } catch (S3Exception err) {
+      if (err.statusCode() == NOT_FOUND) {
+        return null;
+      }
+      throw new IOException("Could not look up " + objectKey(key) + ".", err);
+    } catch (SdkException err) {
+      throw new IOException("Could not look up " + objectKey(key) + ".", err);
+    }
+  }
+
+  @Override
+  protected boolean contains(String key) throws IOException {
+    return head(key) != null;
+  }
+
+  @Override
+  protected void put(Path temporaryPath, String key) throws IOException {
+    try {
+      s3Client.putObject(PutObjectRequest.builder().bucket(bucket).key(objectKey(key))
+          .contentType(VIDEO_CONTENT_TYPE).build(), RequestBody.fromFile(temporaryPath));
+    } catch (SdkException err) {
+      throw new IOException("Could not store " + objectKey(key) + ".", err);
+    } finally {
+      Files.deleteIfExists(temporaryPath);
+    }
+  }
+
+  @Override
+  protected Resource open(String key) throws IOException {
+    HeadObjectResponse object = head(key);
+    if (object == null) {
+      return null;
+    }
+    long lastModified = object.lastModified() == null ? 0 : object.lastModified().toEpochMilli();
+    return new S3VideoResource(s3Client, bucket, objectKey(key), object.contentLength(),
+        lastModified);
+  }
+
+  @Override
+  protected <T> T readKey(String key, VideoFileReader<T> reader) throws IOException {
+    Path temporaryPath = createTemporaryFile(null);
+    try {
+      try (InputStream inputStream = s3Client.getObject(GetObjectRequest.builder()
+          .bucket(bucket).key(objectKey(key)).build())) {
+        Files.copy(inputStream, temporaryPath, StandardCopyOption.REPLACE_EXISTING);
+      } catch (NoSuchKeyException err) {
+        throw new NoSuchFileException(objectKey(key));
+      } catch (SdkException err) {
+        throw new IOException("Could not read " + objectKey(key) + ".", err);
+      }
+      return reader.read(temporaryPath);
+    } finally {
+      Files.deleteIfExists(temporaryPath);
+    }
+  }
+
+  @Override
+  protected boolean remove(String key) throws IOException {
+    if (!contains(key)) {
+      return false;
+    }
+    try {
+      s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(objectKey(key))
+          .build());
+      return true;
+    } catch (SdkException err) {
+      throw new IOException("Could not delete " + objectKey(key) + ".", err);
+    }
+  }
+
+}
@@ -0,0 +1,34 @@
+package com.futureh.drone.feeder.storage;
+
+/**
+ * StoredBlob class.
+ *
+ * <p>Outcome of storing video content by its SHA-256: the checksum that addresses the blob,
+ * the content size and whether an identical blob was already stored.</p>
+ */
+public class StoredBlob {
+
+  private final String checksum;
+  private final long size;
+  private final boolean deduplicated;
+
+  /** StoredBlob constructor method. */
+  public StoredBlob(String checksum, long size, boolean deduplicated) {
+    this.checksum = checksum;
+    this.size = size;
+    this.deduplicated = deduplicated;
+  }
+
+  public String getChecksum() {
+    return checksum;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public boolean isDeduplicated() {
+    return deduplicated;
+  }
+
+}
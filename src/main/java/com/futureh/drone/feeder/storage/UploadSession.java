@@ -0,0 +1,142 @@
+package com.futureh.drone.feeder.storage;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * UploadSession class.
+ *
+ * <p>State of a resumable upload: the staging file its chunks are written into and the byte
+ * ranges received so far, kept merged as [start, end) intervals.</p>
+ *
+ * <p>Chunks are written between {@link #startWrite()} and {@link #endWrite()}. Closing the
+ * session, to finalize, abort or expire it, waits for no write and stops new ones, so the
+ * staging file no longer changes once it is closed.</p>
+ */
+public class UploadSession {
+
+  private final String id;
+  private final Long deliveryId;
+  private final String fileName;
+  private final long size;
+  private final Path stagingPath;
+  private final TreeMap<Long, Long> receivedRanges = new TreeMap<Long, Long>();
+  private int writesInFlight;
+  private boolean closed;
+  private Instant lastActivity = Instant.now();
+
+  /** UploadSession constructor method. */
+  public UploadSession(String id, Long deliveryId, String fileName, long size, Path stagingPath) {
+    this.id = id;
+    this.deliveryId = deliveryId;
+    this.fileName = fileName;
+    this.size = size;
+    this.stagingPath = stagingPath;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public Long getDeliveryId() {
+    return deliveryId;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public Path getStagingPath() {
+    return stagingPath;
+  }
+
+  /** addReceivedRange method.*/
+  public synchronized void addReceivedRange(long start, long end) {
+    if (end <= start) {
+      return;
+    }
+
+    Map.Entry<Long, Long> previous = receivedRanges.floorEntry(start);
+    if (previous != null && previous.getValue() >= start) {
+      start = previous.getKey();
+      end = Math.max(end, previous.getValue());
+      receivedRanges.remove(previous.getKey());
+    }
+
+    Map.Entry<Long, Long> next = receivedRanges.ceilingEntry(start);
+    while (next != null && next.getKey() <= end) {
+      end = Math.max(end, next.getValue());
+      receivedRanges.remove(next.getKey());
+      next = receivedRanges.ceilingEntry(start);
+    }
+
+    receivedRanges.put(start, end);
+  }
+
+  /** getReceivedRanges method, as inclusive "start-end" pairs like an HTTP Range header.*/
+  public synchronized List<String> getReceivedRanges() {
+    List<String> ranges = new ArrayList<String>(receivedRanges.size());
+    for (Map.Entry<Long, Long> range : receivedRanges.entrySet()) {
+      ranges.add(range.getKey() + "-" + (range.getValue() - 1));
+    }
+    return ranges;
+  }
+
+  /** getReceivedBytes method.*/
+  public synchronized long getReceivedBytes() {
+    long received = 0;
+    for (Map.Entry<Long, Long> range : receivedRanges.entrySet()) {
+      received += range.getValue() - range.getKey();
+    }
+    return received;
+  }
+
+  /** isComplete method.*/
+  public synchronized boolean isComplete() {
+    return receivedRanges.size() == 1 && receivedRanges.firstKey() == 0
+        && receivedRanges.firstEntry().getValue() == size;
+  }
+
+  /** startWrite method, false once the session is closed.*/
+  public synchronized boolean startWrite() {
+    if (closed) {
+      return false;
+    }
+    writesInFlight++;
+    lastActivity = Instant.now();
+    return true;
+  }
+
+  /** endWrite method.*/
+  public synchronized void endWrite() {
+    writesInFlight--;
+    lastActivity = Instant.now();
+  }
+
+  /** close method, false if the session is already closed or a chunk is being written.*/
+  public synchronized boolean close() {
+    if (closed || writesInFlight > 0) {
+      return false;
+    }
+    closed = true;
+    return true;
+  }
+
+  /** closeIfIdleSince method, closes the session if nothing was written since the instant.*/
+  public synchronized boolean closeIfIdleSince(Instant idleSince) {
+    return !lastActivity.isAfter(idleSince) && close();
+  }
+
+  public synchronized boolean isClosed() {
+    return closed;
+  }
+
+}
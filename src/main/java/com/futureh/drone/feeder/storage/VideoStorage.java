@@ -0,0 +1,84 @@
+package com.futureh.drone.feeder.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import org.springframework.core.io.Resource;
+
+/**
+ * VideoStorage interface.
+ *
+ * <p>Where the video files live. {@code drone-feeder.videos.storage} selects the backend:
+ * {@code local} (default) keeps them on this node's disk, {@code s3} in an S3-compatible
+ * bucket that every replica shares. Uploads are stored by content (see {@link StoredBlob});
+ * videos stored by name before that are still found by name.</p>
+ */
+public interface VideoStorage {
+
+  /** save method, stores the content under the video name.*/
+  long save(String videoName, InputStream inputStream, long maxBytes) throws IOException;
+
+  /**
+   * saveBlob method.
+   *
+   * <p>Stores the content by its SHA-256, once per distinct content. The blob is pinned until
+   * {@link #unpin(String)}. Fails with PayloadTooLargeException as soon as more than
+   * {@code maxBytes} have been read.</p>
+   */
+  StoredBlob saveBlob(InputStream inputStream, long maxBytes) throws IOException;
+
+  /** promoteBlob method, stores a completed staging file by its content like saveBlob.*/
+  StoredBlob promoteBlob(Path stagingPath) throws IOException;
+
+  /** unpin method, called once the video row referencing the blob is committed or dropped.*/
+  void unpin(String checksum);
+
+  /** deleteBlob method, unless an upload still pins it or {@code referenced} is true.*/
+  boolean deleteBlob(String checksum, BooleanSupplier referenced) throws IOException;
+
+  /** exists method, the blob of a stored checksum or the file by name.*/
+  boolean exists(String videoName, String checksum) throws IOException;
+
+  /** load method, the blob of a stored checksum first and then the file by name.*/
+  Resource load(String videoName, String checksum) throws IOException;
+
+  /** load method.*/
+  Resource load(String videoName) throws IOException;
+
+  /**
+   * read method.
+   *
+   * <p>Hands the stored video to {@code reader} as a local file, a temporary copy when the
+   * backend is remote. Fails with NoSuchFileException when the video isn't stored.</p>
+   */
+  <T> T read(String videoName, String checksum, VideoFileReader<T> reader) throws IOException;
+
+  /** delete method.*/
+  boolean delete(String videoName) throws IOException;
+
+  /** createStaging method.*/
+  Path createStaging(String sessionId) throws IOException;
+
+  /** writeAt method, positional write of one chunk into a staging file.*/
+  long writeAt(Path stagingPath, long position, InputStream inputStream, long maxBytes)
+      throws IOException;
+
+  /** discard method.*/
+  void discard(Path stagingPath) throws IOException;
+
+  /** listStaging method, the staging files in the local work directory.*/
+  List<Path> listStaging() throws IOException;
+
+  /**
+   * VideoFileReader interface.
+   */
+  @FunctionalInterface
+  interface VideoFileReader<T> {
+
+    T read(Path videoPath) throws IOException;
+
+  }
+
+}
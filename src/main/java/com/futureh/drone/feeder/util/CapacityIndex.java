@@ -0,0 +1,70 @@
+package com.futureh.drone.feeder.util;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * CapacityIndex class.
+ *
+ * <p>Drones ordered by the payload they can still take. {@code assign} gives a weight to the
+ * drone with the smallest free capacity that fits it (best fit) and files the drone again
+ * under what is left, so each assignment costs O(log n) in the number of distinct free
+ * capacities. Not thread-safe: build one per dispatch run.</p>
+ */
+public class CapacityIndex {
+
+  private final TreeMap<Float, ArrayDeque<Long>> dronesByFreeCapacity =
+      new TreeMap<Float, ArrayDeque<Long>>();
+  private final Map<Long, Float> freeCapacityByDrone = new HashMap<Long, Float>();
+
+  /** add method, ignores drones without free capacity.*/
+  public void add(Long droneId, float freeCapacityInKg) {
+    if (freeCapacityInKg <= 0 || freeCapacityByDrone.containsKey(droneId)) {
+      return;
+    }
+    file(droneId, freeCapacityInKg);
+  }
+
+  /**
+   * assign method.
+   *
+   * <p>Returns the id of the drone that takes {@code weightInKg}, or null when no drone has
+   * that much free capacity.</p>
+   */
+  public Long assign(float weightInKg) {
+    Map.Entry<Float, ArrayDeque<Long>> bestFit = dronesByFreeCapacity.ceilingEntry(weightInKg);
+    if (bestFit == null) {
+      return null;
+    }
+
+    Long droneId = bestFit.getValue().poll();
+    if (bestFit.getValue().isEmpty()) {
+      dronesByFreeCapacity.remove(bestFit.getKey());
+    }
+    freeCapacityByDrone.remove(droneId);
+
+    float freeCapacityInKg = bestFit.getKey() - weightInKg;
+    if (freeCapacityInKg > 0) {
+      file(droneId, freeCapacityInKg);
+    }
+    return droneId;
+  }
+
+  /** getFreeCapacity method, null when the drone is full or unknown.*/
+  public Float getFreeCapacity(Long droneId) {
+    return freeCapacityByDrone.get(droneId);
+  }
+
+  public int size() {
+    return freeCapacityByDrone.size();
+  }
+
+  private void file(Long droneId, float freeCapacityInKg) {
+    dronesByFreeCapacity.computeIfAbsent(freeCapacityInKg, key -> new ArrayDeque<Long>())
+        .add(droneId);
+    freeCapacityByDrone.put(droneId, freeCapacityInKg);
+  }
+
+}
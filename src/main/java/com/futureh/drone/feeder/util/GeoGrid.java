@@ -0,0 +1,352 @@
+package com.futureh.drone.feeder.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * GeoGrid class.
+ *
+ * <p>Thread-safe spatial index of delivery coordinates. Points are bucketed in a fixed grid of
+ * {@code CELL_SIZE_IN_DEGREES} cells (about 1.1 km of latitude), so a query only visits the
+ * cells its box overlaps. When a box covers more cells than there are points it scans the
+ * points instead. Boxes do not wrap around the antimeridian.</p>
+ */
+public class GeoGrid {
+
+  public static final double CELL_SIZE_IN_DEGREES = 0.01;
+  public static final double EARTH_RADIUS_IN_KM = 6371.0088;
+
+  private static final double KM_PER_DEGREE = Math.toRadians(EARTH_RADIUS_IN_KM);
+  private static final long COLUMNS = (long) Math.ceil(360 / CELL_SIZE_IN_DEGREES) + 1;
+
+  private final Map<Long, Point> pointsById = new HashMap<Long, Point>();
+  private final Map<Long, List<Point>> cells = new HashMap<Long, List<Point>>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * Point class.
+   */
+  public static class Point {
+
+    private final Long id;
+    private final double latitude;
+    private final double longitude;
+    private DeliveryStatus status;
+
+    Point(Long id, double latitude, double longitude, DeliveryStatus status) {
+      this.id = id;
+      this.latitude = latitude;
+      this.longitude = longitude;
+      this.status = status;
+    }
+
+    public Long getId() {
+      return id;
+    }
+
+    public double getLatitude() {
+      return latitude;
+    }
+
+    public double getLongitude() {
+      return longitude;
+    }
+
+    public DeliveryStatus getStatus() {
+      return status;
+    }
+
+  }
+
+  private static class Neighbor {
+
+    private final Point point;
+    private final double distance;
+
+    Neighbor(Point point, double distance) {
+      this.point = point;
+      this.distance = distance;
+    }
+
+  }
+
+  /** put method, replaces the point of {@code id}; null coordinates remove it.*/
+  public void put(Long id, Double latitude, Double longitude, DeliveryStatus status) {
+    lock.writeLock().lock();
+    try {
+      unfile(pointsById.remove(id));
+      if (latitude != null && longitude != null) {
+        Point point = new Point(id, latitude, longitude, status);
+        pointsById.put(id, point);
+        cells.computeIfAbsent(cellOf(latitude, longitude), key -> new ArrayList<Point>())
+            .add(point);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** remove method.*/
+  public void remove(Collection<Long> ids) {
+    lock.writeLock().lock();
+    try {
+      for (Long id : ids) {
+        unfile(pointsById.remove(id));
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** setStatus method.*/
+  public void setStatus(Collection<Long> ids, DeliveryStatus status) {
+    lock.writeLock().lock();
+    try {
+      for (Long id : ids) {
+        Point point = pointsById.get(id);
+        if (point != null) {
+          point.status = status;
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** replaceStatus method, moves every point in {@code from} to {@code to}.*/
+  public void replaceStatus(DeliveryStatus from, DeliveryStatus to) {
+    lock.writeLock().lock();
+    try {
+      for (Point point : pointsById.values()) {
+        if (point.status == from) {
+          point.status = to;
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** removeStatus method.*/
+  public void removeStatus(DeliveryStatus status) {
+    lock.writeLock().lock();
+    try {
+      Iterator<Point> points = pointsById.values().iterator();
+      while (points.hasNext()) {
+        Point point = points.next();
+        if (point.status == status) {
+          points.remove();
+          unfile(point);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** clear method.*/
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      pointsById.clear();
+      cells.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** size method.*/
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return pointsById.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * withinBox method.
+   *
+   * <p>Points inside the box whose status is {@code status} (any status when null), at most
+   * {@code limit} of them, in no particular order.</p>
+   */
+  public List<Point> withinBox(double minLatitude, double minLongitude, double maxLatitude,
+      double maxLongitude, DeliveryStatus status, int limit) {
+    List<Point> found = new ArrayList<Point>();
+    lock.readLock().lock();
+    try {
+      visit(minLatitude, minLongitude, maxLatitude, maxLongitude, point -> {
+        if (matches(point, status) && point.latitude >= minLatitude
+            && point.latitude <= maxLatitude && point.longitude >= minLongitude
+            && point.longitude <= maxLongitude) {
+          found.add(point);
+        }
+        return found.size() < limit;
+      });
+    } finally {
+      lock.readLock().unlock();
+    }
+    return found;
+  }
+
+  /**
+   * nearest method.
+   *
+   * <p>Up to {@code limit} points within {@code radiusInKm} great-circle distance of the
+   * center, whose status is {@code status} (any status when null), nearest first. Cells are
+   * visited in rings around the center and the scan stops once the next ring is farther than
+   * the {@code limit}-th nearest point found, kept in a bounded max-heap.</p>
+   */
+  public List<Point> nearest(double latitude, double longitude, double radiusInKm,
+      DeliveryStatus status, int limit) {
+    double latitudeDelta = radiusInKm / KM_PER_DEGREE;
+    double cosine = Math.cos(Math.toRadians(latitude));
+    double longitudeDelta = cosine < 1e-6 ? 180 : Math.min(180, latitudeDelta / cosine);
+
+    PriorityQueue<Neighbor> nearest = new PriorityQueue<Neighbor>(limit + 1,
+        Comparator.comparingDouble((Neighbor neighbor) -> neighbor.distance).reversed());
+    Predicate<Point> consider = point -> {
+      if (matches(point, status) && Math.abs(point.latitude - latitude) <= latitudeDelta
+          && Math.abs(point.longitude - longitude) <= longitudeDelta) {
+        double distance = distanceInKm(latitude, longitude, point.latitude, point.longitude);
+        if (distance <= radiusInKm
+            && (nearest.size() < limit || distance < nearest.peek().distance)) {
+          nearest.add(new Neighbor(point, distance));
+          if (nearest.size() > limit) {
+            nearest.poll();
+          }
+        }
+      }
+      return true;
+    };
+
+    long maxRing = (long) Math.ceil(Math.max(latitudeDelta, longitudeDelta)
+        / CELL_SIZE_IN_DEGREES) + 1;
+    double narrowestCosine = Math.cos(Math.toRadians(Math.min(90,
+        Math.abs(latitude) + latitudeDelta)));
+    double ringWidthInKm = CELL_SIZE_IN_DEGREES * KM_PER_DEGREE * narrowestCosine;
+
+    lock.readLock().lock();
+    try {
+      if ((2 * maxRing + 1) * (2 * maxRing + 1) > pointsById.size()) {
+        pointsById.values().forEach(consider::test);
+      } else {
+        long centerRow = row(latitude);
+        long centerColumn = column(longitude);
+        for (long ring = 0; ring <= maxRing; ring++) {
+          if (nearest.size() == limit && (ring - 1) * ringWidthInKm > nearest.peek().distance) {
+            break;
+          }
+          visitRing(centerRow, centerColumn, ring, consider);
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    Point[] found = new Point[nearest.size()];
+    for (int i = found.length - 1; i >= 0; i--) {
+      found[i] = nearest.poll().point;
+    }
+    return Arrays.asList(found);
+  }
+
+  /** distanceInKm method, haversine great-circle distance.*/
+  public static double distanceInKm(double fromLatitude, double fromLongitude,
+      double toLatitude, double toLongitude) {
+    double latitudeSine = Math.sin(Math.toRadians(toLatitude - fromLatitude) / 2);
+    double longitudeSine = Math.sin(Math.toRadians(toLongitude - fromLongitude) / 2);
+    double a = latitudeSine * latitudeSine + Math.cos(Math.toRadians(fromLatitude))
+        * Math.cos(Math.toRadians(toLatitude)) * longitudeSine * longitudeSine;
+    return 2 * EARTH_RADIUS_IN_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+  }
+
+  /** Hands the points of every cell the box overlaps to {@code visitor} until it returns false. */
+  private void visit(double minLatitude, double minLongitude, double maxLatitude,
+      double maxLongitude, Predicate<Point> visitor) {
+    long minRow = row(Math.max(-90, minLatitude));
+    long maxRow = row(Math.min(90, maxLatitude));
+    long minColumn = column(Math.max(-180, minLongitude));
+    long maxColumn = column(Math.min(180, maxLongitude));
+    if (minRow > maxRow || minColumn > maxColumn) {
+      return;
+    }
+    if ((maxRow - minRow + 1) * (maxColumn - minColumn + 1) > pointsById.size()) {
+      for (Point point : pointsById.values()) {
+        if (!visitor.test(point)) {
+          return;
+        }
+      }
+      return;
+    }
+
+    for (long row = minRow; row <= maxRow; row++) {
+      for (long column = minColumn; column <= maxColumn; column++) {
+        List<Point> cell = cells.get(row * COLUMNS + column);
+        if (cell != null) {
+          for (Point point : cell) {
+            if (!visitor.test(point)) {
+              return;
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private void visitRing(long centerRow, long centerColumn, long ring,
+      Predicate<Point> visitor) {
+    for (long row = centerRow - ring; row <= centerRow + ring; row++) {
+      boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+      long step = edgeRow || ring == 0 ? 1 : 2 * ring;
+      for (long column = centerColumn - ring; column <= centerColumn + ring; column += step) {
+        if (row >= 0 && column >= 0 && column < COLUMNS) {
+          List<Point> cell = cells.get(row * COLUMNS + column);
+          if (cell != null) {
+            cell.forEach(visitor::test);
+          }
+        }
+      }
+    }
+  }
+
+  private void unfile(Point point) {
+    if (point == null) {
+      return;
+    }
+    long cellKey = cellOf(point.latitude, point.longitude);
+    List<Point> cell = cells.get(cellKey);
+    cell.remove(point);
+    if (cell.isEmpty()) {
+      cells.remove(cellKey);
+    }
+  }
+
+  private static boolean matches(Point point, DeliveryStatus status) {
+    return status == null || point.status == status;
+  }
+
+  private static long cellOf(double latitude, double longitude) {
+    return row(latitude) * COLUMNS + column(longitude);
+  }
+
+  private static long row(double latitude) {
+    return (long) Math.floor((latitude + 90) / CELL_SIZE_IN_DEGREES);
+  }
+
+  private static long column(double longitude) {
+    return (long) Math.floor((longitude + 180) / CELL_SIZE_IN_DEGREES);
+  }
+
+}
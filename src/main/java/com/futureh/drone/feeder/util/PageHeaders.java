@@ -0,0 +1,38 @@
+package com.futureh.drone.feeder.util;
+
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * PageHeaders class.
+ *
+ * <p>Builds the pagination headers of the listing endpoints. When there are more rows, the
+ * id of the last row is returned as a keyset cursor ({@code X-Next-Cursor}) together with a
+ * {@code Link: rel="next"} pointing at {@code ?afterId=<cursor>}.</p>
+ */
+public class PageHeaders {
+
+  public static final String NEXT_CURSOR = "X-Next-Cursor";
+
+  /** nextCursor method.*/
+  public static <T> HttpHeaders nextCursor(Slice<T> slice, Function<T, Long> idOf) {
+    HttpHeaders headers = new HttpHeaders();
+    List<T> content = slice.getContent();
+    if (!slice.hasNext() || content.isEmpty()) {
+      return headers;
+    }
+
+    Long lastId = idOf.apply(content.get(content.size() - 1));
+    String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+        .replaceQueryParam("page")
+        .replaceQueryParam("afterId", lastId)
+        .toUriString();
+    headers.set(NEXT_CURSOR, lastId.toString());
+    headers.set(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"");
+    return headers;
+  }
+
+}
@@ -0,0 +1,132 @@
+package com.futureh.drone.feeder.util;
+
+import com.futureh.drone.feeder.storage.RangedResource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.util.StreamUtils;
+
+/**
+ * ResourceRegionWriter class.
+ *
+ * <p>Copies a byte range of a video to the client without staging it in the heap. When the
+ * servlet container supports sendfile (Tomcat NIO/NIO2) the kernel sends the file region
+ * directly; otherwise file-backed resources go through {@link FileChannel#transferTo}, ranged
+ * resources (object storage) read only the region and any other resource is skipped and
+ * copied through a bounded buffer.</p>
+ */
+public class ResourceRegionWriter {
+
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  /** eTag method, the validator of a stored video for {@code If-Range}.*/
+  public static String eTag(long lastModified, long contentLength) {
+    return "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(contentLength) + "\"";
+  }
+
+  /**
+   * requestedRange method.
+   *
+   * <p>The single byte range asked for, or null to send the whole video: no {@code Range},
+   * several ranges, or an {@code If-Range} that no longer matches the video.</p>
+   */
+  public static HttpRange requestedRange(HttpHeaders requestHeaders, String eTag,
+      long lastModified) {
+    List<HttpRange> ranges;
+    try {
+      ranges = requestHeaders.getRange();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+    if (ranges.size() != 1) {
+      return null;
+    }
+
+    String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+    if (ifRange != null) {
+      if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+        if (!ifRange.equals(eTag)) {
+          return null;
+        }
+      } else {
+        try {
+          if (requestHeaders.getFirstDate(HttpHeaders.IF_RANGE) / 1000 != lastModified / 1000) {
+            return null;
+          }
+        } catch (IllegalArgumentException e) {
+          return null;
+        }
+      }
+    }
+    return ranges.get(0);
+  }
+
+  /**
+   * trySendfile method.
+   *
+   * <p>Hands the region over to the container, which then writes it whatever the status. So
+   * it is only for the body of a GET answered with 200 or 206; the caller answers a HEAD, a
+   * 304 or a 416 without calling it. Returns false when sendfile isn't available, in which
+   * case the caller must write the body itself.</p>
+   */
+  public static boolean trySendfile(HttpServletRequest request, Resource resource, long start,
+      long length) throws IOException {
+    if (!HttpMethod.GET.matches(request.getMethod())
+        || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) || !resource.isFile()) {
+      return false;
+    }
+
+    request.setAttribute(SENDFILE_FILENAME, resource.getFile().getAbsolutePath());
+    request.setAttribute(SENDFILE_START, start);
+    request.setAttribute(SENDFILE_END, start + length);
+    return true;
+  }
+
+  /** write method.*/
+  public static void write(Resource resource, long start, long length,
+      OutputStream outputStream) throws IOException {
+    if (length <= 0) {
+      return;
+    }
+
+    if (resource.isFile()) {
+      try (FileChannel fileChannel = FileChannel.open(resource.getFile().toPath(),
+          StandardOpenOption.READ)) {
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        long position = start;
+        long remaining = length;
+        while (remaining > 0) {
+          long transferred = fileChannel.transferTo(position, remaining, target);
+          if (transferred <= 0) {
+            break;
+          }
+          position += transferred;
+          remaining -= transferred;
+        }
+      }
+    } else if (resource instanceof RangedResource) {
+      try (InputStream inputStream = ((RangedResource) resource).getInputStream(start, length)) {
+        StreamUtils.copy(inputStream, outputStream);
+      }
+    } else {
+      try (InputStream inputStream = resource.getInputStream()) {
+        StreamUtils.copyRange(inputStream, outputStream, start, start + length - 1);
+      }
+    }
+    outputStream.flush();
+  }
+
+}
@@ -0,0 +1,191 @@
+package com.futureh.drone.feeder.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * RoutePlanner class.
+ *
+ * <p>Heuristics for multi-stop drone sorties. {@code sweep} orders the stops by their bearing
+ * from the base so that consecutive stops are neighbours, {@code cut} splits that order into
+ * sorties that fit a payload, and {@code sequence} orders the stops of one sortie with a
+ * nearest-neighbour tour improved by 2-opt. Every sortie starts and ends at the base.</p>
+ */
+public class RoutePlanner {
+
+  private static final int MAX_TWO_OPT_PASSES = 50;
+  private static final double IMPROVEMENT_IN_KM = 1e-9;
+
+  /**
+   * Stop class.
+   */
+  public static class Stop {
+
+    private final Long id;
+    private final double latitude;
+    private final double longitude;
+    private final float weightInKg;
+
+    /** Stop constructor method. */
+    public Stop(Long id, double latitude, double longitude, float weightInKg) {
+      this.id = id;
+      this.latitude = latitude;
+      this.longitude = longitude;
+      this.weightInKg = weightInKg;
+    }
+
+    public Long getId() {
+      return id;
+    }
+
+    public double getLatitude() {
+      return latitude;
+    }
+
+    public double getLongitude() {
+      return longitude;
+    }
+
+    public float getWeightInKg() {
+      return weightInKg;
+    }
+
+  }
+
+  /** sweep method, sorts {@code stops} in place by bearing from the base.*/
+  public static void sweep(Stop base, List<Stop> stops) {
+    double cosine = Math.cos(Math.toRadians(base.latitude));
+    stops.sort(Comparator.comparingDouble((Stop stop) -> Math.atan2(stop.latitude
+        - base.latitude, (stop.longitude - base.longitude) * cosine))
+        .thenComparing(Stop::getId));
+  }
+
+  /**
+   * cut method.
+   *
+   * <p>Splits the stops, kept in their order, into consecutive groups whose summed weight is
+   * at most {@code capacityInKg}. Stops heavier than the capacity are left out.</p>
+   */
+  public static List<List<Stop>> cut(List<Stop> stops, float capacityInKg) {
+    List<List<Stop>> sorties = new ArrayList<List<Stop>>();
+    List<Stop> sortie = new ArrayList<Stop>();
+    float loadInKg = 0;
+    for (Stop stop : stops) {
+      if (stop.weightInKg > capacityInKg) {
+        continue;
+      }
+      if (loadInKg + stop.weightInKg > capacityInKg) {
+        sorties.add(sortie);
+        sortie = new ArrayList<Stop>();
+        loadInKg = 0;
+      }
+      sortie.add(stop);
+      loadInKg += stop.weightInKg;
+    }
+    if (!sortie.isEmpty()) {
+      sorties.add(sortie);
+    }
+    return sorties;
+  }
+
+  /**
+   * sequence method.
+   *
+   * <p>Reorders {@code stops} in place into a short closed tour from the base and back, and
+   * returns its length in km.</p>
+   */
+  public static double sequence(Stop base, List<Stop> stops) {
+    int size = stops.size();
+    if (size == 0) {
+      return 0;
+    }
+
+    double[][] distances = distances(base, stops);
+    int[] tour = nearestNeighbourTour(distances, size);
+    twoOpt(distances, tour);
+
+    List<Stop> ordered = new ArrayList<Stop>(size);
+    for (int i = 1; i <= size; i++) {
+      ordered.add(stops.get(tour[i]));
+    }
+    for (int i = 0; i < size; i++) {
+      stops.set(i, ordered.get(i));
+    }
+    return length(distances, tour);
+  }
+
+  /** Index {@code size} of the matrix is the base. */
+  private static double[][] distances(Stop base, List<Stop> stops) {
+    int size = stops.size();
+    double[][] distances = new double[size + 1][size + 1];
+    for (int i = 0; i <= size; i++) {
+      Stop from = i == size ? base : stops.get(i);
+      for (int j = i + 1; j <= size; j++) {
+        Stop to = j == size ? base : stops.get(j);
+        double distance = GeoGrid.distanceInKm(from.latitude, from.longitude, to.latitude,
+            to.longitude);
+        distances[i][j] = distance;
+        distances[j][i] = distance;
+      }
+    }
+    return distances;
+  }
+
+  /** Tour of {@code size + 2} indexes that starts and ends at the base. */
+  private static int[] nearestNeighbourTour(double[][] distances, int size) {
+    int[] tour = new int[size + 2];
+    boolean[] visited = new boolean[size];
+    tour[0] = size;
+    tour[size + 1] = size;
+    int current = size;
+    for (int position = 1; position <= size; position++) {
+      int next = -1;
+      for (int candidate = 0; candidate < size; candidate++) {
+        if (!visited[candidate]
+            && (next < 0 || distances[current][candidate] < distances[current][next])) {
+          next = candidate;
+        }
+      }
+      visited[next] = true;
+      tour[position] = next;
+      current = next;
+    }
+    return tour;
+  }
+
+  private static void twoOpt(double[][] distances, int[] tour) {
+    int last = tour.length - 2;
+    boolean improved = true;
+    for (int pass = 0; improved && pass < MAX_TWO_OPT_PASSES; pass++) {
+      improved = false;
+      for (int i = 1; i < last; i++) {
+        for (int k = i + 1; k <= last; k++) {
+          double delta = distances[tour[i - 1]][tour[k]] + distances[tour[i]][tour[k + 1]]
+              - distances[tour[i - 1]][tour[i]] - distances[tour[k]][tour[k + 1]];
+          if (delta < -IMPROVEMENT_IN_KM) {
+            reverse(tour, i, k);
+            improved = true;
+          }
+        }
+      }
+    }
+  }
+
+  private static void reverse(int[] tour, int from, int to) {
+    for (int i = from, j = to; i < j; i++, j--) {
+      int index = tour[i];
+      tour[i] = tour[j];
+      tour[j] = index;
+    }
+  }
+
+  private static double length(double[][] distances, int[] tour) {
+    double length = 0;
+    for (int i = 1; i < tour.length; i++) {
+      length += distances[tour[i - 1]][tour[i]];
+    }
+    return length;
+  }
+
+}
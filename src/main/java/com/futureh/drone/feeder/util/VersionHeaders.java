@@ -0,0 +1,90 @@
+package com.futureh.drone.feeder.util;
+
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.model.Video;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.function.Function;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+
+/**
+ * VersionHeaders class.
+ *
+ * <p>Builds the conditional request headers of the read endpoints from the version columns.
+ * The ETag is weak, a digest of the ids and versions of the entities in the response, so it
+ * changes whenever one of them does. With it on a 200 ResponseEntity, Spring answers a
+ * matching {@code If-None-Match} with 304 and no body. {@code Cache-Control: no-cache} makes
+ * clients ask again every time instead of guessing how long the response stays fresh.</p>
+ */
+public class VersionHeaders {
+
+  /**
+   * forDelivery method.
+   *
+   * <p>Tags the delivery with its video and the video's drone, as in DeliveryDetailsResponse.
+   * Last-Modified is the latest change among them.</p>
+   */
+  public static HttpHeaders forDelivery(Delivery delivery) {
+    Video video = delivery.getVideo();
+    Drone drone = video != null ? video.getDrone() : null;
+
+    StringBuilder versions = new StringBuilder();
+    Instant lastModified = delivery.getLastModified();
+    append(versions, delivery.getId(), delivery.getVersion());
+    if (video != null) {
+      append(versions, video.getId(), video.getVersion());
+      lastModified = latest(lastModified, video.getLastModified());
+    }
+    if (drone != null) {
+      append(versions, drone.getId(), drone.getVersion());
+      lastModified = latest(lastModified, drone.getLastModified());
+    }
+
+    HttpHeaders headers = headers(versions);
+    if (lastModified != null) {
+      headers.setLastModified(lastModified);
+    }
+    return headers;
+  }
+
+  /**
+   * forSlice method.
+   *
+   * <p>Tags a page of a listing with the ids and versions of its rows and whether more rows
+   * follow. There is no Last-Modified: a row removed from the page changes the ETag but not
+   * the latest change of the rows left.</p>
+   */
+  public static <T> HttpHeaders forSlice(Slice<T> slice, Function<T, Long> idOf,
+      Function<T, Long> versionOf) {
+    StringBuilder versions = new StringBuilder();
+    for (T row : slice.getContent()) {
+      append(versions, idOf.apply(row), versionOf.apply(row));
+    }
+    versions.append(slice.hasNext() ? "+" : ".");
+    return headers(versions);
+  }
+
+  private static void append(StringBuilder versions, Long id, Long version) {
+    versions.append(id).append(':').append(version).append(',');
+  }
+
+  private static Instant latest(Instant first, Instant second) {
+    if (first == null) {
+      return second;
+    }
+    return second != null && second.isAfter(first) ? second : first;
+  }
+
+  private static HttpHeaders headers(CharSequence versions) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setETag("W/\"" + DigestUtils.md5DigestAsHex(
+        versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"");
+    headers.setCacheControl(CacheControl.noCache());
+    return headers;
+  }
+
+}
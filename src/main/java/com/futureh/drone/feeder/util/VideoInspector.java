@@ -0,0 +1,220 @@
+package com.futureh.drone.feeder.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * VideoInspector class.
+ *
+ * <p>Reads what the API reports about a stored MP4: a SHA-256 checksum of the content and,
+ * from the ISO base media box headers, the duration ({@code moov/mvhd}) and the resolution
+ * of the first visual track ({@code moov/trak/tkhd}). Only box headers are read to find
+ * them, so a large {@code mdat} is skipped over. The boxes must tile the file exactly; a
+ * truncated or malformed file is rejected with an IOException.</p>
+ */
+public class VideoInspector {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int MAX_DEPTH = 8;
+  private static final long UNKNOWN_DURATION_V0 = 0xFFFFFFFFL;
+
+  /**
+   * VideoMetadata class.
+   */
+  public static class VideoMetadata {
+
+    private String checksum;
+    private Long durationInMs;
+    private Integer width;
+    private Integer height;
+
+    public String getChecksum() {
+      return checksum;
+    }
+
+    public Long getDurationInMs() {
+      return durationInMs;
+    }
+
+    public Integer getWidth() {
+      return width;
+    }
+
+    public Integer getHeight() {
+      return height;
+    }
+
+  }
+
+  /** inspect method.*/
+  public static VideoMetadata inspect(Path videoPath) throws IOException {
+    VideoMetadata metadata = new VideoMetadata();
+    try (FileChannel channel = FileChannel.open(videoPath, StandardOpenOption.READ)) {
+      boolean movieHeaderFound = readBoxes(channel, 0, channel.size(), 0, metadata);
+      if (!movieHeaderFound) {
+        throw new IOException("The video has no movie header (moov/mvhd).");
+      }
+      metadata.checksum = sha256(channel);
+    }
+    return metadata;
+  }
+
+  /** Walks the boxes in [start, end) and returns whether a movie header was found. */
+  private static boolean readBoxes(FileChannel channel, long start, long end, int depth,
+      VideoMetadata metadata) throws IOException {
+    if (depth > MAX_DEPTH) {
+      throw new IOException("The video boxes are nested too deeply.");
+    }
+
+    boolean movieHeaderFound = false;
+    ByteBuffer header = ByteBuffer.allocate(16);
+    long position = start;
+    while (position < end) {
+      if (end - position < 8) {
+        throw new IOException("Truncated box header at byte " + position + ".");
+      }
+      read(channel, header.clear().limit(8), position);
+      long size = header.getInt(0) & 0xFFFFFFFFL;
+      String type = new String(header.array(), 4, 4, StandardCharsets.US_ASCII);
+      long headerSize = 8;
+      if (size == 1) {
+        read(channel, header.clear().limit(8), position + 8);
+        size = header.getLong(0);
+        headerSize = 16;
+      } else if (size == 0) {
+        size = end - position;
+      }
+      if (size < headerSize || size > end - position) {
+        throw new IOException("Box " + type + " at byte " + position + " has an invalid size.");
+      }
+
+      long payload = position + headerSize;
+      long payloadEnd = position + size;
+      switch (type) {
+        case "moov":
+        case "trak":
+          movieHeaderFound |= readBoxes(channel, payload, payloadEnd, depth + 1, metadata);
+          break;
+        case "mvhd":
+          readMovieHeader(channel, payload, payloadEnd, metadata);
+          movieHeaderFound = true;
+          break;
+        case "tkhd":
+          readTrackHeader(channel, payload, payloadEnd, metadata);
+          break;
+        default:
+          break;
+      }
+      position = payloadEnd;
+    }
+    return movieHeaderFound;
+  }
+
+  private static void readMovieHeader(FileChannel channel, long payload, long payloadEnd,
+      VideoMetadata metadata) throws IOException {
+    ByteBuffer box = readPayload(channel, payload, payloadEnd, 32);
+    long timescale;
+    long duration;
+    if (box.get(0) == 1) {
+      timescale = box.getInt(20) & 0xFFFFFFFFL;
+      duration = box.getLong(24);
+    } else {
+      timescale = box.getInt(12) & 0xFFFFFFFFL;
+      duration = box.getInt(16) & 0xFFFFFFFFL;
+      if (duration == UNKNOWN_DURATION_V0) {
+        duration = -1;
+      }
+    }
+    if (timescale > 0 && duration >= 0) {
+      metadata.durationInMs = duration * 1000 / timescale;
+    }
+  }
+
+  private static void readTrackHeader(FileChannel channel, long payload, long payloadEnd,
+      VideoMetadata metadata) throws IOException {
+    if (metadata.width != null) {
+      return;
+    }
+    int dimensions = readVersion(channel, payload) == 1 ? 88 : 76;
+    ByteBuffer box = readPayload(channel, payload, payloadEnd, dimensions + 8);
+    int width = box.getInt(dimensions) >>> 16;
+    int height = box.getInt(dimensions + 4) >>> 16;
+    if (width > 0 && height > 0) {
+      metadata.width = width;
+      metadata.height = height;
+    }
+  }
+
+  private static int readVersion(FileChannel channel, long payload) throws IOException {
+    ByteBuffer version = ByteBuffer.allocate(1);
+    read(channel, version, payload);
+    return version.get(0);
+  }
+
+  private static ByteBuffer readPayload(FileChannel channel, long payload, long payloadEnd,
+      int length) throws IOException {
+    if (payloadEnd - payload < length) {
+      throw new IOException("Header box at byte " + payload + " is too short.");
+    }
+    ByteBuffer box = ByteBuffer.allocate(length);
+    read(channel, box, payload);
+    return box;
+  }
+
+  private static void read(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    long offset = position;
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, offset);
+      if (read < 0) {
+        throw new IOException("Unexpected end of the video at byte " + offset + ".");
+      }
+      offset += read;
+    }
+  }
+
+  /** checksum method, the SHA-256 of the whole file as lowercase hex.*/
+  public static String checksum(Path videoPath) throws IOException {
+    try (FileChannel channel = FileChannel.open(videoPath, StandardOpenOption.READ)) {
+      return sha256(channel);
+    }
+  }
+
+  /** newDigest method, a SHA-256 digest for checksums computed while streaming.*/
+  public static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** toHex method.*/
+  public static String toHex(byte[] digest) {
+    StringBuilder checksum = new StringBuilder(digest.length * 2);
+    for (byte value : digest) {
+      checksum.append(Character.forDigit((value >> 4) & 0xF, 16))
+          .append(Character.forDigit(value & 0xF, 16));
+    }
+    return checksum.toString();
+  }
+
+  private static String sha256(FileChannel channel) throws IOException {
+    MessageDigest digest = newDigest();
+    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    long position = 0;
+    int read;
+    while ((read = channel.read(buffer.clear(), position)) > 0) {
+      digest.update(buffer.array(), 0, read);
+      position += read;
+    }
+    return toHex(digest.digest());
+  }
+
+}
@@ -0,0 +1,10 @@
+package com.futureh.drone.feeder.util;
+
+/**
+ * VideoProcessingStatus enum.
+ */
+public enum VideoProcessingStatus {
+  PENDING,
+  READY,
+  FAILED,
+}
@@ -0,0 +1,94 @@
+package com.futureh.drone.feeder.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * ConnectionLimitingDataSource class.
+ *
+ * <p>With a virtual thread per request, thousands of threads may ask the pool for a connection
+ * at once, and the pool's hand-off between the thread returning a connection and the ones
+ * waiting for it stalls under that load. Only {@code maxConnections} threads at a time get
+ * through to the pool here, the others wait in line on a fair semaphore until one of the
+ * connections is closed, for at most {@code timeoutInMs}. A thread must not ask for a second
+ * connection while it holds one, or all the permits may be held by threads waiting for
+ * another; the transactions release their connection at commit for this reason.</p>
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+  private final long timeoutInMs;
+
+  /** ConnectionLimitingDataSource constructor method. */
+  public ConnectionLimitingDataSource(DataSource dataSource, int maxConnections,
+      long timeoutInMs) {
+    super(dataSource);
+    this.permits = new Semaphore(maxConnections, true);
+    this.timeoutInMs = timeoutInMs;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return releasingOnClose(super.getConnection());
+    } catch (SQLException | RuntimeException err) {
+      permits.release();
+      throw err;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return releasingOnClose(super.getConnection(username, password));
+    } catch (SQLException | RuntimeException err) {
+      permits.release();
+      throw err;
+    }
+  }
+
+  private void acquire() throws SQLException {
+    try {
+      if (!permits.tryAcquire(timeoutInMs, TimeUnit.MILLISECONDS)) {
+        throw new SQLTransientConnectionException(
+            "Connection is not available, request timed out after " + timeoutInMs + "ms.");
+      }
+    } catch (InterruptedException err) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted waiting for a connection", err);
+    }
+  }
+
+  /** Gives the permit back the first time the connection is closed. */
+  private Connection releasingOnClose(Connection connection) {
+    AtomicBoolean closed = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+          if (method.getName().equals("equals")) {
+            return proxy == args[0];
+          } else if (method.getName().equals("hashCode")) {
+            return System.identityHashCode(proxy);
+          }
+          try {
+            return method.invoke(connection, args);
+          } catch (InvocationTargetException err) {
+            throw err.getCause();
+          } finally {
+            if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+              permits.release();
+            }
+          }
+        });
+  }
+
+}
@@ -0,0 +1,33 @@
+package com.futureh.drone.feeder.config;
+
+import com.futureh.drone.feeder.util.NonBlockingInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/**
+ * NonBlockingRequestBodyExecutor class.
+ *
+ * <p>Runs the upload handlers on virtual threads, once the container thread is released, and
+ * hands them the body through a {@link NonBlockingInputStream}: a slow drone link parks the
+ * virtual thread instead of pinning its carrier in Tomcat's blocking read.</p>
+ */
+public class NonBlockingRequestBodyExecutor extends RequestBodyExecutor {
+
+  private static final long NO_TIMEOUT = 0;
+
+  private final long readTimeoutInMs;
+
+  /** NonBlockingRequestBodyExecutor constructor method. */
+  public NonBlockingRequestBodyExecutor(AsyncTaskExecutor executor, long readTimeoutInMs) {
+    super(NO_TIMEOUT, executor);
+    this.readTimeoutInMs = readTimeoutInMs;
+  }
+
+  @Override
+  protected InputStream getBody(HttpServletRequest request) throws IOException {
+    return new NonBlockingInputStream(request.getInputStream(), readTimeoutInMs);
+  }
+
+}
@@ -0,0 +1,85 @@
+package com.futureh.drone.feeder.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * VirtualThreadConfig class.
+ *
+ * <p>Only built by the jdk21 profile and only active with
+ * {@code drone-feeder.threads.virtual=true}. Tomcat runs every request on its own virtual
+ * thread instead of its bounded worker pool, and so do the streamed downloads, so the blocking
+ * file I/O in DeliveryService holds a virtual thread rather than one of the
+ * {@code server.tomcat.threads.max} platform threads. Raw uploads also read their body without
+ * blocking (see {@link NonBlockingRequestBodyExecutor}): Tomcat 9 would otherwise pin the
+ * carrier while waiting for a slow drone link. Connections to the database are handed out
+ * to a limited number of these threads at a time (see {@link ConnectionLimitingDataSource}).</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "drone-feeder.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+  private static final int DEFAULT_POOL_SIZE = 10;
+
+  /** requestExecutor method.*/
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService requestExecutor() {
+    return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("request-", 0).factory());
+  }
+
+  /** connectionLimitingDataSource method.*/
+  @Bean
+  public static BeanPostProcessor connectionLimitingDataSource() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikariDataSource) {
+          int poolSize = hikariDataSource.getMaximumPoolSize();
+          return new ConnectionLimitingDataSource(hikariDataSource,
+              poolSize > 0 ? poolSize : DEFAULT_POOL_SIZE,
+              hikariDataSource.getConnectionTimeout());
+        }
+        return bean;
+      }
+    };
+  }
+
+  /** virtualThreadProtocolHandler method.*/
+  @Bean
+  public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandler() {
+    return protocolHandler -> protocolHandler.setExecutor(requestExecutor());
+  }
+
+  /**
+   * nonBlockingRequestBodyExecutor method.
+   *
+   * <p>Bodies are read without blocking: a slow link idle for longer than the connection
+   * timeout fails the upload, like a blocking read would.</p>
+   */
+  @Bean
+  @Primary
+  public RequestBodyExecutor nonBlockingRequestBodyExecutor(
+      @Value("${server.tomcat.connection-timeout:20s}") Duration readTimeout) {
+    return new NonBlockingRequestBodyExecutor(new TaskExecutorAdapter(requestExecutor()),
+        readTimeout.toMillis());
+  }
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.setTaskExecutor(new TaskExecutorAdapter(requestExecutor()));
+  }
+
+}
@@ -0,0 +1,110 @@
+package com.futureh.drone.feeder.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+
+/**
+ * NonBlockingInputStream class.
+ *
+ * <p>Blocking view of a request body read with Servlet non-blocking I/O, for requests in async
+ * mode. Tomcat 9 waits for body bytes inside a synchronized block, which pins a virtual thread
+ * to its carrier; here the reading thread parks on a semaphore instead and is woken up by the
+ * container's ReadListener callbacks. A read that waits longer than {@code readTimeoutInMs}
+ * for data fails like a socket read timeout.</p>
+ */
+public class NonBlockingInputStream extends ServletInputStream implements ReadListener {
+
+  private final ServletInputStream inputStream;
+  private final long readTimeoutInMs;
+  private final Semaphore events = new Semaphore(0);
+  private volatile Throwable error;
+
+  /** NonBlockingInputStream constructor method. */
+  public NonBlockingInputStream(ServletInputStream inputStream, long readTimeoutInMs) {
+    this.inputStream = inputStream;
+    this.readTimeoutInMs = readTimeoutInMs;
+    inputStream.setReadListener(this);
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] single = new byte[1];
+    return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    while (true) {
+      if (error != null) {
+        throw new IOException("The request body couldn't be read.", error);
+      }
+      if (inputStream.isFinished()) {
+        return -1;
+      }
+      if (inputStream.isReady()) {
+        int read = inputStream.read(bytes, offset, length);
+        if (read != 0) {
+          return read;
+        }
+        continue;
+      }
+      awaitEvent();
+    }
+  }
+
+  private void awaitEvent() throws IOException {
+    try {
+      if (!events.tryAcquire(readTimeoutInMs, TimeUnit.MILLISECONDS)) {
+        throw new SocketTimeoutException("No request body data for " + readTimeoutInMs + " ms.");
+      }
+    } catch (InterruptedException err) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+  }
+
+  @Override
+  public int available() throws IOException {
+    return inputStream.isReady() ? inputStream.available() : 0;
+  }
+
+  @Override
+  public boolean isFinished() {
+    return inputStream.isFinished();
+  }
+
+  @Override
+  public boolean isReady() {
+    return true;
+  }
+
+  @Override
+  public void setReadListener(ReadListener readListener) {
+    throw new IllegalStateException("The request body is already read without blocking.");
+  }
+
+  @Override
+  public void onDataAvailable() {
+    events.release();
+  }
+
+  @Override
+  public void onAllDataRead() {
+    events.release();
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    error = throwable;
+    events.release();
+  }
+
+}
@@ -0,0 +1,70 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.futureh.drone.feeder.dto.DeliveryDto;
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.service.DeliveryService;
+import com.futureh.drone.feeder.util.DeliveryStatus;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class BatchInsertTest {
+
+  @Autowired
+  private DeliveryService deliveryService;
+
+  @Autowired
+  private DeliveryRepository deliveryRepository;
+
+  @AfterEach
+  public void cleanUp() {
+    deliveryRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("1. O método addDeliveries deve gravar as entregas em lotes, devolvendo cada"
+      + " entrega com o id gerado pelo banco.")
+  public void addDeliveriesInBatches() throws Exception {
+    List<DeliveryDto> batch = new ArrayList<DeliveryDto>();
+    for (int i = 0; i < 500; i++) {
+      DeliveryDto deliveryDto = new DeliveryDto();
+      deliveryDto.setReceiverName("Receiver " + i);
+      deliveryDto.setAddress("Address " + i);
+      deliveryDto.setZipCode("22775-002");
+      deliveryDto.setLatitude("-22.987029");
+      deliveryDto.setLongitude("-43.366164");
+      deliveryDto.setWeightInKg(4.3F);
+      batch.add(deliveryDto);
+    }
+
+    long countBefore = deliveryRepository.count();
+
+    List<Delivery> deliveries = deliveryService.addDeliveries(batch);
+
+    assertEquals(500, deliveries.size());
+    assertEquals(countBefore + 500, deliveryRepository.count());
+    for (int i = 1; i < deliveries.size(); i++) {
+      assertTrue(deliveries.get(i).getId() > deliveries.get(i - 1).getId());
+    }
+    Delivery stored = deliveryService.getDeliveryById(deliveries.get(499).getId());
+    assertEquals("Receiver 499", stored.getReceiverName());
+    assertEquals(DeliveryStatus.TO_DELIVER, stored.getStatus());
+    assertEquals(-22.987029, stored.getLatitudeInDegrees());
+    assertEquals(4.3F, stored.getWeightInKg());
+    assertEquals(0L, stored.getVersion());
+    assertNotNull(stored.getLastModified());
+  }
+
+}
@@ -0,0 +1,154 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.futureh.drone.feeder.dto.DeliveryBulkDto;
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.repository.VideoRepository;
+import com.futureh.drone.feeder.service.DeliveryService;
+import com.futureh.drone.feeder.storage.VideoStorage;
+import com.futureh.drone.feeder.util.DeliveryStatus;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@TestMethodOrder(OrderAnnotation.class)
+class BulkOperationTest {
+
+  @Autowired
+  private DeliveryService deliveryService;
+
+  @Autowired
+  private DeliveryRepository deliveryRepository;
+
+  @Autowired
+  private VideoRepository videoRepository;
+
+  @Autowired
+  private VideoStorage videoStorage;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private String[] videoNames = {
+    "BR01-2022-05-30-101010.mp4", "BR01-2022-05-30-111111.mp4", "BR01-2022-05-30-121212.mp4"
+  };
+
+  @AfterEach
+  public void cleanUp() throws Exception {
+    deliveryRepository.deleteAll();
+    for (String videoName : videoNames) {
+      videoStorage.delete(videoName);
+    }
+  }
+
+  @Test
+  @Order(1)
+  @DisplayName("1. O método updateDeliveriesStatus deve alterar o status das entregas"
+      + " selecionadas por ids ou por status.")
+  public void updateDeliveriesStatus() throws Exception {
+    List<Long> ids = saveDeliveriesWithVideo();
+    int delivered = deliveryRepository.findIdsByStatus(DeliveryStatus.DELIVERED).size();
+
+    DeliveryBulkDto byIds = new DeliveryBulkDto();
+    byIds.setIds(ids.subList(0, 2));
+    byIds.setNewStatus(DeliveryStatus.DELIVERED);
+    assertEquals(2, deliveryService.updateDeliveriesStatus(byIds));
+    assertEquals(DeliveryStatus.DELIVERED, deliveryRepository.findById(ids.get(0)).get()
+        .getStatus());
+    assertEquals(DeliveryStatus.TO_DELIVER, deliveryRepository.findById(ids.get(2)).get()
+        .getStatus());
+
+    DeliveryBulkDto byStatus = new DeliveryBulkDto();
+    byStatus.setStatus(DeliveryStatus.DELIVERED);
+    byStatus.setNewStatus(DeliveryStatus.TO_DELIVER);
+    assertEquals(delivered + 2, deliveryService.updateDeliveriesStatus(byStatus));
+    assertEquals(0, deliveryRepository.findIdsByStatus(DeliveryStatus.DELIVERED).size());
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. O método removeDeliveries deve apagar as entregas selecionadas, os seus videos"
+      + " e os arquivos dos videos.")
+  public void removeDeliveries() throws Exception {
+    List<Long> ids = saveDeliveriesWithVideo();
+
+    DeliveryBulkDto bulk = new DeliveryBulkDto();
+    bulk.setIds(ids.subList(0, 2));
+    assertEquals(2, deliveryService.removeDeliveries(bulk));
+
+    assertFalse(deliveryRepository.existsById(ids.get(0)));
+    assertFalse(deliveryRepository.existsById(ids.get(1)));
+    assertTrue(deliveryRepository.existsById(ids.get(2)));
+    assertFalse(videoRepository.existsByFileName(videoNames[0]));
+    assertNull(videoStorage.load(videoNames[0]));
+    assertNull(videoStorage.load(videoNames[1]));
+    assertNotNull(videoStorage.load(videoNames[2]));
+  }
+
+  @Test
+  @Order(3)
+  @DisplayName("3. O método removeDeliveries por status deve apagar as entregas, com ou sem video,"
+      + " sem carregar as entidades.")
+  public void removeDeliveriesByStatus() throws Exception {
+    List<Long> ids = saveDeliveriesWithVideo();
+    Long withoutVideo = deliveryRepository.save(new Delivery("Alberto Santos Dumont",
+        "Avenida Ayrton Senna, 2541", "22775-002", "-22.987029", "-43.366164", 4.3F)).getId();
+    DeliveryBulkDto delivered = new DeliveryBulkDto();
+    delivered.setIds(List.of(ids.get(0), ids.get(1), withoutVideo));
+    delivered.setNewStatus(DeliveryStatus.DELIVERED);
+    deliveryService.updateDeliveriesStatus(delivered);
+    int removing = deliveryRepository.findIdsByStatus(DeliveryStatus.DELIVERED).size();
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    DeliveryBulkDto bulk = new DeliveryBulkDto();
+    bulk.setStatus(DeliveryStatus.DELIVERED);
+    assertEquals(removing, deliveryService.removeDeliveries(bulk));
+    assertEquals(0, statistics.getEntityLoadCount());
+
+    assertEquals(0, deliveryRepository.findIdsByStatus(DeliveryStatus.DELIVERED).size());
+    assertFalse(deliveryRepository.existsById(withoutVideo));
+    assertTrue(deliveryRepository.existsById(ids.get(2)));
+    assertFalse(videoRepository.existsByFileName(videoNames[1]));
+    assertTrue(videoRepository.existsByFileName(videoNames[2]));
+    assertNull(videoStorage.load(videoNames[0]));
+    assertNull(videoStorage.load(videoNames[1]));
+    assertNotNull(videoStorage.load(videoNames[2]));
+  }
+
+  private List<Long> saveDeliveriesWithVideo() throws Exception {
+    List<Long> ids = new ArrayList<Long>();
+    for (String videoName : videoNames) {
+      byte[] content = videoName.getBytes();
+      videoStorage.save(videoName, new ByteArrayInputStream(content), content.length);
+
+      Delivery delivery = new Delivery("Alberto Santos Dumont", "Avenida Ayrton Senna, 2541",
+          "22775-002", "-22.987029", "-43.366164", 4.3F);
+      delivery.setVideo(new Video(videoName, (long) content.length));
+      ids.add(deliveryRepository.save(delivery).getId());
+    }
+    return ids;
+  }
+
+}
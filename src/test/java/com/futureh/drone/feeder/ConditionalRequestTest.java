@@ -0,0 +1,176 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.futureh.drone.feeder.dto.DeliveryBulkDto;
+import com.futureh.drone.feeder.dto.DroneDto;
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.repository.DroneRepository;
+import com.futureh.drone.feeder.service.DeliveryService;
+import com.futureh.drone.feeder.service.DroneService;
+import com.futureh.drone.feeder.util.DeliveryStatus;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@TestMethodOrder(OrderAnnotation.class)
+class ConditionalRequestTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private DroneService droneService;
+
+  @Autowired
+  private DeliveryService deliveryService;
+
+  @Autowired
+  private DroneRepository droneRepository;
+
+  @Autowired
+  private DeliveryRepository deliveryRepository;
+
+  private Drone drone;
+  private Delivery delivery;
+
+  @BeforeEach
+  public void setUp() {
+    drone = droneRepository.save(new Drone("Drone etag", "Modelo etag", 10.0F));
+    Video video = new Video("A014-2022-05-30-101010.mp4", 1024L);
+    video.setDrone(drone);
+    delivery = new Delivery("Alberto Santos Dumont", "Avenida Ayrton Senna, 2541",
+        "22775-002", "-22.987029", "-43.366164", 2.5F);
+    delivery.setVideo(video);
+    delivery = deliveryRepository.save(delivery);
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    deliveryRepository.deleteById(delivery.getId());
+    droneRepository.deleteById(drone.getId());
+  }
+
+  @Test
+  @Order(1)
+  @DisplayName("1. GET /delivery/{id} --------------------> ETag e Last-Modified na resposta e 304"
+      + " sem corpo enquanto nada mudar.")
+  public void getDeliveryNotModified() throws Exception {
+    String url = "/delivery/" + delivery.getId();
+    mockMvc.perform(get(url))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+        .andExpect(jsonPath("$.video.droneName").value("Drone etag"));
+
+    String eTag = eTag(url);
+    assertTrue(eTag.startsWith("W/\""));
+    mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, eTag))
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. GET /delivery/{id} --------------------> novo ETag quando a entrega ou o drone"
+      + " do vídeo mudam.")
+  public void getDeliveryModified() throws Exception {
+    String url = "/delivery/" + delivery.getId();
+    String eTag = eTag(url);
+
+    DeliveryBulkDto bulk = new DeliveryBulkDto();
+    bulk.setIds(List.of(delivery.getId()));
+    bulk.setNewStatus(DeliveryStatus.DELIVERED);
+    deliveryService.updateDeliveriesStatus(bulk);
+    String afterStatus = eTag(url);
+    assertNotEquals(eTag, afterStatus);
+
+    DroneDto droneDto = new DroneDto();
+    droneDto.setName("Drone etag renomeado");
+    droneDto.setModel("Modelo etag");
+    droneDto.setCapacityWeightInKg(10.0F);
+    droneService.updateDrone(drone.getId(), droneDto);
+    mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, afterStatus))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.video.droneName").value("Drone etag renomeado"));
+  }
+
+  @Test
+  @Order(3)
+  @DisplayName("3. GET /delivery/all e GET /drone/all --------------------> 304 enquanto a página"
+      + " não mudar e novo ETag depois.")
+  public void getAllNotModified() throws Exception {
+    String deliveries = "/delivery/all?size=1&afterId=" + (delivery.getId() - 1);
+    String drones = "/drone/all?size=1&afterId=" + (drone.getId() - 1);
+    String deliveriesTag = eTag(deliveries);
+    String dronesTag = eTag(drones);
+
+    mockMvc.perform(get(deliveries).header(HttpHeaders.IF_NONE_MATCH, deliveriesTag))
+        .andExpect(status().isNotModified());
+    mockMvc.perform(get(drones).header(HttpHeaders.IF_NONE_MATCH, dronesTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+    mockMvc.perform(get(drones))
+        .andExpect(jsonPath("$[0].version").doesNotExist());
+
+    DroneDto droneDto = new DroneDto();
+    droneDto.setName("Drone etag");
+    droneDto.setModel("Modelo etag");
+    droneDto.setCapacityWeightInKg(12.0F);
+    droneService.updateDrone(drone.getId(), droneDto);
+    mockMvc.perform(get(drones).header(HttpHeaders.IF_NONE_MATCH, dronesTag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].capacityWeightInKg").value(12.0F));
+    assertEquals(deliveriesTag, eTag(deliveries));
+  }
+
+  @Test
+  @Order(4)
+  @DisplayName("4. Salvar um drone lido antes de outra alteração deve falhar em vez de desfazê-la.")
+  public void staleWriteFails() {
+    Drone stale = droneRepository.findById(drone.getId()).get();
+    Drone fresh = droneRepository.findById(drone.getId()).get();
+    fresh.setName("Drone etag atual");
+    droneRepository.save(fresh);
+
+    stale.setName("Drone etag antigo");
+    assertThrows(ObjectOptimisticLockingFailureException.class,
+        () -> droneRepository.save(stale));
+    assertEquals("Drone etag atual", droneService.getDroneById(drone.getId()).getName());
+  }
+
+  private String eTag(String url) throws Exception {
+    String eTag = mockMvc.perform(get(url))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertNotNull(eTag);
+    return eTag;
+  }
+
+}
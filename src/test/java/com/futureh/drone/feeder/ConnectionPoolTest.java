@@ -0,0 +1,73 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.futureh.drone.feeder.dto.DeliveryBulkDto;
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.repository.VideoBlobRepository;
+import com.futureh.drone.feeder.repository.VideoRepository;
+import com.futureh.drone.feeder.service.DeliveryService;
+import com.futureh.drone.feeder.storage.VideoStorage;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+    "spring.datasource.hikari.maximum-pool-size=1",
+    "spring.datasource.hikari.connection-timeout=2000"
+})
+class ConnectionPoolTest {
+
+  @Autowired
+  private DeliveryService deliveryService;
+
+  @Autowired
+  private DeliveryRepository deliveryRepository;
+
+  @Autowired
+  private VideoRepository videoRepository;
+
+  @Autowired
+  private VideoBlobRepository videoBlobRepository;
+
+  @Autowired
+  private VideoStorage videoStorage;
+
+  private List<String> videoNames = List.of("A012-2022-06-01-101010.mp4",
+      "A012-2022-06-01-111111.mp4");
+
+  @Test
+  @DisplayName("Com uma única conexão no pool, as ações após o commit que abrem outra transação"
+      + " não devem esperar pela conexão da transação que terminou.")
+  public void afterCommitWithOneConnection() throws Exception {
+    Long id = deliveryRepository.save(new Delivery("Alberto Santos Dumont",
+        "Avenida Ayrton Senna, 2541", "22775-002", "-22.987029", "-43.366164", 2.5F)).getId();
+
+    List<String> checksums = new ArrayList<String>();
+    for (String videoName : videoNames) {
+      byte[] content = ("Pool footage " + videoName).getBytes();
+      Video video = deliveryService.saveStream(videoName, new ByteArrayInputStream(content),
+          content.length);
+      checksums.add(video.getChecksum());
+      deliveryService.addVideo(id, video);
+    }
+    assertFalse(videoRepository.existsByFileName(videoNames.get(0)));
+    assertFalse(videoBlobRepository.existsById(checksums.get(0)));
+    assertEquals(0, videoBlobRepository.findById(checksums.get(1)).get().getPins());
+
+    DeliveryBulkDto bulk = new DeliveryBulkDto();
+    bulk.setIds(List.of(id));
+    assertEquals(1, deliveryService.removeDeliveries(bulk));
+    assertNull(videoStorage.load(videoNames.get(1), checksums.get(1)));
+    assertFalse(videoBlobRepository.existsById(checksums.get(1)));
+  }
+
+}
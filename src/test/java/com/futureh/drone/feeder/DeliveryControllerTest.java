@@ -5,45 +5,73 @@ import static org.hamcrest.Matchers.containsInRelativeOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.futureh.drone.feeder.dto.DeliveryBulkDto;
 import com.futureh.drone.feeder.dto.DeliveryDto;
 import com.futureh.drone.feeder.exception.InputNotFoundException;
+import com.futureh.drone.feeder.exception.PayloadTooLargeException;
 import com.futureh.drone.feeder.mock.VideoDownloadControllerMock;
 import com.futureh.drone.feeder.model.Delivery;
 import com.futureh.drone.feeder.model.Drone;
 import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.response.DeliveryResponse;
+import com.futureh.drone.feeder.response.RoutePlanResponse;
+import com.futureh.drone.feeder.response.SortieResponse;
+import com.futureh.drone.feeder.response.VideoResponse;
 import com.futureh.drone.feeder.service.DeliveryService;
+import com.futureh.drone.feeder.service.DispatchService;
+import com.futureh.drone.feeder.service.RouteService;
 import com.futureh.drone.feeder.util.DeliveryStatus;
+import com.futureh.drone.feeder.util.PageHeaders;
+import com.futureh.drone.feeder.util.ResourceRegionWriter;
+import com.jayway.jsonpath.JsonPath;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.multipart.MultipartFile;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -53,9 +81,18 @@ class DeliveryControllerTest {
   @MockBean
   private DeliveryService deliveryService;
 
+  @MockBean
+  private DispatchService dispatchService;
+
+  @MockBean
+  private RouteService routeService;
+
   @Autowired
   private MockMvc mockMvc;
 
+  @TempDir
+  Path uploadDirectory;
+
   private Long dlvIdOk = 1L;
   private String dlvReceiverNameOk = "Alberto Santos Dumont";
   private String dlvAddressOk = "Avenida Ayrton Senna, 2541 - Barra da Tijuca, Rio de Janeiro - RJ";
@@ -79,6 +116,8 @@ class DeliveryControllerTest {
   private Float dlvInvalidWeight = 12.01F;
 
   private Long videoIdOk = 1L;
+  private String sendfileSupport = "org.apache.tomcat.sendfile.support";
+  private String sendfileFilename = "org.apache.tomcat.sendfile.filename";
   private String videoNameOk = "BR01-2022-05-30-101010.mp4";
   private Long videoSizeOk = 8888938L;
   private Long videoIdOkToo = 2L;
@@ -241,12 +280,13 @@ class DeliveryControllerTest {
   @DisplayName("2.1. A rota POST /delivery/{id}/uploadVideo, com nome do video correto"
       + " não possuindo um vídeo deve retornar status 200 e body contendo os dados da entrega.")
   public void uploadVideoOk() throws Exception {
-    when(deliveryService.getVideoByName(videoNameOk)).thenReturn(null);
+    when(deliveryService.existsVideoByName(videoNameOk)).thenReturn(false);
 
     MockMultipartFile multipartFile = new MockMultipartFile("video", videoNameOk, "video.mp4",
         "New drone video".getBytes());
 
-    doNothing().when(deliveryService).saveFile(videoNameOk, multipartFile);
+    when(deliveryService.saveFile(eq(videoNameOk), any(MultipartFile.class)))
+        .thenReturn(new Video(videoNameOk, videoSizeOk));
 
     Delivery delivery = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk, dlvLatitudeOk,
         dlvLongitudeOk, dlvWeightInKgOk);
@@ -352,12 +392,13 @@ class DeliveryControllerTest {
   @DisplayName("2.7. A rota POST /delivery/{id}/uploadVideo, sem o id cadastrado na banco de dados,"
       + " deve retornar status 404 e body contendo a mensagem de erro.")
   public void uploadWithIdNotFound() throws Exception {
-    when(deliveryService.getVideoByName(videoNameOk)).thenReturn(null);
+    when(deliveryService.existsVideoByName(videoNameOk)).thenReturn(false);
 
     MockMultipartFile multipartFile = new MockMultipartFile("video", videoNameOk, "video.mp4",
         "New drone video".getBytes());
 
-    doNothing().when(deliveryService).saveFile(videoNameOk, multipartFile);
+    when(deliveryService.saveFile(eq(videoNameOk), any(MultipartFile.class)))
+        .thenReturn(new Video(videoNameOk, videoSizeOk));
 
     when(deliveryService.addVideo(any(Long.class), any(Video.class))).thenThrow(
         new InputNotFoundException("Delivery id not found."));
@@ -374,9 +415,7 @@ class DeliveryControllerTest {
   @DisplayName("2.8. A rota POST /delivery/{id}/uploadVideo, com nome do video correto"
       + " possuindo um vídeo deve retornar status XXX0 e body contendo a mensagem de erro.")
   public void uploadVideoAlreadyWithVideo() throws Exception {
-    Video video = new Video(videoNameOk, videoSizeOk);
-    video.setId(videoIdOk);
-    when(deliveryService.getVideoByName(videoNameOk)).thenReturn(video);
+    when(deliveryService.existsVideoByName(videoNameOk)).thenReturn(true);
 
     MockMultipartFile multipartFile = new MockMultipartFile("video", videoNameOk, "video.mp4",
         "New drone video".getBytes());
@@ -388,20 +427,80 @@ class DeliveryControllerTest {
     .andExpect(jsonPath("$.error", is("The video already exists.")));
   }
 
+  @Test
+  @Order(15)
+  @DisplayName("2.9. A rota PUT /delivery/{id}/uploadVideo/{videoName}, com o vídeo no corpo da"
+      + " requisição, deve retornar status 201 e body contendo os dados da entrega.")
+  public void streamVideoOk() throws Exception {
+    byte[] content = "New drone video".getBytes();
+    when(deliveryService.existsVideoByName(videoNameOk)).thenReturn(false);
+    when(deliveryService.saveStream(any(String.class), any(InputStream.class), anyLong()))
+        .thenReturn(new Video(videoNameOk, (long) content.length));
+
+    Delivery delivery = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk, dlvLatitudeOk,
+        dlvLongitudeOk, dlvWeightInKgOk);
+    delivery.setId(dlvIdOk);
+    Video video = new Video(videoNameOk, (long) content.length);
+    video.setId(videoIdOk);
+    delivery.setVideo(video);
+    when(deliveryService.addVideo(any(Long.class), any(Video.class))).thenReturn(delivery);
+
+    MvcResult mvcResult = this.mockMvc.perform(
+        put("/delivery/" + dlvIdOk + "/uploadVideo/" + videoNameOk)
+        .contentType(MediaType.APPLICATION_OCTET_STREAM).content(content)
+    ).andExpect(request().asyncStarted()).andReturn();
+
+    this.mockMvc.perform(asyncDispatch(mvcResult))
+    .andExpect(status().isCreated())
+    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+    .andExpect(jsonPath("$.id", is(delivery.getId().intValue())))
+    .andExpect(jsonPath("$.videoName", is(videoNameOk)));
+  }
+
+  @Test
+  @Order(15)
+  @DisplayName("2.10. A rota PUT /delivery/{id}/uploadVideo/{videoName}, com o vídeo acima do"
+      + " tamanho máximo, deve retornar status 413 e body contendo a mensagem de erro.")
+  public void streamVideoTooLarge() throws Exception {
+    when(deliveryService.existsVideoByName(videoNameOk)).thenReturn(false);
+    when(deliveryService.saveStream(any(String.class), any(InputStream.class), anyLong()))
+        .thenThrow(new PayloadTooLargeException("The video exceeded the upload size limit."));
+
+    MvcResult mvcResult = this.mockMvc.perform(
+        put("/delivery/" + dlvIdOk + "/uploadVideo/" + videoNameOk)
+        .contentType(MediaType.APPLICATION_OCTET_STREAM).content("New drone video".getBytes())
+    ).andExpect(request().asyncStarted()).andReturn();
+
+    this.mockMvc.perform(asyncDispatch(mvcResult))
+    .andExpect(status().isPayloadTooLarge())
+    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+    .andExpect(jsonPath("$.error", is("The video exceeded the upload size limit.")));
+  }
+
+  @Test
+  @Order(15)
+  @DisplayName("2.11. A rota PUT /delivery/{id}/uploadVideo/{videoName}, com o nome do video"
+      + " inválido, deve retornar status 400 e body contendo a mensagem de erro.")
+  public void streamVideoWithInvalidName() throws Exception {
+    this.mockMvc.perform(put("/delivery/" + dlvIdOk + "/uploadVideo/" + vdoNameInvalidFormat)
+        .contentType(MediaType.APPLICATION_OCTET_STREAM).content("New drone video".getBytes())
+    ).andExpect(status().isBadRequest())
+    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+    .andExpect(jsonPath("$.error", containsString("The video format isn't correct.")));
+  }
+
   @Test
   @Order(16)
   @DisplayName("3. A rota GET /delivery/allVideos, deve retornar status 200 e body contendo a lista"
       + " de videos cadastradas.")
   public void getAllVideos() throws Exception {
-    Video videoA = new Video(videoNameOk, videoSizeOk);
-    videoA.setId(videoIdOk);
-    Video videoB = new Video(videoNameOkToo, videoSizeOkToo);
-    videoB.setId(videoIdOkToo);
-    List<Video> allVideos = new ArrayList<Video>();
+    VideoResponse videoA = new VideoResponse(videoIdOk, videoNameOk, videoSizeOk, null);
+    VideoResponse videoB = new VideoResponse(videoIdOkToo, videoNameOkToo, videoSizeOkToo, null);
+    List<VideoResponse> allVideos = new ArrayList<VideoResponse>();
     allVideos.add(videoA);
     allVideos.add(videoB);
 
-    when(deliveryService.getAllVideos()).thenReturn(allVideos);
+    when(deliveryService.getAllVideos(null, 0, 100)).thenReturn(new SliceImpl<>(allVideos));
 
     this.mockMvc.perform(get("/delivery/allVideos"))
         .andExpect(status().isOk())
@@ -461,17 +560,18 @@ class DeliveryControllerTest {
   @DisplayName("5. A rota GET /delivery/all, deve retornar status 200 e body contendo a lista"
       + " de entrgas cadastradas.")
   public void getAllDeliveries() throws Exception {
-    Delivery deliveryA = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk, dlvLatitudeOk,
-        dlvLongitudeOk, dlvWeightInKgOk);
-    deliveryA.setId(dlvIdOk);
-    Delivery deliveryB = new Delivery(dlvReceiverNameOkToo, dlvAddressOkToo, dlvZipCodeOkToo,
-        dlvLatitudeOkToo, dlvLongitudeOkToo, dlvWeightInKgOkToo);
-    deliveryB.setId(dlvIdOkToo);
-    List<Delivery> allDeliveries = new ArrayList<Delivery>();
+    DeliveryResponse deliveryA = new DeliveryResponse(dlvIdOk, dlvReceiverNameOk, dlvAddressOk,
+        dlvZipCodeOk, dlvLatitudeOk, dlvLongitudeOk, DeliveryStatus.TO_DELIVER, dlvWeightInKgOk,
+        null);
+    DeliveryResponse deliveryB = new DeliveryResponse(dlvIdOkToo, dlvReceiverNameOkToo,
+        dlvAddressOkToo, dlvZipCodeOkToo, dlvLatitudeOkToo, dlvLongitudeOkToo,
+        DeliveryStatus.TO_DELIVER, dlvWeightInKgOkToo, null);
+    List<DeliveryResponse> allDeliveries = new ArrayList<DeliveryResponse>();
     allDeliveries.add(deliveryA);
     allDeliveries.add(deliveryB);
 
-    when(deliveryService.getAllDeliveries()).thenReturn(allDeliveries);
+    when(deliveryService.getAllDeliveries(null, 0, 100)).thenReturn(
+        new SliceImpl<>(allDeliveries));
 
     this.mockMvc.perform(get("/delivery/all"))
         .andExpect(status().isOk())
@@ -750,13 +850,18 @@ class DeliveryControllerTest {
     when(deliveryService.getDeliveryById(dlvIdOk)).thenReturn(delivery);
 
     Resource videoResource = VideoDownloadControllerMock.getMockedResource(videoNameOk);
-    when(deliveryService.getVideoAsResource(videoNameOk)).thenReturn(videoResource);
+    when(deliveryService.getVideoAsResource(any(Video.class))).thenReturn(videoResource);
 
-    this.mockMvc.perform(
+    MvcResult mvcResult = this.mockMvc.perform(
         get("/delivery/" + dlvIdOk + "/downloadVideo")
-    ).andExpect(status().isOk())
+    ).andExpect(request().asyncStarted()).andReturn();
+
+    this.mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("video/mp4"))
+        .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
         .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
-            "attachment; filename=\"" + videoResource.getFilename() + "\""))
+            "inline; filename=\"" + videoResource.getFilename() + "\""))
         .andExpect(content().bytes(videoNameOk.getBytes()));
   }
 
@@ -806,7 +911,7 @@ class DeliveryControllerTest {
     video.setId(videoIdOk);
     delivery.setVideo(video);
     when(deliveryService.getDeliveryById(dlvIdOk)).thenReturn(delivery);
-    when(deliveryService.getVideoAsResource(videoNameOk)).thenReturn(null);
+    when(deliveryService.getVideoAsResource(any(Video.class))).thenReturn(null);
 
     this.mockMvc.perform(
         get("/delivery/" + dlvIdOk + "/downloadVideo")
@@ -828,7 +933,7 @@ class DeliveryControllerTest {
     video.setId(videoIdOk);
     delivery.setVideo(video);
     when(deliveryService.getDeliveryById(dlvIdOk)).thenReturn(delivery);
-    when(deliveryService.getVideoAsResource(videoNameOk)).thenThrow(new IOException());
+    when(deliveryService.getVideoAsResource(any(Video.class))).thenThrow(new IOException());
 
     this.mockMvc.perform(
         get("/delivery/" + dlvIdOk + "/downloadVideo")
@@ -837,6 +942,149 @@ class DeliveryControllerTest {
     .andExpect(jsonPath("$.error", is("Internal server error in video finding.")));
   }
   
+  @Test
+  @Order(36)
+  @DisplayName("9.6. A rota GET /delivery/{id}/downloadVideo, com o header Range, deve retornar"
+      + " status 206 e body contendo apenas o intervalo de bytes solicitado.")
+  public void downloadVideoRange() throws Exception {
+    Delivery delivery = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk, dlvLatitudeOk,
+        dlvLongitudeOk, dlvWeightInKgOk);
+    delivery.setId(dlvIdOk);
+    Video video = new Video(videoNameOk, videoSizeOk);
+    video.setId(videoIdOk);
+    delivery.setVideo(video);
+    when(deliveryService.getDeliveryById(dlvIdOk)).thenReturn(delivery);
+
+    Path videoPath = uploadDirectory.resolve(videoNameOk);
+    Files.write(videoPath, "0123456789".getBytes());
+    when(deliveryService.getVideoAsResource(any(Video.class)))
+        .thenReturn(new FileSystemResource(videoPath));
+
+    MvcResult mvcResult = this.mockMvc.perform(
+        get("/delivery/" + dlvIdOk + "/downloadVideo").header(HttpHeaders.RANGE, "bytes=2-5")
+    ).andExpect(request().asyncStarted()).andReturn();
+
+    this.mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+        .andExpect(content().bytes("2345".getBytes()));
+  }
+
+  @Test
+  @Order(36)
+  @DisplayName("9.7. A rota GET /delivery/{id}/downloadVideo, com o header If-Range diferente do"
+      + " ETag do vídeo, deve ignorar o Range e retornar status 200 com o vídeo completo.")
+  public void downloadVideoIfRangeMismatch() throws Exception {
+    Delivery delivery = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk, dlvLatitudeOk,
+        dlvLongitudeOk, dlvWeightInKgOk);
+    delivery.setId(dlvIdOk);
+    Video video = new Video(videoNameOk, videoSizeOk);
+    video.setId(videoIdOk);
+    delivery.setVideo(video);
+    when(deliveryService.getDeliveryById(dlvIdOk)).thenReturn(delivery);
+
+    Resource videoResource = VideoDownloadControllerMock.getMockedResource(videoNameOk);
+    when(deliveryService.getVideoAsResource(any(Video.class))).thenReturn(videoResource);
+
+    MvcResult mvcResult = this.mockMvc.perform(
+        get("/delivery/" + dlvIdOk + "/downloadVideo").header(HttpHeaders.RANGE, "bytes=0-3")
+            .header(HttpHeaders.IF_RANGE, "\"outdated\"")
+    ).andExpect(request().asyncStarted()).andReturn();
+
+    this.mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(videoNameOk.getBytes()));
+  }
+
+  @Test
+  @Order(36)
+  @DisplayName("9.8. A rota GET /delivery/{id}/downloadVideo, com um Range além do tamanho do"
+      + " vídeo, deve retornar status 416.")
+  public void downloadVideoRangeNotSatisfiable() throws Exception {
+    Delivery delivery = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk, dlvLatitudeOk,
+        dlvLongitudeOk, dlvWeightInKgOk);
+    delivery.setId(dlvIdOk);
+    Video video = new Video(videoNameOk, videoSizeOk);
+    video.setId(videoIdOk);
+    delivery.setVideo(video);
+    when(deliveryService.getDeliveryById(dlvIdOk)).thenReturn(delivery);
+
+    Resource videoResource = VideoDownloadControllerMock.getMockedResource(videoNameOk);
+    when(deliveryService.getVideoAsResource(any(Video.class))).thenReturn(videoResource);
+
+    this.mockMvc.perform(
+        get("/delivery/" + dlvIdOk + "/downloadVideo").header(HttpHeaders.RANGE, "bytes=1000-")
+    ).andExpect(status().isRequestedRangeNotSatisfiable())
+    .andExpect(header().string(HttpHeaders.CONTENT_RANGE,
+        "bytes */" + videoNameOk.getBytes().length));
+  }
+
+  @Test
+  @Order(36)
+  @DisplayName("9.9. A rota GET /delivery/{id}/downloadVideo, com o header If-None-Match igual ao"
+      + " ETag do vídeo, deve retornar status 304 sem body.")
+  public void downloadVideoNotModified() throws Exception {
+    Resource videoResource = mockVideoFile();
+    String eTag = ResourceRegionWriter.eTag(videoResource.lastModified(),
+        videoResource.contentLength());
+
+    this.mockMvc.perform(
+        get("/delivery/" + dlvIdOk + "/downloadVideo").header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .requestAttr(sendfileSupport, true)
+    ).andExpect(status().isNotModified())
+    .andExpect(header().string(HttpHeaders.ETAG, eTag))
+    .andExpect(request().attribute(sendfileFilename, nullValue()))
+    .andExpect(content().bytes(new byte[0]));
+  }
+
+  @Test
+  @Order(36)
+  @DisplayName("9.10. A rota HEAD /delivery/{id}/downloadVideo deve retornar os headers do vídeo"
+      + " sem body.")
+  public void headVideo() throws Exception {
+    mockVideoFile();
+
+    this.mockMvc.perform(
+        head("/delivery/" + dlvIdOk + "/downloadVideo").requestAttr(sendfileSupport, true)
+    ).andExpect(status().isOk())
+    .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+    .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+    .andExpect(request().attribute(sendfileFilename, nullValue()))
+    .andExpect(content().bytes(new byte[0]));
+  }
+
+  @Test
+  @Order(36)
+  @DisplayName("9.11. A rota GET /delivery/{id}/downloadVideo, com sendfile disponível, deve"
+      + " entregar o arquivo ao container.")
+  public void downloadVideoSendfile() throws Exception {
+    Resource videoResource = mockVideoFile();
+
+    this.mockMvc.perform(
+        get("/delivery/" + dlvIdOk + "/downloadVideo").requestAttr(sendfileSupport, true)
+    ).andExpect(status().isOk())
+    .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+    .andExpect(request().attribute(sendfileFilename,
+        videoResource.getFile().getAbsolutePath()));
+  }
+
+  private Resource mockVideoFile() throws Exception {
+    Delivery delivery = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk, dlvLatitudeOk,
+        dlvLongitudeOk, dlvWeightInKgOk);
+    delivery.setId(dlvIdOk);
+    Video video = new Video(videoNameOk, videoSizeOk);
+    video.setId(videoIdOk);
+    delivery.setVideo(video);
+    when(deliveryService.getDeliveryById(dlvIdOk)).thenReturn(delivery);
+
+    Path videoPath = uploadDirectory.resolve(videoNameOk);
+    Files.write(videoPath, "0123456789".getBytes());
+    Resource videoResource = new FileSystemResource(videoPath);
+    when(deliveryService.getVideoAsResource(any(Video.class))).thenReturn(videoResource);
+    return videoResource;
+  }
+  
   @Test
   @Order(37)
   @DisplayName("10.1. A rota DELETE /delivery/{id}/deleteVideo, com o id cadastrado na banco de"
@@ -854,7 +1102,7 @@ class DeliveryControllerTest {
     Delivery deliveryB = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk, dlvLatitudeOk,
         dlvLongitudeOk, dlvWeightInKgOk);
     deliveryB.setId(dlvIdOk);
-    when(deliveryService.deleteVideo(dlvIdOk, videoNameOk)).thenReturn(deliveryB);
+    when(deliveryService.deleteVideo(dlvIdOk)).thenReturn(deliveryB);
 
     this.mockMvc.perform(delete("/delivery/" + dlvIdOk + "/deleteVideo"))
         .andExpect(status().isOk())
@@ -901,6 +1149,318 @@ class DeliveryControllerTest {
         .andExpect(jsonPath("$.error", is("Delivery id not found.")));
   }
 
+  @Test
+  @Order(40)
+  @DisplayName("11.1. A rota GET /delivery/all, com mais entregas do que o tamanho da página, deve"
+      + " retornar o id da última entrega como cursor da próxima página.")
+  public void getAllDeliveriesWithNextCursor() throws Exception {
+    DeliveryResponse delivery = new DeliveryResponse(dlvIdOk, dlvReceiverNameOk, dlvAddressOk,
+        dlvZipCodeOk, dlvLatitudeOk, dlvLongitudeOk, DeliveryStatus.TO_DELIVER, dlvWeightInKgOk,
+        null);
+    List<DeliveryResponse> firstPage = new ArrayList<DeliveryResponse>();
+    firstPage.add(delivery);
+
+    when(deliveryService.getAllDeliveries(null, 0, 1)).thenReturn(
+        new SliceImpl<>(firstPage, PageRequest.of(0, 1), true));
+
+    this.mockMvc.perform(get("/delivery/all").param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(header().string(PageHeaders.NEXT_CURSOR, dlvIdOk.toString()))
+        .andExpect(header().string(HttpHeaders.LINK,
+            containsString("afterId=" + dlvIdOk)));
+  }
+
+  @Test
+  @Order(41)
+  @DisplayName("11.2. A rota GET /delivery/all, com o tamanho de página inválido, deve retornar"
+      + " status 400 e body contendo a mensagem de erro.")
+  public void getAllDeliveriesWithInvalidPageSize() throws Exception {
+    this.mockMvc.perform(get("/delivery/all").param("size", "0"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.error", is("The page size must be between 1 and 1000.")));
+  }
+
+  @Test
+  @Order(42)
+  @DisplayName("12. A rota GET /delivery/export deve retornar status 200 e body contendo uma"
+      + " entrega por linha em NDJSON.")
+  public void exportDeliveries() throws Exception {
+    Delivery deliveryA = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk, dlvLatitudeOk,
+        dlvLongitudeOk, dlvWeightInKgOk);
+    deliveryA.setId(dlvIdOk);
+    Delivery deliveryB = new Delivery(dlvReceiverNameOkToo, dlvAddressOkToo, dlvZipCodeOkToo,
+        dlvLatitudeOkToo, dlvLongitudeOkToo, dlvWeightInKgOkToo);
+    deliveryB.setId(dlvIdOkToo);
+
+    doAnswer(invocation -> {
+      Consumer<Delivery> action = invocation.getArgument(0);
+      action.accept(deliveryA);
+      action.accept(deliveryB);
+      return null;
+    }).when(deliveryService).exportDeliveries(any());
+
+    MvcResult mvcResult = this.mockMvc.perform(get("/delivery/export"))
+        .andExpect(request().asyncStarted()).andReturn();
+
+    String body = this.mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andReturn().getResponse().getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertEquals(2, lines.length);
+    assertEquals(dlvIdOk.intValue(), (int) JsonPath.read(lines[0], "$.id"));
+    assertEquals(dlvReceiverNameOk, JsonPath.read(lines[0], "$.receiverName"));
+    assertEquals("None", JsonPath.read(lines[0], "$.videoName"));
+    assertEquals(dlvIdOkToo.intValue(), (int) JsonPath.read(lines[1], "$.id"));
+    assertEquals(dlvReceiverNameOkToo, JsonPath.read(lines[1], "$.receiverName"));
+  }
+
+  @Test
+  @Order(43)
+  @DisplayName("13.1. A rota POST /delivery/new, com vários campos inválidos, deve retornar status"
+      + " 400 e body contendo a primeira mensagem de erro e a lista com todas elas.")
+  public void postDeliveryWithManyInvalidFields() throws Exception {
+    DeliveryDto deliveryDto = new DeliveryDto();
+    deliveryDto.setReceiverName(dlvReceiverNameOk);
+    deliveryDto.setAddress(dlvAddressOk);
+    deliveryDto.setZipCode(dlvInvalidZipCode);
+    deliveryDto.setLatitude(dlvInvalidLatitude);
+    deliveryDto.setLongitude(dlvInvalidLongitude);
+    deliveryDto.setWeightInKg(dlvInvalidWeight);
+
+    this.mockMvc.perform(post("/delivery/new")
+        .contentType(MediaType.APPLICATION_JSON).content(asJsonString(deliveryDto))
+    ).andExpect(status().isBadRequest())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.error", is("Zip code isn't in default format (12345-123).")))
+        .andExpect(jsonPath("$.errors", hasSize(4)))
+        .andExpect(jsonPath("$.errors[1]", is("Latitude isn't in the format.")))
+        .andExpect(jsonPath("$.errors[2]", is("Longitude isn't in the format.")))
+        .andExpect(jsonPath("$.errors[3]", is("The weight exceeded the limit (12Kg).")));
+  }
+
+  @Test
+  @Order(44)
+  @DisplayName("13.2. A rota POST /delivery/{id}/uploadVideo, com o nome do video possuindo drone,"
+      + " formato e data inválidos, deve retornar status 400 e body contendo todas as mensagens"
+      + " de erro.")
+  public void uploadContainVideoNameWithManyErrors() throws Exception {
+    MockMultipartFile multipartFile = new MockMultipartFile("video", "DR*N-2022-05-30-251010.mp3",
+        "video/mp4", "video".getBytes());
+
+    this.mockMvc.perform(multipart("/delivery/" + dlvIdOk + "/uploadVideo").file(multipartFile))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error", containsString("The default drone name isn't correct.")))
+        .andExpect(jsonPath("$.errors", hasSize(3)))
+        .andExpect(jsonPath("$.errors[1]", containsString("The video format isn't correct.")))
+        .andExpect(jsonPath("$.errors[2]",
+            containsString("The delivery date-time isn't correct.")));
+  }
+
+  @Test
+  @Order(45)
+  @DisplayName("14.1. A rota POST /delivery/batch, com entregas válidas e inválidas, deve retornar"
+      + " status 201 e body contendo o resultado de cada entrega na ordem da requisição.")
+  public void postDeliveryBatch() throws Exception {
+    DeliveryDto deliveryDtoA = new DeliveryDto();
+    deliveryDtoA.setReceiverName(dlvReceiverNameOk);
+    deliveryDtoA.setAddress(dlvAddressOk);
+    deliveryDtoA.setZipCode(dlvZipCodeOk);
+    deliveryDtoA.setLatitude(dlvLatitudeOk);
+    deliveryDtoA.setLongitude(dlvLongitudeOk);
+    deliveryDtoA.setWeightInKg(dlvWeightInKgOk);
+    DeliveryDto deliveryDtoB = new DeliveryDto();
+    deliveryDtoB.setReceiverName(dlvReceiverNameOkToo);
+    deliveryDtoB.setAddress(dlvAddressOkToo);
+    deliveryDtoB.setZipCode(dlvInvalidZipCode);
+    deliveryDtoB.setLatitude(dlvLatitudeOkToo);
+    deliveryDtoB.setLongitude(dlvLongitudeOkToo);
+    deliveryDtoB.setWeightInKg(dlvWeightInKgOkToo);
+    List<DeliveryDto> batch = new ArrayList<DeliveryDto>();
+    batch.add(deliveryDtoA);
+    batch.add(deliveryDtoB);
+    batch.add(deliveryDtoA);
+
+    Delivery deliveryA = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk, dlvLatitudeOk,
+        dlvLongitudeOk, dlvWeightInKgOk);
+    deliveryA.setId(dlvIdOk);
+    Delivery deliveryC = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk, dlvLatitudeOk,
+        dlvLongitudeOk, dlvWeightInKgOk);
+    deliveryC.setId(dlvIdOkToo);
+    List<Delivery> created = new ArrayList<Delivery>();
+    created.add(deliveryA);
+    created.add(deliveryC);
+    when(deliveryService.addDeliveries(any())).thenReturn(created);
+
+    this.mockMvc.perform(post("/delivery/batch")
+        .contentType(MediaType.APPLICATION_JSON).content(asJsonString(batch)))
+        .andExpect(status().isCreated())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.created", is(2)))
+        .andExpect(jsonPath("$.rejected", is(1)))
+        .andExpect(jsonPath("$.items", hasSize(3)))
+        .andExpect(jsonPath("$.items[0].result", is("CREATED")))
+        .andExpect(jsonPath("$.items[0].id", is(dlvIdOk.intValue())))
+        .andExpect(jsonPath("$.items[1].result", is("REJECTED")))
+        .andExpect(jsonPath("$.items[1].errors[0]",
+            is("Zip code isn't in default format (12345-123).")))
+        .andExpect(jsonPath("$.items[2].index", is(2)))
+        .andExpect(jsonPath("$.items[2].id", is(dlvIdOkToo.intValue())));
+  }
+
+  @Test
+  @Order(46)
+  @DisplayName("14.2. A rota POST /delivery/batch, sem entregas, deve retornar status 400 e body"
+      + " contendo a mensagem de erro.")
+  public void postEmptyDeliveryBatch() throws Exception {
+    this.mockMvc.perform(post("/delivery/batch")
+        .contentType(MediaType.APPLICATION_JSON).content("[]"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error", is("The batch must have between 1 and 5000 deliveries.")));
+  }
+
+  @Test
+  @Order(47)
+  @DisplayName("15.1. A rota PUT /delivery/bulk/status, com a lista de ids, deve retornar status"
+      + " 200 e body contendo a quantidade de entregas alteradas.")
+  public void updateDeliveriesStatus() throws Exception {
+    DeliveryBulkDto bulk = new DeliveryBulkDto();
+    bulk.setIds(List.of(dlvIdOk, dlvIdOkToo));
+    bulk.setNewStatus(DeliveryStatus.DELIVERED);
+
+    when(deliveryService.updateDeliveriesStatus(any())).thenReturn(2);
+
+    this.mockMvc.perform(put("/delivery/bulk/status")
+        .contentType(MediaType.APPLICATION_JSON).content(asJsonString(bulk)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.count", is(2)))
+        .andExpect(jsonPath("$.message", is("2 deliveries have been moved to DELIVERED.")));
+  }
+
+  @Test
+  @Order(48)
+  @DisplayName("15.2. A rota PUT /delivery/bulk/status, selecionando por ids e por status ao mesmo"
+      + " tempo, deve retornar status 400 e body contendo a mensagem de erro.")
+  public void updateDeliveriesStatusWithTwoFilters() throws Exception {
+    DeliveryBulkDto bulk = new DeliveryBulkDto();
+    bulk.setIds(List.of(dlvIdOk));
+    bulk.setStatus(DeliveryStatus.TO_DELIVER);
+    bulk.setNewStatus(DeliveryStatus.DELIVERED);
+
+    this.mockMvc.perform(put("/delivery/bulk/status")
+        .contentType(MediaType.APPLICATION_JSON).content(asJsonString(bulk)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error", is("The deliveries must be selected by ids or by status.")));
+  }
+
+  @Test
+  @Order(49)
+  @DisplayName("15.3. A rota POST /delivery/bulk/delete, com o status, deve retornar status 200 e"
+      + " body contendo a quantidade de entregas removidas.")
+  public void removeDeliveries() throws Exception {
+    DeliveryBulkDto bulk = new DeliveryBulkDto();
+    bulk.setStatus(DeliveryStatus.DELIVERED);
+
+    when(deliveryService.removeDeliveries(any())).thenReturn(7);
+
+    this.mockMvc.perform(post("/delivery/bulk/delete")
+        .contentType(MediaType.APPLICATION_JSON).content(asJsonString(bulk)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.count", is(7)))
+        .andExpect(jsonPath("$.message", is("7 deliveries have been removed.")));
+  }
+
+  @Test
+  @Order(50)
+  @DisplayName("16.1. A rota POST /delivery/dispatch deve retornar status 200 e body contendo as"
+      + " entregas atribuídas a um drone e a quantidade de entregas sem drone.")
+  public void dispatchDeliveries() throws Exception {
+    Drone drone = new Drone("G305", "Onixstar Hydra - 12", 12F);
+    drone.setId(3L);
+    Delivery assigned = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk,
+        dlvLatitudeOk, dlvLongitudeOk, 10F);
+    assigned.setId(dlvIdOk);
+    assigned.setDrone(drone);
+    Delivery unassigned = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk,
+        dlvLatitudeOk, dlvLongitudeOk, 5F);
+    unassigned.setId(dlvIdOkToo);
+
+    when(dispatchService.dispatch(100)).thenReturn(List.of(assigned, unassigned));
+
+    this.mockMvc.perform(post("/delivery/dispatch?limit=100"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.assigned", is(1)))
+        .andExpect(jsonPath("$.unassigned", is(1)))
+        .andExpect(jsonPath("$.assignments", hasSize(1)))
+        .andExpect(jsonPath("$.assignments[0].deliveryId", is(dlvIdOk.intValue())))
+        .andExpect(jsonPath("$.assignments[0].droneName", is("G305")));
+  }
+
+  @Test
+  @Order(51)
+  @DisplayName("16.2. A rota POST /delivery/dispatch, com o limite fora do intervalo, deve retornar"
+      + " status 400 e body contendo a mensagem de erro.")
+  public void dispatchDeliveriesWithInvalidLimit() throws Exception {
+    this.mockMvc.perform(post("/delivery/dispatch?limit=0"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error", is("The dispatch limit must be between 1 and 5000.")));
+  }
+
+  @Test
+  @Order(52)
+  @DisplayName("17.1. A rota GET /delivery/near, com o raio fora do intervalo, deve retornar"
+      + " status 400 e body contendo a mensagem de erro.")
+  public void getDeliveriesNearWithInvalidRadius() throws Exception {
+    this.mockMvc.perform(get("/delivery/near?latitude=-22.9&longitude=-43.2&radiusInKm=500"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error",
+            is("The radius must be greater than 0 and at most 100 km.")));
+  }
+
+  @Test
+  @Order(53)
+  @DisplayName("17.2. A rota GET /delivery/within, com o canto mínimo maior que o máximo, deve"
+      + " retornar status 400 e body contendo a mensagem de erro.")
+  public void getDeliveriesWithinWithInvalidBox() throws Exception {
+    this.mockMvc.perform(get("/delivery/within?minLatitude=-22&minLongitude=-43"
+        + "&maxLatitude=-23&maxLongitude=-44"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error",
+            is("The minimum corner of the box can't be greater than the maximum corner.")));
+  }
+
+  @Test
+  @Order(54)
+  @DisplayName("18.1. A rota GET /delivery/routes deve retornar status 200 e body contendo as"
+      + " saídas planejadas para cada drone.")
+  public void planRoutes() throws Exception {
+    SortieResponse sortie = new SortieResponse();
+    sortie.setDroneId(3L);
+    sortie.setDroneName("G305");
+    sortie.setSortie(1);
+    sortie.setWeightInKg(7.7F);
+    sortie.setDistanceInKm(4.2);
+    sortie.setDeliveryIds(List.of(dlvIdOkToo, dlvIdOk));
+    RoutePlanResponse plan = new RoutePlanResponse();
+    plan.setSorties(List.of(sortie));
+    plan.setRouted(2);
+    plan.setDistanceInKm(4.2);
+    plan.setUnrouted(List.of());
+
+    when(routeService.planWave()).thenReturn(plan);
+
+    this.mockMvc.perform(get("/delivery/routes"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.routed", is(2)))
+        .andExpect(jsonPath("$.sorties", hasSize(1)))
+        .andExpect(jsonPath("$.sorties[0].droneName", is("G305")))
+        .andExpect(jsonPath("$.sorties[0].deliveryIds[0]", is(dlvIdOkToo.intValue())))
+        .andExpect(jsonPath("$.unrouted", hasSize(0)));
+  }
+
   static String asJsonString(Object obj) {
     try {
       return new ObjectMapper().writeValueAsString(obj);
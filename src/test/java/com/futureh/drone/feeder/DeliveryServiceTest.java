@@ -1,33 +1,58 @@
 package com.futureh.drone.feeder;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.futureh.drone.feeder.dto.DeliveryDto;
 import com.futureh.drone.feeder.exception.InputNotFoundException;
 import com.futureh.drone.feeder.exception.IntServerErrorInVideoFinding;
+import com.futureh.drone.feeder.exception.PayloadTooLargeException;
 import com.futureh.drone.feeder.exception.WrongInputDataException;
 import com.futureh.drone.feeder.model.Delivery;
 import com.futureh.drone.feeder.model.Drone;
 import com.futureh.drone.feeder.model.Video;
 import com.futureh.drone.feeder.repository.DeliveryRepository;
 import com.futureh.drone.feeder.repository.VideoRepository;
+import com.futureh.drone.feeder.response.DeliveryResponse;
+import com.futureh.drone.feeder.response.VideoResponse;
 import com.futureh.drone.feeder.service.DeliveryService;
 import com.futureh.drone.feeder.service.DroneService;
-import java.io.File;
+import com.futureh.drone.feeder.service.MetricsService;
+import com.futureh.drone.feeder.service.VideoProcessingService;
+import com.futureh.drone.feeder.storage.StoredBlob;
+import com.futureh.drone.feeder.storage.VideoStorage;
+import com.futureh.drone.feeder.util.DeliveryStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.CopyOption;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Order;
@@ -35,12 +60,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
-import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -59,6 +89,18 @@ class DeliveryServiceTest {
   @Mock
   private DroneService droneService;
 
+  @Mock
+  private VideoStorage videoStorage;
+
+  @Mock
+  private VideoProcessingService videoProcessingService;
+
+  @Mock
+  private EntityManager entityManager;
+
+  @Spy
+  private MetricsService metricsService = new MetricsService(new SimpleMeterRegistry());
+
   private Long dlvIdOk = 1L;
   private String dlvReceiverNameOk = "Alberto Santos Dumont";
   private String dlvAddressOk = "Avenida Ayrton Senna, 2541 - Barra da Tijuca, Rio de Janeiro - RJ";
@@ -81,6 +123,8 @@ class DeliveryServiceTest {
   private String videoNameOkToo = "BR01-2022-05-29-111111.mp4";
   private Long videoSizeOkToo = 7777827L;
   private String videoNameEmpty = "";
+  private String videoChecksumOk =
+      "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
 
   private Long drnIdOk = 1L;
   private String drnNameOk = "BR01";
@@ -130,13 +174,8 @@ class DeliveryServiceTest {
     Drone drone = new Drone(drnNameOk, drnModelOk, drnCpWeightOk);
     drone.setId(drnIdOk);
     videoA.setDrone(drone);
-    Video videoB = new Video(videoNameOkToo, videoSizeOkToo);
-    videoB.setId(videoIdOkToo);
-    List<Video> allVideos = new ArrayList<Video>();
-    allVideos.add(videoA);
-    allVideos.add(videoB);
 
-    when(videoRepository.findAll()).thenReturn(allVideos);
+    when(videoRepository.findByFileName(videoNameOk)).thenReturn(Optional.of(videoA));
 
     Video videoFound = deliveryService.getVideoByName(videoNameOk);
 
@@ -146,6 +185,17 @@ class DeliveryServiceTest {
     assertEquals(videoFound.getDrone().getId(), videoA.getDrone().getId());
   }
 
+  @Test
+  @Order(2)
+  @DisplayName("2.1. Verifica se o método existsVideoByName --------------------> Ok.")
+  public void existsVideoByNameOk() throws Exception {
+    when(videoRepository.existsByFileName(videoNameOk)).thenReturn(true);
+    when(videoRepository.existsByFileName(notExistentVideoName)).thenReturn(false);
+
+    assertEquals(deliveryService.existsVideoByName(videoNameOk), true);
+    assertEquals(deliveryService.existsVideoByName(notExistentVideoName), false);
+  }
+
   @Test
   @Order(3)
   @DisplayName("3.1. saveFile --------------------> Ok.")
@@ -153,11 +203,13 @@ class DeliveryServiceTest {
     MockMultipartFile multipartFile = new MockMultipartFile("video", videoNameOk, "video.mp4",
         "New drone video".getBytes());
 
-    try (MockedStatic<Files> utilities = Mockito.mockStatic(Files.class)) {
-      utilities.when(() -> Files.copy(Mockito.any(InputStream.class), Mockito.any(Path.class),
-          Mockito.any(CopyOption.class))).thenReturn(videoIdOk);
-      assertDoesNotThrow(() -> deliveryService.saveFile(videoNameOk, multipartFile));
-    }
+    when(videoStorage.saveBlob(any(InputStream.class), anyLong()))
+        .thenReturn(new StoredBlob(videoChecksumOk, videoSizeOk, false));
+
+    Video video = deliveryService.saveFile(videoNameOk, multipartFile);
+    assertEquals(video.getFileName(), videoNameOk);
+    assertEquals(video.getSize(), videoSizeOk);
+    assertEquals(video.getChecksum(), videoChecksumOk);
   }
 
   @Test
@@ -167,12 +219,37 @@ class DeliveryServiceTest {
     MockMultipartFile multipartFile = new MockMultipartFile("video", videoNameEmpty, "video.mp4",
         "New drone video".getBytes());
 
-    try (MockedStatic<Files> utilities = Mockito.mockStatic(Files.class)) {
-      utilities.when(() -> Files.copy(Mockito.any(InputStream.class), Mockito.any(Path.class),
-          Mockito.any(CopyOption.class))).thenThrow(IOException.class);
-      assertThrows(WrongInputDataException.class,
-          () -> deliveryService.saveFile(videoNameEmpty, multipartFile));
-    }
+    when(videoStorage.saveBlob(any(InputStream.class), anyLong()))
+        .thenThrow(IOException.class);
+
+    assertThrows(WrongInputDataException.class,
+        () -> deliveryService.saveFile(videoNameEmpty, multipartFile));
+  }
+
+  @Test
+  @Order(4)
+  @DisplayName("3.3. saveStream --------------------> Ok.")
+  public void saveStreamOk() throws Exception {
+    byte[] content = "New drone video".getBytes();
+    when(videoStorage.saveBlob(any(InputStream.class), anyLong()))
+        .thenReturn(new StoredBlob(videoChecksumOk, content.length, true));
+
+    Video video = deliveryService.saveStream(videoNameOk, new ByteArrayInputStream(content),
+        content.length);
+
+    assertEquals(video.getSize(), content.length);
+    assertEquals(video.getChecksum(), videoChecksumOk);
+  }
+
+  @Test
+  @Order(4)
+  @DisplayName("3.4. saveStream --------------------> PayloadTooLargeException.")
+  public void saveStreamWithDeclaredSizeTooLarge() throws Exception {
+    long declaredSize = DataSize.ofGigabytes(3).toBytes();
+
+    assertThrows(PayloadTooLargeException.class, () -> deliveryService.saveStream(videoNameOk,
+        new ByteArrayInputStream(new byte[0]), declaredSize));
+    verify(videoStorage, never()).saveBlob(any(InputStream.class), anyLong());
   }
 
   @Test
@@ -192,7 +269,10 @@ class DeliveryServiceTest {
     
     Video video = new Video(videoNameOk, videoSizeOk);
     video.setId(videoIdOk);
+    video.setChecksum(videoChecksumOk);
     Delivery deliveryUpdate = deliveryService.addVideo(dlvIdOk, video);
+    verify(videoProcessingService).submit(videoIdOk);
+    verify(videoStorage).unpin(videoChecksumOk);
 
     assertEquals(deliveryUpdate.getId(), delivery.getId());
     assertEquals(deliveryUpdate.getReceiverName(), delivery.getReceiverName());
@@ -212,21 +292,36 @@ class DeliveryServiceTest {
         delivery.getVideo().getDrone().getModel());
   }
 
+  @Test
+  @Order(5)
+  @DisplayName("4.1. addVideo, sem a entrega cadastrada --------------------> libera o"
+      + " arquivo do vídeo.")
+  public void addVideoWithIdNotFound() throws Exception {
+    when(deliveryRepository.findById(notExistentId)).thenReturn(Optional.empty());
+
+    Video video = new Video(videoNameOk, videoSizeOk);
+    video.setChecksum(videoChecksumOk);
+
+    assertThrows(InputNotFoundException.class,
+        () -> deliveryService.addVideo(notExistentId, video));
+    verify(videoStorage).unpin(videoChecksumOk);
+    verify(videoStorage).deleteBlob(eq(videoChecksumOk), any(BooleanSupplier.class));
+  }
+
   @Test
   @Order(6)
   @DisplayName("5. getAllVideos --------------------> Ok.")
   public void getAllVideosOk() throws Exception {
-    Video videoA = new Video(videoNameOk, videoSizeOk);
-    videoA.setId(videoIdOk);
-    Video videoB = new Video(videoNameOkToo, videoSizeOkToo);
-    videoB.setId(videoIdOkToo);
-    List<Video> allVideos = new ArrayList<Video>();
+    VideoResponse videoA = new VideoResponse(videoIdOk, videoNameOk, videoSizeOk, null);
+    VideoResponse videoB = new VideoResponse(videoIdOkToo, videoNameOkToo, videoSizeOkToo, null);
+    List<VideoResponse> allVideos = new ArrayList<VideoResponse>();
     allVideos.add(videoA);
     allVideos.add(videoB);
 
-    when(videoRepository.findAll()).thenReturn(allVideos);
+    when(videoRepository.findResponsesBy(any(Pageable.class))).thenReturn(
+        new SliceImpl<>(allVideos));
 
-    List<Video> videos = deliveryService.getAllVideos();
+    List<VideoResponse> videos = deliveryService.getAllVideos(null, 0, 100).getContent();
 
     assertEquals(videos.size(), allVideos.size());
     assertEquals(videos.get(0).getId(), videoA.getId());
@@ -275,19 +370,20 @@ class DeliveryServiceTest {
   @Order(9)
   @DisplayName("7. getAllDeliveries --------------------> Ok.")
   public void getAllDeliveries() throws Exception {
-    Delivery deliveryA = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk, dlvLatitudeOk,
-        dlvLongitudeOk, dlvWeightInKgOk);
-    deliveryA.setId(dlvIdOk);
-    Delivery deliveryB = new Delivery(dlvReceiverNameOkToo, dlvAddressOkToo, dlvZipCodeOkToo,
-        dlvLatitudeOkToo, dlvLongitudeOkToo, dlvWeightInKgOkToo);
-    deliveryB.setId(dlvIdOkToo);
-    List<Delivery> allDeliveries = new ArrayList<Delivery>();
+    DeliveryResponse deliveryA = new DeliveryResponse(dlvIdOk, dlvReceiverNameOk, dlvAddressOk,
+        dlvZipCodeOk, dlvLatitudeOk, dlvLongitudeOk, DeliveryStatus.TO_DELIVER, dlvWeightInKgOk,
+        null);
+    DeliveryResponse deliveryB = new DeliveryResponse(dlvIdOkToo, dlvReceiverNameOkToo,
+        dlvAddressOkToo, dlvZipCodeOkToo, dlvLatitudeOkToo, dlvLongitudeOkToo,
+        DeliveryStatus.TO_DELIVER, dlvWeightInKgOkToo, null);
+    List<DeliveryResponse> allDeliveries = new ArrayList<DeliveryResponse>();
     allDeliveries.add(deliveryA);
     allDeliveries.add(deliveryB);
 
-    when(deliveryRepository.findAll()).thenReturn(allDeliveries);
+    when(deliveryRepository.findResponsesBy(any(Pageable.class))).thenReturn(
+        new SliceImpl<>(allDeliveries));
 
-    List<Delivery> deliveries = deliveryService.getAllDeliveries();
+    List<DeliveryResponse> deliveries = deliveryService.getAllDeliveries(null, 0, 100).getContent();
 
     assertEquals(deliveries.size(), allDeliveries.size());
     assertEquals(deliveries.get(0).getId(), deliveryA.getId());
@@ -411,114 +507,173 @@ class DeliveryServiceTest {
   @Order(16)
   @DisplayName("11.1. getVideoAsResource --------------------> Ok.")
   public void getVideoAsResourceOk() throws Exception {
-    ArrayList<Path> filesMock = new ArrayList<Path>();
-    Path videoMock = Paths.get("videos-uploads/" + videoNameOk);
-    filesMock.add(videoMock);
+    Path videoMock = Paths.get("videos-uploads/BR01/2022-05-30/" + videoNameOk);
+    when(videoStorage.load(videoNameOk, null)).thenReturn(new UrlResource(videoMock.toUri()));
 
-    try (MockedStatic<Files> utilities = Mockito.mockStatic(Files.class)) {
-      utilities.when(() -> Files.list(Mockito.any(Path.class))).thenReturn(filesMock.stream());
+    Resource videoUri = deliveryService.getVideoAsResource(new Video(videoNameOk, videoSizeOk));
 
-      Resource videoUri = deliveryService.getVideoAsResource(videoNameOk);
-
-      assertEquals(videoUri.getFilename(), videoNameOk);
-    }  
+    assertEquals(videoUri.getFilename(), videoNameOk);
   }
 
   @Test
   @Order(17)
   @DisplayName("11.2. getVideoAsResource --------------------> null.")
   public void getVideoAsResourceWithNotFoundVideo() throws Exception {
-    ArrayList<Path> filesMock = new ArrayList<Path>();
-    Path videoMock = Paths.get("videos-uploads/" + videoNameOk);
-    filesMock.add(videoMock);
-
-    try (MockedStatic<Files> utilities = Mockito.mockStatic(Files.class)) {
-      utilities.when(() -> Files.list(Mockito.any(Path.class))).thenReturn(filesMock.stream());
+    when(videoStorage.load(notExistentVideoName, null)).thenReturn(null);
 
-      Resource videoUri = deliveryService.getVideoAsResource(notExistentVideoName);
+    Resource videoUri = deliveryService.getVideoAsResource(
+        new Video(notExistentVideoName, videoSizeOk));
 
-      assertEquals(videoUri, null);
-    }  
+    assertEquals(videoUri, null);
   }
 
   @Test
   @Order(18)
   @DisplayName("11.3. getVideoAsResource --------------------> null.")
   public void getVideoAsResourceWithIoError() throws Exception {
-    ArrayList<Path> filesMock = new ArrayList<Path>();
-    Path videoMock = Paths.get("videos-uploads/" + videoNameOk);
-    filesMock.add(videoMock);
-
-    try (MockedStatic<Files> utilities = Mockito.mockStatic(Files.class)) {
-      utilities.when(() -> Files.list(Mockito.any(Path.class))).thenThrow(IOException.class);
+    when(videoStorage.load(videoNameOk, null)).thenThrow(IOException.class);
 
-      assertThrows(IOException.class,
-          () -> deliveryService.getVideoAsResource(videoNameOk));
-    }  
+    assertThrows(IOException.class,
+        () -> deliveryService.getVideoAsResource(new Video(videoNameOk, videoSizeOk)));
   }
 
   @Test
   @Order(19)
   @DisplayName("12.1. deleteVideo --------------------> Ok.")
   public void deleteVideoOk() throws Exception {
-    ArrayList<Path> filesMock = new ArrayList<Path>();
-    Path videoMock = Paths.get("videos-uploads/" + videoNameOk);
-    filesMock.add(videoMock);
-    File fileMock = new File(videoMock.toUri());
-    fileMock.createNewFile();
-
-    try (MockedStatic<Files> utilities = Mockito.mockStatic(Files.class)) {
-      utilities.when(() -> Files.list(Mockito.any(Path.class))).thenReturn(filesMock.stream());
-
-      Delivery deliveryA = new Delivery();
-      deliveryA.setId(dlvIdOk);
-      Video video = new Video(videoNameOk, videoSizeOk);
-      video.setId(videoIdOk);
-      deliveryA.setVideo(video);
-      when(deliveryRepository.findById(dlvIdOk)).thenReturn(Optional.of(deliveryA));
-
-      Delivery deliveryB = new Delivery();
-      deliveryB.setId(dlvIdOk);
-      when(deliveryRepository.save(deliveryA)).thenReturn(deliveryB);
-
-      Delivery deliveryWithoutVideo = deliveryService.deleteVideo(dlvIdOk, videoNameOk);
-      assertEquals(deliveryWithoutVideo.getId(), 1L);
-    }
+    Delivery deliveryA = new Delivery();
+    deliveryA.setId(dlvIdOk);
+    Video video = new Video(videoNameOk, videoSizeOk);
+    video.setId(videoIdOk);
+    video.setChecksum(videoChecksumOk);
+    deliveryA.setVideo(video);
+    when(deliveryRepository.findById(dlvIdOk)).thenReturn(Optional.of(deliveryA));
+    when(videoStorage.exists(videoNameOk, videoChecksumOk)).thenReturn(true);
+
+    Delivery deliveryB = new Delivery();
+    deliveryB.setId(dlvIdOk);
+    when(deliveryRepository.save(deliveryA)).thenReturn(deliveryB);
+
+    Delivery deliveryWithoutVideo = deliveryService.deleteVideo(dlvIdOk);
+    assertEquals(deliveryWithoutVideo.getId(), 1L);
+    verify(videoRepository).delete(video);
+    verify(videoStorage).deleteBlob(eq(videoChecksumOk), any(BooleanSupplier.class));
   }
 
   @Test
   @Order(19)
   @DisplayName("12.2. deleteVideo --------------------> InputNotFoundException.")
   public void deleteVideoWithIdNotFound() throws Exception {
-    ArrayList<Path> filesMock = new ArrayList<Path>();
-    Path videoMock = Paths.get("videos-uploads/" + videoNameOk);
-    filesMock.add(videoMock);
-    File fileMock = new File(videoMock.toUri());
-    fileMock.createNewFile();
-
-    try (MockedStatic<Files> utilities = Mockito.mockStatic(Files.class)) {
-      utilities.when(() -> Files.list(Mockito.any(Path.class))).thenReturn(filesMock.stream());
-      when(deliveryRepository.findById(dlvIdOk)).thenReturn(Optional.empty());
-
-      assertThrows(InputNotFoundException.class,
-          () -> deliveryService.deleteVideo(dlvIdOk, videoNameOk));
-    }
+    when(deliveryRepository.findById(dlvIdOk)).thenReturn(Optional.empty());
+
+    assertThrows(InputNotFoundException.class, () -> deliveryService.deleteVideo(dlvIdOk));
   }
 
   @Test
   @Order(21)
   @DisplayName("12.3. deleteVideo --------------------> IntServerErrorInVideoFinding.")
   public void deleteVideoWithNotFoundVideo() throws Exception {
-    ArrayList<Path> filesMock = new ArrayList<Path>();
-    Path videoMock = Paths.get("videos-uploads/" + videoNameOk);
-    filesMock.add(videoMock);
+    Delivery delivery = new Delivery();
+    delivery.setId(dlvIdOk);
+    delivery.setVideo(new Video(videoNameOk, videoSizeOk));
+    when(deliveryRepository.findById(dlvIdOk)).thenReturn(Optional.of(delivery));
+    when(videoStorage.exists(videoNameOk, null)).thenReturn(false);
 
-    try (MockedStatic<Files> utilities = Mockito.mockStatic(Files.class)) {
-      utilities.when(() -> Files.list(Mockito.any(Path.class))).thenReturn(filesMock.stream());
+    assertThrows(IntServerErrorInVideoFinding.class, () -> deliveryService.deleteVideo(dlvIdOk));
+    verify(videoRepository, never()).delete(any(Video.class));
+  }
 
-      assertThrows(IntServerErrorInVideoFinding.class,
-          () -> deliveryService.deleteVideo(dlvIdOk, videoNameOk));
+  @Test
+  @Order(22)
+  @DisplayName("13. getAllDeliveries com cursor --------------------> Ok.")
+  public void getAllDeliveriesAfterCursor() throws Exception {
+    DeliveryResponse delivery = new DeliveryResponse(dlvIdOkToo, dlvReceiverNameOkToo,
+        dlvAddressOkToo, dlvZipCodeOkToo, dlvLatitudeOkToo, dlvLongitudeOkToo,
+        DeliveryStatus.TO_DELIVER, dlvWeightInKgOkToo, null);
+    List<DeliveryResponse> nextDeliveries = new ArrayList<DeliveryResponse>();
+    nextDeliveries.add(delivery);
+
+    when(deliveryRepository.findResponsesByIdGreaterThan(dlvIdOk,
+        PageRequest.of(0, 100, Sort.by("id")))).thenReturn(new SliceImpl<>(nextDeliveries));
+
+    List<DeliveryResponse> deliveries = deliveryService.getAllDeliveries(dlvIdOk, 0, 100)
+        .getContent();
+
+    assertEquals(deliveries.size(), 1);
+    assertEquals(deliveries.get(0).getId(), delivery.getId());
+    verify(deliveryRepository, never()).findResponsesBy(any(Pageable.class));
+  }
+
+  @Test
+  @Order(23)
+  @DisplayName("14. exportDeliveries --------------------> Ok.")
+  public void exportDeliveriesOk() throws Exception {
+    Delivery deliveryA = new Delivery(dlvReceiverNameOk, dlvAddressOk, dlvZipCodeOk, dlvLatitudeOk,
+        dlvLongitudeOk, dlvWeightInKgOk);
+    deliveryA.setId(dlvIdOk);
+    Delivery deliveryB = new Delivery(dlvReceiverNameOkToo, dlvAddressOkToo, dlvZipCodeOkToo,
+        dlvLatitudeOkToo, dlvLongitudeOkToo, dlvWeightInKgOkToo);
+    deliveryB.setId(dlvIdOkToo);
+
+    Session session = mock(Session.class);
+    when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+    when(entityManager.unwrap(Session.class)).thenReturn(session);
+    when(deliveryRepository.streamAll()).thenReturn(Stream.of(deliveryA, deliveryB));
+
+    List<Delivery> exported = new ArrayList<Delivery>();
+    deliveryService.exportDeliveries(exported::add);
+
+    assertEquals(exported.size(), 2);
+    assertEquals(exported.get(0).getId(), deliveryA.getId());
+    assertEquals(exported.get(1).getId(), deliveryB.getId());
+    verify(entityManager).detach(deliveryA);
+    verify(entityManager).detach(deliveryB);
+    verify(session).setCacheMode(CacheMode.IGNORE);
+    verify(session).setCacheMode(CacheMode.NORMAL);
+  }
+
+  @Test
+  @Order(24)
+  @DisplayName("15. addDeliveries --------------------> Ok.")
+  public void addDeliveriesOk() throws Exception {
+    DeliveryDto deliveryDto = new DeliveryDto();
+    deliveryDto.setReceiverName(dlvReceiverNameOk);
+    deliveryDto.setAddress(dlvAddressOk);
+    deliveryDto.setZipCode(dlvZipCodeOk);
+    deliveryDto.setLatitude(dlvLatitudeOk);
+    deliveryDto.setLongitude(dlvLongitudeOk);
+    deliveryDto.setWeightInKg(dlvWeightInKgOk);
+    List<DeliveryDto> batch = new ArrayList<DeliveryDto>();
+    for (int i = 0; i < 120; i++) {
+      batch.add(deliveryDto);
     }
+
+    Session session = mock(Session.class);
+    Connection connection = mock(Connection.class);
+    PreparedStatement statement = mock(PreparedStatement.class);
+    ResultSet keys = mock(ResultSet.class);
+    AtomicLong nextId = new AtomicLong();
+    when(entityManager.unwrap(Session.class)).thenReturn(session);
+    doAnswer(invocation -> {
+      invocation.<Work>getArgument(0).execute(connection);
+      return null;
+    }).when(session).doWork(any(Work.class));
+    when(connection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
+        .thenReturn(statement);
+    when(statement.getGeneratedKeys()).thenReturn(keys);
+    when(keys.next()).thenReturn(true);
+    when(keys.getLong(1)).thenAnswer(invocation -> nextId.incrementAndGet());
+
+    List<Delivery> deliveries = deliveryService.addDeliveries(batch);
+
+    assertEquals(deliveries.size(), 120);
+    assertEquals(deliveries.get(0).getId(), 1L);
+    assertEquals(deliveries.get(119).getId(), 120L);
+    assertEquals(deliveries.get(119).getReceiverName(), dlvReceiverNameOk);
+    assertEquals(deliveries.get(119).getStatus(), DeliveryStatus.TO_DELIVER);
+    verify(statement, times(120)).addBatch();
+    verify(statement, times(3)).executeBatch();
+    verify(entityManager, never()).persist(any(Delivery.class));
   }
 
 }
@@ -0,0 +1,108 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.repository.DroneRepository;
+import com.futureh.drone.feeder.service.DispatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@TestMethodOrder(OrderAnnotation.class)
+class DispatchLockTest {
+
+  @Autowired
+  private DispatchService dispatchService;
+
+  @Autowired
+  private DroneRepository droneRepository;
+
+  @Autowired
+  private DeliveryRepository deliveryRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private Drone drone;
+  private List<Long> deliveryIds = new ArrayList<Long>();
+
+  @BeforeEach
+  public void setUp() {
+    drone = droneRepository.save(new Drone("Drone trava", "Modelo trava", 1000F));
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    deliveryRepository.deleteAllById(deliveryIds);
+    droneRepository.deleteById(drone.getId());
+  }
+
+  @Test
+  @Order(1)
+  @DisplayName("1. O método dispatch deve esperar o fim da transação de outro dispatch, como o de"
+      + " outra réplica, e ler as cargas que ele gravou.")
+  public void dispatchWaitsForOtherRun() throws Exception {
+    Long first = saveDelivery(600F);
+    CountDownLatch assigned = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> firstRun = CompletableFuture.runAsync(() -> transactionTemplate
+        .executeWithoutResult(status -> {
+          assertEquals(drone.getId(), dispatchService.dispatch(1).get(0).getDrone().getId());
+          assigned.countDown();
+          await(release);
+        }));
+    assertTrue(assigned.await(5, TimeUnit.SECONDS));
+
+    Long second = saveDelivery(700F);
+    CompletableFuture<List<Delivery>> secondRun = CompletableFuture
+        .supplyAsync(() -> dispatchService.dispatch(1));
+    Thread.sleep(300);
+    assertFalse(secondRun.isDone());
+
+    release.countDown();
+    firstRun.get(5, TimeUnit.SECONDS);
+    List<Delivery> dispatched = secondRun.get(5, TimeUnit.SECONDS);
+    assertEquals(second, dispatched.get(0).getId());
+    assertNull(dispatched.get(0).getDrone());
+    assertEquals(drone.getId(), deliveryRepository.findById(first).get().getDrone().getId());
+    assertNull(deliveryRepository.findById(second).get().getDrone());
+  }
+
+  private Long saveDelivery(Float weightInKg) {
+    Delivery delivery = new Delivery("Alberto Santos Dumont", "Avenida Ayrton Senna, 2541",
+        "22775-002", "-22.987029", "-43.366164", weightInKg);
+    Long id = deliveryRepository.save(delivery).getId();
+    deliveryIds.add(id);
+    return id;
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException err) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
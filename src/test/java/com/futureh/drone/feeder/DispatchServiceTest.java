@@ -0,0 +1,125 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.repository.DroneRepository;
+import com.futureh.drone.feeder.service.DispatchService;
+import com.futureh.drone.feeder.util.DeliveryStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(OrderAnnotation.class)
+class DispatchServiceTest {
+
+  @InjectMocks
+  private DispatchService dispatchService;
+
+  @Mock
+  private DeliveryRepository deliveryRepository;
+
+  @Mock
+  private DroneRepository droneRepository;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  private Drone smallDrone = drone(1L, "A011", 3.6F);
+  private Drone bigDrone = drone(2L, "G305", 12F);
+  private Drone mediumDrone = drone(3L, "B200", 5F);
+
+  @BeforeEach
+  public void setUp() {
+    when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation
+        .<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+  }
+
+  @Test
+  @Order(1)
+  @DisplayName("1. O método dispatch deve atribuir cada entrega, da mais pesada para a mais leve,"
+      + " ao drone com a menor capacidade livre que comporte o seu peso.")
+  public void dispatchBestFit() throws Exception {
+    List<Delivery> pending = List.of(delivery(1L, 7F), delivery(2L, 5F), delivery(3L, 3F),
+        delivery(4L, 2.5F), delivery(5L, 1F), delivery(6L, 0.5F));
+    Pageable heaviestFirst = PageRequest.of(0, 10,
+        Sort.by(Sort.Direction.DESC, "weightInKg").and(Sort.by("id")));
+    List<Object[]> loads = new ArrayList<Object[]>();
+    loads.add(new Object[] { bigDrone.getId(), 4D });
+
+    when(deliveryRepository.findByStatusAndDroneIsNull(DeliveryStatus.TO_DELIVER, heaviestFirst))
+        .thenReturn(pending);
+    when(deliveryRepository.findDroneLoads(DeliveryStatus.TO_DELIVER)).thenReturn(loads);
+    List<Object[]> capacities = new ArrayList<Object[]>();
+    for (Drone drone : List.of(smallDrone, bigDrone, mediumDrone)) {
+      capacities.add(new Object[] { drone.getId(), drone.getCapacityWeightInKg() });
+      when(droneRepository.findById(drone.getId())).thenReturn(Optional.of(drone));
+    }
+    when(droneRepository.findCapacitiesForUpdate()).thenReturn(capacities);
+
+    List<Delivery> dispatched = dispatchService.dispatch(10);
+
+    assertEquals(6, dispatched.size());
+    assertEquals(bigDrone, pending.get(0).getDrone());
+    assertEquals(mediumDrone, pending.get(1).getDrone());
+    assertEquals(smallDrone, pending.get(2).getDrone());
+    assertNull(pending.get(3).getDrone());
+    assertEquals(bigDrone, pending.get(4).getDrone());
+    assertEquals(smallDrone, pending.get(5).getDrone());
+    verify(droneRepository, never()).findAll();
+    verify(droneRepository, times(3)).findById(any());
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. O método dispatch, sem entregas pendentes, não deve carregar os drones nem"
+      + " as cargas.")
+  public void dispatchWithoutPendingDeliveries() throws Exception {
+    when(deliveryRepository.findByStatusAndDroneIsNull(any(), any()))
+        .thenReturn(new ArrayList<Delivery>());
+
+    assertEquals(0, dispatchService.dispatch(10).size());
+    verify(droneRepository, never()).findAll();
+    verify(droneRepository, never()).findById(any());
+    verify(deliveryRepository, never()).findDroneLoads(any());
+  }
+
+  private static Drone drone(Long id, String name, Float capacityWeightInKg) {
+    Drone drone = new Drone(name, "DJI Matrice 100", capacityWeightInKg);
+    drone.setId(id);
+    return drone;
+  }
+
+  private static Delivery delivery(Long id, Float weightInKg) {
+    Delivery delivery = new Delivery("Alberto Santos Dumont", "Avenida Ayrton Senna, 2541",
+        "22775-002", "-22.987029", "-43.366164", weightInKg);
+    delivery.setId(id);
+    return delivery;
+  }
+
+}
@@ -17,6 +17,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.futureh.drone.feeder.dto.DroneDto;
 import com.futureh.drone.feeder.exception.InputNotFoundException;
 import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.response.DroneResponse;
 import com.futureh.drone.feeder.service.DroneService;
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +30,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -185,15 +187,14 @@ class DroneControllerTest {
   @DisplayName("2. A rota GET /drone/all deve retornar status 200 e body contendo a lista de Drones"
       + " cadastrados.")
   public void getAllDrones() throws Exception {
-    Drone droneA = new Drone(drnNameOk, drnModelOk, drnCpWeightOk);
-    droneA.setId(drnIdOk);
-    Drone droneB = new Drone(drnNameOkToo, drnModelOkToo, drnCpWeightOkToo);
-    droneB.setId(drnIdOkToo);
-    List<Drone> dronesToReturn = new ArrayList<Drone>();
+    DroneResponse droneA = new DroneResponse(drnIdOk, drnNameOk, drnModelOk, drnCpWeightOk);
+    DroneResponse droneB = new DroneResponse(drnIdOkToo, drnNameOkToo, drnModelOkToo,
+        drnCpWeightOkToo);
+    List<DroneResponse> dronesToReturn = new ArrayList<DroneResponse>();
     dronesToReturn.add(droneA);
     dronesToReturn.add(droneB);
 
-    when(droneService.getAllDrones()).thenReturn(dronesToReturn);
+    when(droneService.getAllDrones(null, 0, 100)).thenReturn(new SliceImpl<>(dronesToReturn));
 
     this.mockMvc.perform(get("/drone/all"))
       .andExpect(status().isOk())
@@ -10,7 +10,9 @@ import static org.mockito.Mockito.when;
 import com.futureh.drone.feeder.dto.DroneDto;
 import com.futureh.drone.feeder.exception.InputNotFoundException;
 import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
 import com.futureh.drone.feeder.repository.DroneRepository;
+import com.futureh.drone.feeder.response.DroneResponse;
 import com.futureh.drone.feeder.service.DroneService;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,6 +26,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -36,6 +40,9 @@ class DroneServiceTest {
   @Mock
   private DroneRepository droneRepository;
 
+  @Mock
+  private DeliveryRepository deliveryRepository;
+
   private Long drnIdOk = 1L;
   private String drnNameOk = "BR01";
   private String drnModelOk = "Embraer XYZ 777";
@@ -82,11 +89,8 @@ class DroneServiceTest {
     droneA.setId(drnIdOk);
     Drone droneB = new Drone(drnNameOkToo, drnModelOkToo, drnCpWeightInKgOkToo);
     droneB.setId(drnIdOkToo);
-    List<Drone> dronesToReturn = new ArrayList<Drone>();
-    dronesToReturn.add(droneA);
-    dronesToReturn.add(droneB);
 
-    when(droneRepository.findAll()).thenReturn(dronesToReturn);
+    when(droneRepository.findByName(droneB.getName())).thenReturn(Optional.of(droneB));
 
     Drone droneFound = droneService.getDroneByName(droneB.getName());
 
@@ -102,19 +106,36 @@ class DroneServiceTest {
   @DisplayName("2.2. Verifica se o método getDroneByName, sem o nome cadastrado na banco de dados,"
       + " retorna uma exceção do tipo InputNotFoundException.")
   public void getDroneByNameNotFound() throws Exception {
+    when(droneRepository.findByName(notExistentName)).thenReturn(Optional.empty());
+
+    assertThrows(InputNotFoundException.class,
+        () -> droneService.getDroneByName(notExistentName));
+  }
+
+  @Test
+  @Order(3)
+  @DisplayName("2.3. Verifica se o método getDroneByName, após o drone ser renomeado pelo método"
+      + " updateDrone, não encontra mais o drone pelo nome antigo.")
+  public void getDroneByNameAfterUpdate() throws Exception {
     Drone droneA = new Drone(drnNameOk, drnModelOk, drnCpWeightInKgOk);
     droneA.setId(drnIdOk);
-    Drone droneB = new Drone(drnNameOkToo, drnModelOkToo, drnCpWeightInKgOkToo);
-    droneB.setId(drnIdOkToo);
+    when(droneRepository.findByName(drnNameOk)).thenReturn(Optional.of(droneA));
+    droneService.getDroneByName(drnNameOk);
 
-    List<Drone> dronesToReturn = new ArrayList<Drone>();
-    dronesToReturn.add(droneA);
-    dronesToReturn.add(droneB);
+    DroneDto droneDto = new DroneDto();
+    droneDto.setName(drnNameOkToo);
+    droneDto.setModel(drnModelOkToo);
+    droneDto.setCapacityWeightInKg(drnCpWeightInKgOkToo);
+    when(droneRepository.findById(drnIdOk)).thenReturn(Optional.of(droneA));
+    when(droneRepository.save(droneA)).thenReturn(droneA);
+    droneService.updateDrone(drnIdOk, droneDto);
 
-    when(droneRepository.findAll()).thenReturn(dronesToReturn);
+    when(droneRepository.findByName(drnNameOk)).thenReturn(Optional.empty());
+    when(droneRepository.findByName(drnNameOkToo)).thenReturn(Optional.of(droneA));
 
     assertThrows(InputNotFoundException.class,
-        () -> droneService.getDroneByName(notExistentName));
+        () -> droneService.getDroneByName(drnNameOk));
+    assertEquals(droneService.getDroneByName(drnNameOkToo).getModel(), drnModelOkToo);
   }
 
   @Test
@@ -122,30 +143,28 @@ class DroneServiceTest {
   @DisplayName("3. Verifica se o método getAllDrones retorna uma Lista com as instâncias da Classe"
       + " Drone cadastradas no banco de dados.")
   public void getAllDronesOk() throws Exception {
-    Drone droneA = new Drone(drnNameOk, drnModelOk, drnCpWeightInKgOk);
-    droneA.setId(drnIdOk);
-    Drone droneB = new Drone(drnNameOkToo, drnModelOkToo, drnCpWeightInKgOkToo);
-    droneB.setId(drnIdOkToo);
+    DroneResponse droneA = new DroneResponse(drnIdOk, drnNameOk, drnModelOk, drnCpWeightInKgOk);
+    DroneResponse droneB = new DroneResponse(drnIdOkToo, drnNameOkToo, drnModelOkToo,
+        drnCpWeightInKgOkToo);
 
-    List<Drone> dronesToReturn = new ArrayList<Drone>();
+    List<DroneResponse> dronesToReturn = new ArrayList<DroneResponse>();
     dronesToReturn.add(droneA);
     dronesToReturn.add(droneB);
 
-    when(droneRepository.findAll()).thenReturn(dronesToReturn);
+    when(droneRepository.findResponsesBy(any(Pageable.class))).thenReturn(
+        new SliceImpl<>(dronesToReturn));
 
-    List<Drone> dronesFound = droneService.getAllDrones();
+    List<DroneResponse> dronesFound = droneService.getAllDrones(null, 0, 100).getContent();
 
     assertEquals(dronesFound.size(), 2);
     assertEquals(dronesFound.get(0).getId(), droneA.getId());
     assertEquals(dronesFound.get(0).getName(), droneA.getName());
     assertEquals(dronesFound.get(0).getModel(), droneA.getModel());
     assertEquals(dronesFound.get(0).getCapacityWeightInKg(), droneA.getCapacityWeightInKg());
-    assertEquals(dronesFound.get(0).getVideos(), droneA.getVideos());
     assertEquals(dronesFound.get(1).getId(), droneB.getId());
     assertEquals(dronesFound.get(1).getName(), droneB.getName());
     assertEquals(dronesFound.get(1).getModel(), droneB.getModel());
     assertEquals(dronesFound.get(1).getCapacityWeightInKg(), droneB.getCapacityWeightInKg());
-    assertEquals(dronesFound.get(1).getVideos(), droneB.getVideos());
   }
 
   @Test
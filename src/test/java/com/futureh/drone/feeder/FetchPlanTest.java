@@ -0,0 +1,127 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.repository.DroneRepository;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@TestMethodOrder(OrderAnnotation.class)
+class FetchPlanTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private DeliveryRepository deliveryRepository;
+
+  @Autowired
+  private DroneRepository droneRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private int savedDeliveries = 0;
+  private List<Delivery> deliveries = new ArrayList<Delivery>();
+  private List<Drone> drones = new ArrayList<Drone>();
+
+  @AfterEach
+  public void cleanUp() {
+    deliveryRepository.deleteAll(deliveries);
+    droneRepository.deleteAll(drones);
+    deliveries.clear();
+    drones.clear();
+  }
+
+  @Test
+  @Order(1)
+  @DisplayName("1. A rota GET /delivery/all deve executar o mesmo número de consultas SQL com"
+      + " poucas ou muitas entregas cadastradas.")
+  public void getAllDeliveriesStatementCount() throws Exception {
+    Delivery delivery = saveDeliveriesWithVideo(3);
+    long fewRows = countStatements("/delivery/all");
+
+    saveDeliveriesWithVideo(30);
+    long manyRows = countStatements("/delivery/all");
+
+    assertEquals(1, fewRows);
+    assertEquals(fewRows, manyRows);
+    assertEquals(1, countStatements("/delivery/all?afterId=" + delivery.getId()));
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. A rota GET /delivery/allVideos deve executar o mesmo número de consultas SQL"
+      + " com poucos ou muitos videos cadastrados.")
+  public void getAllVideosStatementCount() throws Exception {
+    saveDeliveriesWithVideo(3);
+    long fewRows = countStatements("/delivery/allVideos");
+
+    saveDeliveriesWithVideo(30);
+    long manyRows = countStatements("/delivery/allVideos");
+
+    assertEquals(1, fewRows);
+    assertEquals(fewRows, manyRows);
+  }
+
+  @Test
+  @Order(3)
+  @DisplayName("3. As rotas GET /delivery/{id} e GET /delivery/video/{id} devem carregar a entrega,"
+      + " o video e o drone em uma única consulta SQL.")
+  public void getDetailsStatementCount() throws Exception {
+    Delivery delivery = saveDeliveriesWithVideo(1);
+
+    assertEquals(1, countStatements("/delivery/" + delivery.getId()));
+    assertEquals(1, countStatements("/delivery/video/" + delivery.getVideo().getId()));
+  }
+
+  private Delivery saveDeliveriesWithVideo(int count) {
+    Delivery delivery = null;
+    for (int i = 0; i < count; i++) {
+      savedDeliveries++;
+      Drone drone = droneRepository.save(
+          new Drone("Drone " + savedDeliveries, "Modelo " + savedDeliveries, 10.0F));
+      drones.add(drone);
+      Video video = new Video("video-" + savedDeliveries + ".mp4", 1024L);
+      video.setDrone(drone);
+      delivery = new Delivery("Receiver " + savedDeliveries, "Address " + savedDeliveries,
+          "22775-002", "-22.987029", "-43.366164", 4.3F);
+      delivery.setVideo(video);
+      delivery = deliveryRepository.save(delivery);
+      deliveries.add(delivery);
+    }
+    return delivery;
+  }
+
+  private long countStatements(String url) throws Exception {
+    entityManagerFactory.getCache().evictAll();
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    this.mockMvc.perform(get(url)).andExpect(status().isOk());
+
+    return statistics.getPrepareStatementCount();
+  }
+
+}
@@ -0,0 +1,114 @@
+package com.futureh.drone.feeder;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.futureh.drone.feeder.dto.DeliveryBulkDto;
+import com.futureh.drone.feeder.dto.DeliveryDto;
+import com.futureh.drone.feeder.service.DeliveryService;
+import com.futureh.drone.feeder.util.DeliveryStatus;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@TestMethodOrder(OrderAnnotation.class)
+class GeoQueryTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private DeliveryService deliveryService;
+
+  private List<Long> ids = new ArrayList<Long>();
+
+  @BeforeEach
+  public void setUp() {
+    // From Praça da Sé, Avenida Paulista is about 2.6 km away and Ibirapuera 4.8 km.
+    ids.add(addDelivery("Ibirapuera", "-23.587416", "-46.657634"));
+    ids.add(addDelivery("Praça da Sé", "-23.550520", "-46.633308"));
+    ids.add(addDelivery("Avenida Paulista", "-23.561414", "-46.655881"));
+    ids.add(addDelivery("Campinas", "-22.905560", "-47.060830"));
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    DeliveryBulkDto bulk = new DeliveryBulkDto();
+    bulk.setIds(ids);
+    deliveryService.removeDeliveries(bulk);
+  }
+
+  @Test
+  @Order(1)
+  @DisplayName("1. A rota GET /delivery/near deve retornar as entregas pendentes dentro do raio,"
+      + " da mais próxima para a mais distante.")
+  public void getDeliveriesNear() throws Exception {
+    this.mockMvc.perform(get("/delivery/near?latitude=-23.550520&longitude=-46.633308"
+        + "&radiusInKm=6"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(3)))
+        .andExpect(jsonPath("$[0].receiverName", is("Praça da Sé")))
+        .andExpect(jsonPath("$[1].receiverName", is("Avenida Paulista")))
+        .andExpect(jsonPath("$[2].receiverName", is("Ibirapuera")));
+
+    this.mockMvc.perform(get("/delivery/near?latitude=-23.550520&longitude=-46.633308"
+        + "&radiusInKm=6&limit=1"))
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].receiverName", is("Praça da Sé")));
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. A rota GET /delivery/within deve retornar as entregas dentro da área e"
+      + " acompanhar as mudanças de status e as remoções.")
+  public void getDeliveriesWithin() throws Exception {
+    String box = "/delivery/within?minLatitude=-23.6&minLongitude=-46.7&maxLatitude=-23.5"
+        + "&maxLongitude=-46.6";
+    this.mockMvc.perform(get(box))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(3)));
+
+    DeliveryBulkDto delivered = new DeliveryBulkDto();
+    delivered.setIds(List.of(ids.get(0)));
+    delivered.setNewStatus(DeliveryStatus.DELIVERED);
+    deliveryService.updateDeliveriesStatus(delivered);
+
+    DeliveryBulkDto removed = new DeliveryBulkDto();
+    removed.setIds(List.of(ids.get(1)));
+    deliveryService.removeDeliveries(removed);
+
+    this.mockMvc.perform(get(box))
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].receiverName", is("Avenida Paulista")));
+    this.mockMvc.perform(get(box + "&status=DELIVERED"))
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].receiverName", is("Ibirapuera")));
+  }
+
+  private Long addDelivery(String receiverName, String latitude, String longitude) {
+    DeliveryDto delivery = new DeliveryDto();
+    delivery.setReceiverName(receiverName);
+    delivery.setAddress(receiverName + ", São Paulo - SP");
+    delivery.setZipCode("01001-000");
+    delivery.setLatitude(latitude);
+    delivery.setLongitude(longitude);
+    delivery.setWeightInKg(1.5F);
+    return deliveryService.addDelivery(delivery).getId();
+  }
+
+}
@@ -0,0 +1,63 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.futureh.drone.feeder.dto.DeliveryDto;
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.service.DeliveryService;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.MySQL8Dialect",
+    "spring.datasource.hikari.maximum-pool-size=1",
+    "spring.datasource.hikari.connection-timeout=2000"
+})
+class IdGenerationTest {
+
+  @Autowired
+  private DeliveryService deliveryService;
+
+  @Autowired
+  private DeliveryRepository deliveryRepository;
+
+  @AfterEach
+  public void cleanUp() {
+    deliveryRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Com o dialeto do MySQL e uma única conexão no pool, os ids das entregas devem ser"
+      + " gerados sem pedir uma segunda conexão.")
+  public void generateIdsWithOneConnection() throws Exception {
+    List<DeliveryDto> batch = new ArrayList<DeliveryDto>();
+    for (int i = 0; i < 120; i++) {
+      DeliveryDto deliveryDto = new DeliveryDto();
+      deliveryDto.setReceiverName("Receiver " + i);
+      deliveryDto.setAddress("Address " + i);
+      deliveryDto.setZipCode("22775-002");
+      deliveryDto.setLatitude("-22.987029");
+      deliveryDto.setLongitude("-43.366164");
+      deliveryDto.setWeightInKg(4.3F);
+      batch.add(deliveryDto);
+    }
+
+    long countBefore = deliveryRepository.count();
+
+    List<Delivery> deliveries = deliveryService.addDeliveries(batch);
+    Delivery single = deliveryRepository.save(new Delivery("Alberto Santos Dumont",
+        "Avenida Ayrton Senna, 2541", "22775-002", "-22.987029", "-43.366164", 2.5F));
+
+    assertEquals(120, deliveries.size());
+    assertNotNull(single.getId());
+    assertEquals(countBefore + 121, deliveryRepository.count());
+  }
+
+}
@@ -0,0 +1,121 @@
+package com.futureh.drone.feeder;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.futureh.drone.feeder.dto.DeliveryBulkDto;
+import com.futureh.drone.feeder.dto.DeliveryDto;
+import com.futureh.drone.feeder.service.DeliveryService;
+import com.futureh.drone.feeder.service.MetricsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@TestMethodOrder(OrderAnnotation.class)
+class MetricsTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private DeliveryService deliveryService;
+
+  private Long dlvId;
+  private String videoName = "A012-2022-05-30-101010.mp4";
+  private byte[] content = "0123456789abcdefghij".getBytes();
+
+  @BeforeEach
+  public void setUp() {
+    DeliveryDto delivery = new DeliveryDto();
+    delivery.setReceiverName("Alberto Santos Dumont");
+    delivery.setAddress("Avenida Ayrton Senna, 2541 - Barra da Tijuca, Rio de Janeiro - RJ");
+    delivery.setZipCode("22775-002");
+    delivery.setLatitude("-22.987029");
+    delivery.setLongitude("-43.366164");
+    delivery.setWeightInKg(2.5F);
+    dlvId = deliveryService.addDelivery(delivery).getId();
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    DeliveryBulkDto bulk = new DeliveryBulkDto();
+    bulk.setIds(List.of(dlvId));
+    deliveryService.removeDeliveries(bulk);
+  }
+
+  @Test
+  @Order(1)
+  @DisplayName("1. Upload e download de um vídeo devem contar os bytes e o tempo no"
+      + " armazenamento.")
+  public void videoBytesAndStorageTimers() throws Exception {
+    MvcResult mvcResult = this.mockMvc.perform(
+        put("/delivery/" + dlvId + "/uploadVideo/" + videoName)
+        .contentType(MediaType.APPLICATION_OCTET_STREAM).content(content)
+    ).andExpect(request().asyncStarted()).andReturn();
+    this.mockMvc.perform(asyncDispatch(mvcResult)).andExpect(status().isCreated());
+
+    mvcResult = this.mockMvc.perform(get("/delivery/" + dlvId + "/downloadVideo")
+        .header(HttpHeaders.RANGE, "bytes=5-9")
+    ).andExpect(request().asyncStarted()).andReturn();
+    this.mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isPartialContent());
+
+    this.mockMvc.perform(delete("/delivery/" + dlvId + "/deleteVideo"))
+        .andExpect(status().isOk());
+
+    assertEquals(content.length, meterRegistry.get(MetricsService.VIDEO_UPLOAD)
+        .tag("source", "stream").summary().totalAmount());
+    assertEquals(5, meterRegistry.get(MetricsService.VIDEO_DOWNLOAD)
+        .tag("range", "partial").summary().totalAmount());
+    assertEquals(1, meterRegistry.get(MetricsService.STORAGE)
+        .tag("operation", "save").timer().count());
+    assertEquals(1, meterRegistry.get(MetricsService.STORAGE)
+        .tag("operation", "load").timer().count());
+    assertEquals(1, meterRegistry.get(MetricsService.STORAGE)
+        .tag("operation", "deleteBlob").timer().count());
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. A rota GET /actuator/prometheus deve expor a latência por rota e os erros"
+      + " por tipo de exceção.")
+  public void prometheusScrape() throws Exception {
+    this.mockMvc.perform(get("/drone/" + Long.MAX_VALUE))
+        .andExpect(status().isNotFound());
+
+    this.mockMvc.perform(get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+        .andExpect(content().string(containsString("uri=\"/drone/{id}\"")))
+        .andExpect(content().string(containsString("drone_feeder_errors_total{application=\""
+            + "drone-feeder\",exception=\"InputNotFoundException\",status=\"404\",}")));
+  }
+
+}
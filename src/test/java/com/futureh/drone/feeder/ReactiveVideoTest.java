@@ -0,0 +1,194 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.futureh.drone.feeder.controller.ErrorResponses;
+import com.futureh.drone.feeder.controller.ExceptionControllerManager;
+import com.futureh.drone.feeder.controller.ReactiveVideoHandler;
+import com.futureh.drone.feeder.dto.DeliveryBulkDto;
+import com.futureh.drone.feeder.dto.DeliveryDto;
+import com.futureh.drone.feeder.repository.VideoRepository;
+import com.futureh.drone.feeder.service.DeliveryService;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+    "drone-feeder.videos.directory=target/reactive-videos",
+    "drone-feeder.videos.max-upload-size=1KB"})
+@TestMethodOrder(OrderAnnotation.class)
+class ReactiveVideoTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @Autowired
+  private DeliveryService deliveryService;
+
+  @Autowired
+  private VideoRepository videoRepository;
+
+  @Autowired
+  private ReactiveVideoHandler reactiveVideoHandler;
+
+  private Long dlvId;
+  private String videoNameOk = "A011-2022-05-30-101010.mp4";
+  private byte[] content = "0123456789 drone footage streamed without blocking".getBytes();
+
+  @BeforeEach
+  public void setUp() {
+    DeliveryDto delivery = new DeliveryDto();
+    delivery.setReceiverName("Alberto Santos Dumont");
+    delivery.setAddress("Avenida Ayrton Senna, 2541 - Barra da Tijuca, Rio de Janeiro - RJ");
+    delivery.setZipCode("22775-002");
+    delivery.setLatitude("-22.987029");
+    delivery.setLongitude("-43.366164");
+    delivery.setWeightInKg(2.5F);
+    dlvId = deliveryService.addDelivery(delivery).getId();
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    DeliveryBulkDto bulk = new DeliveryBulkDto();
+    bulk.setIds(List.of(dlvId));
+    deliveryService.removeDeliveries(bulk);
+  }
+
+  @Test
+  @Order(1)
+  @DisplayName("1. POST /reactive/delivery/{id}/uploadVideo e GET /reactive/delivery/{id}"
+      + "/downloadVideo --------------------> vídeo enviado e baixado, inteiro ou em parte.")
+  public void uploadAndDownloadOk() {
+    ResponseEntity<String> upload = upload(dlvId, videoNameOk, content);
+    assertEquals(HttpStatus.CREATED, upload.getStatusCode());
+    assertTrue(upload.getBody().contains(videoNameOk));
+    assertTrue(videoRepository.existsByFileName(videoNameOk));
+
+    ResponseEntity<byte[]> download = restTemplate.getForEntity(
+        "/reactive/delivery/" + dlvId + "/downloadVideo", byte[].class);
+    assertEquals(HttpStatus.OK, download.getStatusCode());
+    assertArrayEquals(content, download.getBody());
+    assertEquals(MediaType.valueOf("video/mp4"), download.getHeaders().getContentType());
+    assertEquals("bytes", download.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+
+    HttpHeaders rangeHeaders = new HttpHeaders();
+    rangeHeaders.set(HttpHeaders.RANGE, "bytes=2-5");
+    ResponseEntity<byte[]> region = restTemplate.exchange(
+        "/reactive/delivery/" + dlvId + "/downloadVideo", HttpMethod.GET,
+        new HttpEntity<Void>(rangeHeaders), byte[].class);
+    assertEquals(HttpStatus.PARTIAL_CONTENT, region.getStatusCode());
+    assertArrayEquals(Arrays.copyOfRange(content, 2, 6), region.getBody());
+    assertEquals("bytes 2-5/" + content.length,
+        region.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. POST /reactive/delivery/{id}/uploadVideo --------------------> nome inválido,"
+      + " entrega inexistente ou vídeo repetido.")
+  public void uploadWrongInput() {
+    assertEquals(HttpStatus.BAD_REQUEST,
+        upload(dlvId, "video.mp4", content).getStatusCode());
+    assertEquals(HttpStatus.NOT_FOUND,
+        upload(dlvId + 1000, videoNameOk, content).getStatusCode());
+
+    assertEquals(HttpStatus.CREATED, upload(dlvId, videoNameOk, content).getStatusCode());
+    ResponseEntity<String> conflict = upload(dlvId, videoNameOk, content);
+    assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+    assertTrue(conflict.getBody().contains("The video already exists."));
+  }
+
+  @Test
+  @Order(3)
+  @DisplayName("3. POST /reactive/delivery/{id}/uploadVideo --------------------> vídeo maior que"
+      + " o limite é recusado e o arquivo temporário é apagado.")
+  public void uploadTooLarge() throws Exception {
+    Path staging = Paths.get("target/reactive-videos/.sessions");
+    long stagedBefore = countFiles(staging);
+    ResponseEntity<String> upload = upload(dlvId, videoNameOk, new byte[4096]);
+
+    assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, upload.getStatusCode());
+    assertFalse(videoRepository.existsByFileName(videoNameOk));
+    assertEquals(stagedBefore, countFiles(staging));
+  }
+
+  @Test
+  @Order(4)
+  @DisplayName("4. Os erros devem ter o mesmo status nas rotas reativas e nos controllers,"
+      + " inclusive a alteração concorrente, respondida com 409.")
+  public void sameErrorStatuses() {
+    ServerRequest request = MockServerRequest.builder().method(HttpMethod.GET).build();
+    ServerResponse response = reactiveVideoHandler.handleErrors(request,
+        next -> Mono.error(new OptimisticLockingFailureException("Row was updated."))).block();
+    assertEquals(HttpStatus.CONFLICT, response.statusCode());
+
+    List<Class<?>> handled = new ArrayList<Class<?>>();
+    for (Method method : ExceptionControllerManager.class.getMethods()) {
+      ExceptionHandler handler = method.getAnnotation(ExceptionHandler.class);
+      if (handler != null) {
+        handled.addAll(Arrays.asList(handler.value()));
+      }
+    }
+    for (Class<? extends Exception> error : ErrorResponses.handledErrors()) {
+      assertTrue(handled.contains(error), error.getSimpleName());
+    }
+  }
+
+  private long countFiles(Path directory) throws Exception {
+    if (!Files.exists(directory)) {
+      return 0;
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.count();
+    }
+  }
+
+  private ResponseEntity<String> upload(Long id, String videoName, byte[] video) {
+    MultiValueMap<String, Object> body = new LinkedMultiValueMap<String, Object>();
+    body.add("video", new ByteArrayResource(video) {
+      @Override
+      public String getFilename() {
+        return videoName;
+      }
+    });
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+    return restTemplate.postForEntity("/reactive/delivery/" + id + "/uploadVideo",
+        new HttpEntity<MultiValueMap<String, Object>>(body, headers), String.class);
+  }
+
+}
@@ -0,0 +1,112 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.repository.DroneRepository;
+import com.futureh.drone.feeder.response.RoutePlanResponse;
+import com.futureh.drone.feeder.response.SortieResponse;
+import com.futureh.drone.feeder.service.RouteService;
+import com.futureh.drone.feeder.util.DeliveryStatus;
+import com.futureh.drone.feeder.util.GeoGrid;
+import com.futureh.drone.feeder.util.RoutePlanner;
+import com.futureh.drone.feeder.util.RoutePlanner.Stop;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(OrderAnnotation.class)
+class RouteServiceTest {
+
+  @InjectMocks
+  private RouteService routeService;
+
+  @Mock
+  private DeliveryRepository deliveryRepository;
+
+  @Mock
+  private DroneRepository droneRepository;
+
+  private Stop base = new Stop(null, -22.90, -43.20, 0);
+
+  @Test
+  @Order(1)
+  @DisplayName("1. O método sequence deve ordenar as paradas de uma saída em um percurso sem"
+      + " cruzamentos, saindo da base e voltando a ela.")
+  public void sequenceWithoutCrossings() throws Exception {
+    Stop north = new Stop(1L, -22.89, -43.20, 1);
+    Stop northEast = new Stop(2L, -22.89, -43.19, 1);
+    Stop east = new Stop(3L, -22.90, -43.19, 1);
+    List<Stop> stops = new ArrayList<Stop>(List.of(northEast, east, north));
+
+    double distanceInKm = RoutePlanner.sequence(base, stops);
+
+    double perimeterInKm = 2 * GeoGrid.distanceInKm(-22.90, -43.20, -22.89, -43.20)
+        + 2 * GeoGrid.distanceInKm(-22.90, -43.20, -22.90, -43.19);
+    assertEquals(perimeterInKm, distanceInKm, 0.01);
+    assertEquals(northEast, stops.get(1));
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. O método planWave deve dividir as entregas em saídas que cabem na capacidade"
+      + " de cada drone e manter as entregas já atribuídas com o seu drone.")
+  public void planWaveRespectsCapacity() throws Exception {
+    Drone bigDrone = drone(1L, "G305", 5F);
+    Drone smallDrone = drone(2L, "A011", 3F);
+    List<Object[]> rows = new ArrayList<Object[]>();
+    rows.add(stop(1L, -22.89, -43.19, 2F, null));
+    rows.add(stop(2L, -22.88, -43.18, 2F, null));
+    rows.add(stop(3L, -22.91, -43.21, 2F, null));
+    rows.add(stop(4L, -22.92, -43.22, 2.5F, null));
+    rows.add(stop(5L, -22.89, -43.22, 1F, null));
+    rows.add(stop(6L, -22.90, -43.17, 3F, smallDrone.getId()));
+    rows.add(stop(7L, -22.90, -43.19, 12F, null));
+
+    when(droneRepository.findAll()).thenReturn(List.of(smallDrone, bigDrone));
+    when(deliveryRepository.findStops(DeliveryStatus.TO_DELIVER)).thenReturn(rows);
+
+    RoutePlanResponse plan = routeService.planWave();
+
+    Map<Long, Float> capacities = Map.of(1L, 5F, 2L, 3F);
+    Map<Long, Long> droneByDelivery = new HashMap<Long, Long>();
+    for (SortieResponse sortie : plan.getSorties()) {
+      assertTrue(sortie.getWeightInKg() <= capacities.get(sortie.getDroneId()));
+      assertTrue(sortie.getDistanceInKm() > 0);
+      for (Long deliveryId : sortie.getDeliveryIds()) {
+        droneByDelivery.put(deliveryId, sortie.getDroneId());
+      }
+    }
+    assertEquals(6, plan.getRouted());
+    assertEquals(6, droneByDelivery.size());
+    assertEquals(smallDrone.getId(), droneByDelivery.get(6L));
+    assertEquals(List.of(7L), plan.getUnrouted());
+  }
+
+  private static Drone drone(Long id, String name, Float capacityWeightInKg) {
+    Drone drone = new Drone(name, "DJI Matrice 100", capacityWeightInKg);
+    drone.setId(id);
+    return drone;
+  }
+
+  private static Object[] stop(Long id, Double latitude, Double longitude, Float weightInKg,
+      Long droneId) {
+    return new Object[] { id, latitude, longitude, weightInKg, droneId };
+  }
+
+}
@@ -0,0 +1,122 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.futureh.drone.feeder.mock.S3ClientMock;
+import com.futureh.drone.feeder.storage.AbstractVideoStorage;
+import com.futureh.drone.feeder.storage.S3VideoStorage;
+import com.futureh.drone.feeder.storage.StoredBlob;
+import com.futureh.drone.feeder.util.ResourceRegionWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+@TestMethodOrder(OrderAnnotation.class)
+class S3VideoStorageTest {
+
+  @TempDir
+  Path workDirectory;
+
+  private S3ClientMock s3Client;
+  private S3VideoStorage videoStorage;
+
+  private String bucket = "drone-feeder";
+  private String videoNameOk = "BR01-2022-05-30-101010.mp4";
+  private byte[] content = "0123456789abcdefghij".getBytes();
+
+  @BeforeEach
+  public void setUp() {
+    s3Client = new S3ClientMock();
+    videoStorage = new S3VideoStorage(workDirectory.toString(), s3Client, bucket, "videos/");
+  }
+
+  @Test
+  @Order(1)
+  @DisplayName("1. save / load / delete --------------------> objeto no bucket, sob o prefixo.")
+  public void saveLoadAndDeleteOk() throws Exception {
+    long size = videoStorage.save(videoNameOk, new ByteArrayInputStream(content), 1024);
+    Resource resource = videoStorage.load(videoNameOk);
+
+    assertEquals(size, content.length);
+    assertArrayEquals(s3Client.getObjects().get(bucket + "/videos/BR01/2022-05-30/"
+        + videoNameOk), content);
+    assertEquals(resource.getFilename(), videoNameOk);
+    assertEquals(resource.contentLength(), content.length);
+    assertTrue(videoStorage.delete(videoNameOk));
+    assertNull(videoStorage.load(videoNameOk));
+    assertFalse(videoStorage.delete(videoNameOk));
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. ResourceRegionWriter.write --------------------> lê só o intervalo pedido.")
+  public void writeRegionWithRangedGet() throws Exception {
+    videoStorage.save(videoNameOk, new ByteArrayInputStream(content), 1024);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    ResourceRegionWriter.write(videoStorage.load(videoNameOk), 10, 5, outputStream);
+
+    assertEquals(outputStream.toString(), "abcde");
+    assertEquals(s3Client.getRanges(), List.of("bytes=10-14"));
+  }
+
+  @Test
+  @Order(3)
+  @DisplayName("3. saveBlob / deleteBlob --------------------> conteúdo repetido é enviado uma"
+      + " única vez e só é apagado sem referências.")
+  public void saveBlobDeduplicates() throws Exception {
+    StoredBlob first = videoStorage.saveBlob(new ByteArrayInputStream(content), 1024);
+    StoredBlob second = videoStorage.saveBlob(new ByteArrayInputStream(content), 1024);
+    String objectKey = bucket + "/videos/" + AbstractVideoStorage.blobKey(first.getChecksum());
+
+    assertFalse(first.isDeduplicated());
+    assertTrue(second.isDeduplicated());
+    assertEquals(s3Client.getObjects().size(), 1);
+    assertArrayEquals(s3Client.getObjects().get(objectKey), content);
+    assertTrue(videoStorage.exists(videoNameOk, first.getChecksum()));
+
+    videoStorage.unpin(first.getChecksum());
+    assertFalse(videoStorage.deleteBlob(first.getChecksum(), () -> false));
+    videoStorage.unpin(first.getChecksum());
+    assertFalse(videoStorage.deleteBlob(first.getChecksum(), () -> true));
+    assertTrue(videoStorage.deleteBlob(first.getChecksum(), () -> false));
+    assertTrue(s3Client.getObjects().isEmpty());
+    try (var files = Files.walk(workDirectory)) {
+      assertEquals(files.filter(Files::isRegularFile).count(), 0L);
+    }
+  }
+
+  @Test
+  @Order(4)
+  @DisplayName("4. read --------------------> cópia local temporária do objeto.")
+  public void readTemporaryCopy() throws Exception {
+    String checksum = videoStorage.saveBlob(new ByteArrayInputStream(content), 1024)
+        .getChecksum();
+
+    Path copy = videoStorage.read(videoNameOk, checksum, videoPath -> {
+      assertArrayEquals(Files.readAllBytes(videoPath), content);
+      return videoPath;
+    });
+
+    assertFalse(Files.exists(copy));
+    assertThrows(NoSuchFileException.class,
+        () -> videoStorage.read(videoNameOk, null, videoPath -> videoPath));
+  }
+
+}
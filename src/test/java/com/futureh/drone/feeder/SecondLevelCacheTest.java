@@ -0,0 +1,228 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.futureh.drone.feeder.dto.DeliveryBulkDto;
+import com.futureh.drone.feeder.dto.DroneDto;
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.repository.DroneRepository;
+import com.futureh.drone.feeder.repository.VideoRepository;
+import com.futureh.drone.feeder.service.DeliveryService;
+import com.futureh.drone.feeder.service.DroneService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@TestMethodOrder(OrderAnnotation.class)
+class SecondLevelCacheTest {
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private DroneService droneService;
+
+  @Autowired
+  private DeliveryService deliveryService;
+
+  @Autowired
+  private DroneRepository droneRepository;
+
+  @Autowired
+  private DeliveryRepository deliveryRepository;
+
+  @Autowired
+  private VideoRepository videoRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private Drone drone;
+  private Delivery delivery;
+
+  @BeforeEach
+  public void setUp() {
+    drone = droneRepository.save(new Drone("Drone cache", "Modelo cache", 10.0F));
+    Video video = new Video("A013-2022-05-30-101010.mp4", 1024L);
+    video.setDrone(drone);
+    delivery = new Delivery("Alberto Santos Dumont", "Avenida Ayrton Senna, 2541",
+        "22775-002", "-22.987029", "-43.366164", 2.5F);
+    delivery.setVideo(video);
+    delivery = deliveryRepository.save(delivery);
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    DeliveryBulkDto bulk = new DeliveryBulkDto();
+    bulk.setIds(List.of(delivery.getId()));
+    deliveryService.removeDeliveries(bulk);
+    droneRepository.deleteById(drone.getId());
+  }
+
+  @Test
+  @Order(1)
+  @DisplayName("1. Buscas repetidas de um drone e de uma entrega pelo id devem ser atendidas"
+      + " pelo cache, sem consultas SQL.")
+  public void getByIdFromCache() {
+    Long droneId = drone.getId();
+    droneService.getDroneById(droneId);
+    deliveryService.getDeliveryById(delivery.getId());
+    statistics.clear();
+
+    Drone drone = droneService.getDroneById(droneId);
+    Delivery cached = deliveryService.getDeliveryById(delivery.getId());
+
+    assertEquals("Drone cache", drone.getName());
+    assertEquals("A013-2022-05-30-101010.mp4", cached.getVideo().getFileName());
+    assertEquals("Drone cache", cached.getVideo().getDrone().getName());
+    assertEquals(0, statistics.getPrepareStatementCount());
+    assertTrue(statistics.getDomainDataRegionStatistics("drone").getHitCount() >= 1);
+    assertTrue(statistics.getDomainDataRegionStatistics("delivery").getHitCount() >= 1);
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. Um drone alterado deve ser lido com os novos dados depois de estar em"
+      + " cache.")
+  public void updateRefreshesCache() {
+    Long droneId = drone.getId();
+    droneService.getDroneById(droneId);
+
+    DroneDto droneDto = new DroneDto();
+    droneDto.setName("Drone renomeado");
+    droneDto.setModel("Modelo cache");
+    droneDto.setCapacityWeightInKg(12.0F);
+    droneService.updateDrone(droneId, droneDto);
+
+    Drone drone = droneService.getDroneById(droneId);
+    assertEquals("Drone renomeado", drone.getName());
+    assertEquals(12.0F, drone.getCapacityWeightInKg());
+  }
+
+  @Test
+  @Order(3)
+  @DisplayName("3. Consultas repetidas por nome de drone e de vídeo devem vir do cache de"
+      + " consultas até a tabela mudar.")
+  public void queryCache() {
+    droneRepository.findByName("Drone cache");
+    videoRepository.existsByFileName("A013-2022-05-30-101010.mp4");
+    statistics.clear();
+
+    assertTrue(droneRepository.findByName("Drone cache").isPresent());
+    assertTrue(videoRepository.existsByFileName("A013-2022-05-30-101010.mp4"));
+    assertEquals(2, statistics.getQueryCacheHitCount());
+    assertEquals(0, statistics.getPrepareStatementCount());
+
+    Drone otherDrone = droneRepository.save(new Drone("Outro drone", "Modelo cache", 5.0F));
+    statistics.clear();
+    assertTrue(droneRepository.findByName("Drone cache").isPresent());
+    assertEquals(0, statistics.getQueryCacheHitCount());
+    droneRepository.delete(otherDrone);
+  }
+
+  @Test
+  @Order(4)
+  @DisplayName("4. Os acertos e as faltas do cache devem ser medidos por região.")
+  public void cacheMetrics() {
+    deliveryService.getDeliveryById(delivery.getId());
+    deliveryService.getDeliveryById(delivery.getId());
+
+    assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+        .tag("region", "delivery").tag("result", "hit").functionCounter().count() >= 1);
+    assertNotNull(meterRegistry.get("hibernate.second.level.cache.requests")
+        .tag("region", "delivery").tag("result", "miss").functionCounter());
+    assertNotNull(meterRegistry.get("hibernate.cache.query.requests")
+        .tag("result", "hit").functionCounter());
+  }
+
+  @Test
+  @Order(5)
+  @DisplayName("5. Enviar dois vídeos seguidos para uma entrega que está em cache deve trocar o"
+      + " vídeo da entrega a cada envio.")
+  public void addVideoWithDeliveryCached() throws Exception {
+    String firstVideoName = "A011-2022-05-31-101010.mp4";
+    String secondVideoName = "A011-2022-05-31-111111.mp4";
+    deliveryService.getDeliveryById(delivery.getId());
+    statistics.clear();
+
+    for (String videoName : List.of(firstVideoName, secondVideoName)) {
+      byte[] content = videoName.getBytes();
+      Video video = deliveryService.saveStream(videoName, new ByteArrayInputStream(content),
+          content.length);
+      deliveryService.addVideo(delivery.getId(), video);
+      assertEquals(videoName,
+          deliveryService.getDeliveryById(delivery.getId()).getVideo().getFileName());
+    }
+
+    assertTrue(statistics.getDomainDataRegionStatistics("delivery").getHitCount() >= 2);
+    assertFalse(videoRepository.existsByFileName("A013-2022-05-30-101010.mp4"));
+    assertFalse(videoRepository.existsByFileName(firstVideoName));
+    assertTrue(videoRepository.existsByFileName(secondVideoName));
+  }
+
+  @Test
+  @Order(6)
+  @DisplayName("6. A busca de um drone pelo nome deve trazer a versão atual depois de outra"
+      + " alteração e vir do cache enquanto nada mudar.")
+  public void getDroneByNameAfterChange() {
+    Drone stale = droneService.getDroneByName("Drone cache");
+
+    Drone changed = droneRepository.findById(drone.getId()).get();
+    changed.setModel("Modelo alterado");
+    droneRepository.save(changed);
+
+    Drone current = droneService.getDroneByName("Drone cache");
+    assertEquals("Modelo alterado", current.getModel());
+    assertEquals(stale.getVersion() + 1, current.getVersion());
+
+    current.setCapacityWeightInKg(11.0F);
+    droneRepository.save(current);
+    statistics.clear();
+    droneService.getDroneByName("Drone cache");
+    droneService.getDroneByName("Drone cache");
+    assertEquals(1, statistics.getQueryCacheHitCount());
+  }
+
+  @Test
+  @Order(7)
+  @DisplayName("7. A exportação de todas as entregas não deve encher o cache.")
+  public void exportBypassesCache() {
+    entityManagerFactory.getCache().evictAll();
+    statistics.clear();
+
+    List<Long> exported = new ArrayList<Long>();
+    deliveryService.exportDeliveries(exportedDelivery -> exported.add(exportedDelivery.getId()));
+
+    assertTrue(exported.contains(delivery.getId()));
+    assertEquals(0, statistics.getDomainDataRegionStatistics("delivery").getPutCount());
+    assertEquals(0, statistics.getDomainDataRegionStatistics("video").getPutCount());
+    assertFalse(entityManagerFactory.getCache().contains(Delivery.class, delivery.getId()));
+  }
+
+}
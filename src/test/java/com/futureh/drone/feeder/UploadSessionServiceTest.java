@@ -0,0 +1,251 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.futureh.drone.feeder.dto.UploadSessionDto;
+import com.futureh.drone.feeder.exception.ConflictWithInputDataException;
+import com.futureh.drone.feeder.exception.InputNotFoundException;
+import com.futureh.drone.feeder.exception.PayloadTooLargeException;
+import com.futureh.drone.feeder.exception.WrongInputDataException;
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.service.DeliveryService;
+import com.futureh.drone.feeder.service.MetricsService;
+import com.futureh.drone.feeder.service.UploadSessionService;
+import com.futureh.drone.feeder.storage.UploadSession;
+import com.futureh.drone.feeder.storage.LocalVideoStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@TestMethodOrder(OrderAnnotation.class)
+class UploadSessionServiceTest {
+
+  @TempDir
+  Path uploadDirectory;
+
+  private LocalVideoStorage videoStorage;
+  private DeliveryService deliveryService;
+  private UploadSessionService uploadSessionService;
+
+  private Long dlvIdOk = 1L;
+  private String videoNameOk = "BR01-2022-05-30-101010.mp4";
+  private byte[] videoContent = "0123456789abcdefghij".getBytes();
+
+  @BeforeEach
+  public void setUp() {
+    videoStorage = new LocalVideoStorage(uploadDirectory.toString());
+    deliveryService = mock(DeliveryService.class);
+    uploadSessionService = new UploadSessionService(videoStorage, deliveryService,
+        new MetricsService(new SimpleMeterRegistry()));
+  }
+
+  private UploadSession createSession(long size) {
+    UploadSessionDto uploadSessionDto = new UploadSessionDto();
+    uploadSessionDto.setFileName(videoNameOk);
+    uploadSessionDto.setSize(size);
+    return uploadSessionService.createSession(dlvIdOk, uploadSessionDto);
+  }
+
+  private void writeChunk(UploadSession session, int from, int to) {
+    uploadSessionService.writeChunk(session.getId(), from,
+        new ByteArrayInputStream(Arrays.copyOfRange(videoContent, from, to)));
+  }
+
+  @Test
+  @Order(1)
+  @DisplayName("1. writeChunk / finalizeSession, com os pedaços fora de ordem e repetidos"
+      + " --------------------> Ok.")
+  public void uploadChunksOutOfOrder() throws Exception {
+    when(deliveryService.addVideo(eq(dlvIdOk), any(Video.class))).thenReturn(new Delivery());
+    UploadSession session = createSession(videoContent.length);
+
+    writeChunk(session, 10, 20);
+    writeChunk(session, 0, 5);
+    assertEquals(session.getReceivedRanges(), Arrays.asList("0-4", "10-19"));
+    assertFalse(session.isComplete());
+
+    writeChunk(session, 3, 10);
+    writeChunk(session, 3, 10);
+    assertEquals(session.getReceivedRanges(), Arrays.asList("0-19"));
+    assertTrue(session.isComplete());
+
+    uploadSessionService.finalizeSession(session.getId());
+
+    ArgumentCaptor<Video> video = ArgumentCaptor.forClass(Video.class);
+    verify(deliveryService).addVideo(eq(dlvIdOk), video.capture());
+    assertEquals(video.getValue().getFileName(), videoNameOk);
+    assertEquals(video.getValue().getSize(), videoContent.length);
+    Path blobPath = videoStorage.resolveBlob(video.getValue().getChecksum());
+    assertArrayEquals(Files.readAllBytes(blobPath), videoContent);
+    assertFalse(Files.exists(session.getStagingPath()));
+    assertThrows(InputNotFoundException.class,
+        () -> uploadSessionService.getSession(session.getId()));
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. finalizeSession, sem todos os pedaços --------------------> Conflict.")
+  public void finalizeIncompleteSession() throws Exception {
+    UploadSession session = createSession(videoContent.length);
+    writeChunk(session, 0, 10);
+
+    assertThrows(ConflictWithInputDataException.class,
+        () -> uploadSessionService.finalizeSession(session.getId()));
+  }
+
+  @Test
+  @Order(3)
+  @DisplayName("3. writeChunk, além do tamanho declarado --------------------> erro.")
+  public void writeChunkOutsideVideo() throws Exception {
+    UploadSession session = createSession(10);
+
+    assertThrows(WrongInputDataException.class, () -> uploadSessionService.writeChunk(
+        session.getId(), 10, new ByteArrayInputStream(videoContent)));
+    assertThrows(PayloadTooLargeException.class, () -> uploadSessionService.writeChunk(
+        session.getId(), 5, new ByteArrayInputStream(videoContent)));
+  }
+
+  @Test
+  @Order(4)
+  @DisplayName("4. createSession, com vídeo já existente --------------------> Conflict.")
+  public void createSessionVideoAlreadyExists() throws Exception {
+    when(deliveryService.existsVideoByName(videoNameOk)).thenReturn(true);
+
+    assertThrows(ConflictWithInputDataException.class,
+        () -> createSession(videoContent.length));
+  }
+
+  @Test
+  @Order(5)
+  @DisplayName("5. abortSession --------------------> remove o arquivo temporário.")
+  public void abortSession() throws Exception {
+    UploadSession session = createSession(videoContent.length);
+    writeChunk(session, 0, 10);
+
+    uploadSessionService.abortSession(session.getId());
+
+    assertFalse(Files.exists(session.getStagingPath()));
+    assertThrows(InputNotFoundException.class,
+        () -> uploadSessionService.getSession(session.getId()));
+  }
+
+  @Test
+  @Order(6)
+  @DisplayName("6. expireIdleSessions --------------------> remove as sessões paradas além do TTL"
+      + " e seus arquivos temporários.")
+  public void expireIdleSessions() throws Exception {
+    UploadSession session = createSession(videoContent.length);
+    writeChunk(session, 0, 10);
+
+    uploadSessionService.expireIdleSessions();
+    assertEquals(session, uploadSessionService.getSession(session.getId()));
+
+    ReflectionTestUtils.setField(uploadSessionService, "sessionTtl", Duration.ZERO);
+    uploadSessionService.expireIdleSessions();
+    assertFalse(Files.exists(session.getStagingPath()));
+    assertThrows(InputNotFoundException.class,
+        () -> uploadSessionService.getSession(session.getId()));
+  }
+
+  @Test
+  @Order(7)
+  @DisplayName("7. finalizeSession, com um pedaço sendo gravado, e writeChunk, durante o"
+      + " finalizeSession --------------------> Conflict.")
+  public void finalizeWhileWriting() throws Exception {
+    UploadSession session = createSession(videoContent.length);
+    writeChunk(session, 0, 20);
+
+    InputStream finalizingStream = new ByteArrayInputStream(videoContent) {
+      @Override
+      public synchronized int read(byte[] buffer, int offset, int length) {
+        assertThrows(ConflictWithInputDataException.class,
+            () -> uploadSessionService.finalizeSession(session.getId()));
+        return super.read(buffer, offset, length);
+      }
+    };
+    uploadSessionService.writeChunk(session.getId(), 0, finalizingStream);
+
+    when(deliveryService.addVideo(eq(dlvIdOk), any(Video.class))).thenAnswer(invocation -> {
+      assertThrows(ConflictWithInputDataException.class, () -> writeChunk(session, 0, 10));
+      assertThrows(ConflictWithInputDataException.class,
+          () -> uploadSessionService.abortSession(session.getId()));
+      return new Delivery();
+    });
+    uploadSessionService.finalizeSession(session.getId());
+    verify(deliveryService).addVideo(eq(dlvIdOk), any(Video.class));
+  }
+
+  @Test
+  @Order(8)
+  @DisplayName("8. finalizeSession, com falha ao gravar o vídeo --------------------> remove a"
+      + " sessão e o arquivo temporário.")
+  public void finalizeFailure() throws Exception {
+    doThrow(new InputNotFoundException("Delivery not found.")).when(deliveryService)
+        .addVideo(eq(dlvIdOk), any(Video.class));
+    UploadSession session = createSession(videoContent.length);
+    writeChunk(session, 0, 20);
+
+    assertThrows(InputNotFoundException.class,
+        () -> uploadSessionService.finalizeSession(session.getId()));
+    assertFalse(Files.exists(session.getStagingPath()));
+    assertThrows(InputNotFoundException.class,
+        () -> uploadSessionService.getSession(session.getId()));
+  }
+
+  @Test
+  @Order(9)
+  @DisplayName("9. createSession, sem nome do vídeo ou com nome em branco"
+      + " --------------------> WrongInputDataException.")
+  public void createSessionWithoutName() throws Exception {
+    for (String fileName : Arrays.asList(null, "", "   ")) {
+      UploadSessionDto uploadSessionDto = new UploadSessionDto();
+      uploadSessionDto.setFileName(fileName);
+      uploadSessionDto.setSize((long) videoContent.length);
+
+      assertThrows(WrongInputDataException.class,
+          () -> uploadSessionService.createSession(dlvIdOk, uploadSessionDto));
+    }
+  }
+
+  @Test
+  @Order(10)
+  @DisplayName("10. discardLeftoverStaging --------------------> remove os arquivos das sessões"
+      + " de uma execução anterior.")
+  public void discardLeftoverStaging() throws Exception {
+    UploadSession session = createSession(videoContent.length);
+    writeChunk(session, 0, 5);
+    Path leftover = session.getStagingPath();
+
+    UploadSessionService restarted = new UploadSessionService(videoStorage, deliveryService,
+        new MetricsService(new SimpleMeterRegistry()));
+    restarted.discardLeftoverStaging();
+
+    assertFalse(Files.exists(leftover));
+    assertTrue(videoStorage.listStaging().isEmpty());
+  }
+
+}
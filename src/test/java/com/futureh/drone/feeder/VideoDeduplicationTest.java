@@ -0,0 +1,202 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.futureh.drone.feeder.dto.DeliveryBulkDto;
+import com.futureh.drone.feeder.dto.DeliveryDto;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.repository.VideoBlobRepository;
+import com.futureh.drone.feeder.repository.VideoRepository;
+import com.futureh.drone.feeder.service.DeliveryService;
+import com.futureh.drone.feeder.service.VideoBlobLedger;
+import com.futureh.drone.feeder.storage.LocalVideoStorage;
+import com.futureh.drone.feeder.storage.StoredBlob;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@TestMethodOrder(OrderAnnotation.class)
+class VideoDeduplicationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private DeliveryService deliveryService;
+
+  @Autowired
+  private VideoRepository videoRepository;
+
+  @Autowired
+  private LocalVideoStorage videoStorage;
+
+  @Autowired
+  private VideoBlobLedger videoBlobLedger;
+
+  @Autowired
+  private VideoBlobRepository videoBlobRepository;
+
+  @Value("${drone-feeder.videos.directory}")
+  private String directory;
+
+  private List<Long> ids = new ArrayList<Long>();
+  private String firstVideoName = "A011-2022-05-30-101010.mp4";
+  private String retriedVideoName = "A011-2022-05-30-101512.mp4";
+  private byte[] content = "Same drone footage uploaded twice".getBytes();
+
+  @BeforeEach
+  public void setUp() {
+    ids.add(addDelivery("Alberto Santos Dumont"));
+    ids.add(addDelivery("Joaquim Maria Machado de Assis"));
+  }
+
+  @AfterEach
+  public void cleanUp() throws Exception {
+    DeliveryBulkDto bulk = new DeliveryBulkDto();
+    bulk.setIds(ids);
+    deliveryService.removeDeliveries(bulk);
+  }
+
+  @Test
+  @Order(1)
+  @DisplayName("1. O mesmo conteúdo enviado com nomes diferentes deve ser armazenado uma única"
+      + " vez e o arquivo só deve ser apagado quando o último vídeo for removido.")
+  public void sameContentIsStoredOnce() throws Exception {
+    this.mockMvc.perform(multipart("/delivery/" + ids.get(0) + "/uploadVideo")
+        .file(new MockMultipartFile("video", firstVideoName, "video/mp4", content))
+    ).andExpect(status().isCreated());
+    MvcResult mvcResult = this.mockMvc.perform(
+        put("/delivery/" + ids.get(1) + "/uploadVideo/" + retriedVideoName)
+        .contentType(MediaType.APPLICATION_OCTET_STREAM).content(content)
+    ).andExpect(request().asyncStarted()).andReturn();
+    this.mockMvc.perform(asyncDispatch(mvcResult)).andExpect(status().isCreated());
+
+    Video firstVideo = videoRepository.findByFileName(firstVideoName).get();
+    Video retriedVideo = videoRepository.findByFileName(retriedVideoName).get();
+    assertNotNull(firstVideo.getChecksum());
+    assertEquals(firstVideo.getChecksum(), retriedVideo.getChecksum());
+    Path blobPath = videoStorage.resolveBlob(firstVideo.getChecksum());
+    assertTrue(Files.isRegularFile(blobPath));
+    assertEquals(content.length, Files.size(blobPath));
+
+    this.mockMvc.perform(delete("/delivery/" + ids.get(0) + "/deleteVideo"))
+        .andExpect(status().isOk());
+    assertFalse(videoRepository.existsByFileName(firstVideoName));
+    assertTrue(Files.exists(blobPath));
+
+    this.mockMvc.perform(delete("/delivery/" + ids.get(1) + "/deleteVideo"))
+        .andExpect(status().isOk());
+    assertFalse(Files.exists(blobPath));
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. O pino de um upload deve valer para as outras réplicas, que só apagam o blob"
+      + " depois que ele for liberado.")
+  public void pinsAreSharedBetweenReplicas() throws Exception {
+    LocalVideoStorage otherReplica = otherReplica();
+    byte[] footage = "Footage pinned on one replica".getBytes();
+    String checksum = videoStorage.saveBlob(new ByteArrayInputStream(footage), 1024)
+        .getChecksum();
+    Path blobPath = videoStorage.resolveBlob(checksum);
+    assertEquals(1, videoBlobRepository.findById(checksum).get().getPins());
+
+    assertFalse(otherReplica.deleteBlob(checksum, () -> false));
+    assertTrue(Files.exists(blobPath));
+
+    videoStorage.unpin(checksum);
+    assertTrue(otherReplica.deleteBlob(checksum, () -> false));
+    assertFalse(Files.exists(blobPath));
+    assertFalse(videoBlobRepository.existsById(checksum));
+  }
+
+  @Test
+  @Order(3)
+  @DisplayName("3. Um upload do mesmo conteúdo durante a remoção do blob em outra réplica deve"
+      + " esperar a remoção e gravar o blob de novo.")
+  public void uploadDuringRemovalStoresTheBlobAgain() throws Exception {
+    LocalVideoStorage otherReplica = otherReplica();
+    byte[] footage = "Footage removed on one replica, uploaded on another".getBytes();
+    String checksum = videoStorage.saveBlob(new ByteArrayInputStream(footage), 1024)
+        .getChecksum();
+    videoStorage.unpin(checksum);
+
+    CountDownLatch locked = new CountDownLatch(1);
+    CompletableFuture<Boolean> removal = CompletableFuture.supplyAsync(() -> {
+      try {
+        return otherReplica.deleteBlob(checksum, () -> {
+          locked.countDown();
+          sleep(300);
+          return false;
+        });
+      } catch (Exception err) {
+        throw new IllegalStateException(err);
+      }
+    });
+    assertTrue(locked.await(5, TimeUnit.SECONDS));
+    StoredBlob upload = videoStorage.saveBlob(new ByteArrayInputStream(footage), 1024);
+
+    assertTrue(removal.get(5, TimeUnit.SECONDS));
+    assertFalse(upload.isDeduplicated());
+    assertTrue(Files.exists(videoStorage.resolveBlob(checksum)));
+    videoStorage.unpin(checksum);
+    assertTrue(videoStorage.deleteBlob(checksum, () -> false));
+  }
+
+  private LocalVideoStorage otherReplica() {
+    LocalVideoStorage otherReplica = new LocalVideoStorage(directory);
+    otherReplica.setBlobPins(videoBlobLedger);
+    return otherReplica;
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException err) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private Long addDelivery(String receiverName) {
+    DeliveryDto delivery = new DeliveryDto();
+    delivery.setReceiverName(receiverName);
+    delivery.setAddress("Avenida Ayrton Senna, 2541 - Barra da Tijuca, Rio de Janeiro - RJ");
+    delivery.setZipCode("22775-002");
+    delivery.setLatitude("-22.987029");
+    delivery.setLongitude("-43.366164");
+    delivery.setWeightInKg(2.5F);
+    return deliveryService.addDelivery(delivery).getId();
+  }
+
+}
@@ -0,0 +1,196 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.repository.VideoRepository;
+import com.futureh.drone.feeder.service.VideoProcessingService;
+import com.futureh.drone.feeder.storage.VideoStorage;
+import com.futureh.drone.feeder.util.VideoInspector;
+import com.futureh.drone.feeder.util.VideoInspector.VideoMetadata;
+import com.futureh.drone.feeder.util.VideoProcessingStatus;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@TestMethodOrder(OrderAnnotation.class)
+class VideoProcessingTest {
+
+  @TempDir
+  Path temporaryDirectory;
+
+  @Autowired
+  private VideoProcessingService videoProcessingService;
+
+  @Autowired
+  private DeliveryRepository deliveryRepository;
+
+  @Autowired
+  private VideoRepository videoRepository;
+
+  @Autowired
+  private VideoStorage videoStorage;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private String videoName = "BR07-2022-05-30-101010.mp4";
+
+  @AfterEach
+  public void cleanUp() throws Exception {
+    deliveryRepository.deleteAll();
+    videoStorage.delete(videoName);
+  }
+
+  @Test
+  @Order(1)
+  @DisplayName("1. O método inspect deve ler a duração e a resolução dos cabeçalhos do MP4 e"
+      + " calcular o checksum SHA-256 do arquivo.")
+  public void inspectMp4() throws Exception {
+    byte[] content = mp4(12500, 1920, 1080);
+    Path videoPath = Files.write(temporaryDirectory.resolve("video.mp4"), content);
+
+    VideoMetadata metadata = VideoInspector.inspect(videoPath);
+
+    assertEquals(12500L, metadata.getDurationInMs());
+    assertEquals(1920, metadata.getWidth());
+    assertEquals(1080, metadata.getHeight());
+    assertEquals(sha256(content), metadata.getChecksum());
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. O método inspect, com o arquivo truncado ou sem cabeçalho, deve lançar uma"
+      + " exceção do tipo IOException.")
+  public void inspectInvalidMp4() throws Exception {
+    byte[] content = mp4(12500, 1920, 1080);
+    Path truncated = Files.write(temporaryDirectory.resolve("truncated.mp4"),
+        Arrays.copyOf(content, content.length - 10));
+    Path notMp4 = Files.write(temporaryDirectory.resolve("text.mp4"),
+        "not a video".getBytes(StandardCharsets.UTF_8));
+
+    assertThrows(IOException.class, () -> VideoInspector.inspect(truncated));
+    assertThrows(IOException.class, () -> VideoInspector.inspect(notMp4));
+  }
+
+  @Test
+  @Order(3)
+  @DisplayName("3. O método submit deve processar o video em segundo plano e gravar o checksum,"
+      + " a duração e a resolução no video.")
+  public void processInBackground() throws Exception {
+    byte[] content = mp4(3000, 1280, 720);
+    videoStorage.save(videoName, new ByteArrayInputStream(content), content.length);
+    Delivery delivery = new Delivery("Alberto Santos Dumont", "Avenida Ayrton Senna, 2541",
+        "22775-002", "-22.987029", "-43.366164", 4.3F);
+    delivery.setVideo(new Video(videoName, (long) content.length));
+    Long videoId = deliveryRepository.save(delivery).getVideo().getId();
+
+    assertTrue(videoProcessingService.submit(videoId));
+
+    Video video = videoRepository.findById(videoId).get();
+    for (int i = 0; i < 100 && video.getProcessingStatus() == VideoProcessingStatus.PENDING;
+        i++) {
+      Thread.sleep(50);
+      video = videoRepository.findById(videoId).get();
+    }
+    assertEquals(VideoProcessingStatus.READY, video.getProcessingStatus());
+    assertEquals(sha256(content), video.getChecksum());
+    assertEquals(3000L, video.getDurationInMs());
+    assertEquals(1280, video.getWidth());
+    assertEquals(720, video.getHeight());
+  }
+
+  @Test
+  @Order(4)
+  @DisplayName("4. O método process, com um erro inesperado ao ler o video, deve marcar o video"
+      + " como FAILED em vez de deixá-lo PENDING.")
+  public void processUnexpectedError() throws Exception {
+    Delivery delivery = new Delivery("Alberto Santos Dumont", "Avenida Ayrton Senna, 2541",
+        "22775-002", "-22.987029", "-43.366164", 4.3F);
+    delivery.setVideo(new Video("BR07-2022-05-30-111111.mp4", 1024L));
+    Long videoId = deliveryRepository.save(delivery).getVideo().getId();
+
+    VideoStorage failingStorage = mock(VideoStorage.class);
+    when(failingStorage.read(any(), any(), any()))
+        .thenThrow(new IllegalStateException("Storage client closed."));
+    VideoProcessingService processing = new VideoProcessingService();
+    ReflectionTestUtils.setField(processing, "videoRepository", videoRepository);
+    ReflectionTestUtils.setField(processing, "videoStorage", failingStorage);
+    ReflectionTestUtils.setField(processing, "transactionTemplate", transactionTemplate);
+
+    processing.process(videoId);
+
+    assertEquals(VideoProcessingStatus.FAILED,
+        videoRepository.findById(videoId).get().getProcessingStatus());
+  }
+
+  /** Minimal MP4: ftyp, moov with mvhd, an audio and a video track, and a 64-bit mdat. */
+  private static byte[] mp4(long durationInMs, int width, int height) {
+    ByteBuffer movieHeader = ByteBuffer.allocate(100);
+    movieHeader.putInt(12, 1000).putInt(16, (int) durationInMs);
+    ByteBuffer audioHeader = ByteBuffer.allocate(84);
+    ByteBuffer videoHeader = ByteBuffer.allocate(84);
+    videoHeader.putInt(76, width << 16).putInt(80, height << 16);
+
+    byte[] moov = box("moov", concat(box("mvhd", movieHeader.array()),
+        box("trak", box("tkhd", audioHeader.array())),
+        box("trak", box("tkhd", videoHeader.array()))));
+    byte[] media = new byte[4096];
+    Arrays.fill(media, (byte) 7);
+    ByteBuffer mdat = ByteBuffer.allocate(16 + media.length);
+    mdat.putInt(1).put("mdat".getBytes(StandardCharsets.US_ASCII))
+        .putLong(16 + media.length).put(media);
+
+    return concat(box("ftyp", "isom\0\0\0\0isom".getBytes(StandardCharsets.US_ASCII)), moov,
+        mdat.array());
+  }
+
+  private static byte[] box(String type, byte[] payload) {
+    return ByteBuffer.allocate(8 + payload.length).putInt(8 + payload.length)
+        .put(type.getBytes(StandardCharsets.US_ASCII)).put(payload).array();
+  }
+
+  private static byte[] concat(byte[]... parts) {
+    ByteBuffer buffer = ByteBuffer.allocate(Arrays.stream(parts).mapToInt(part -> part.length)
+        .sum());
+    for (byte[] part : parts) {
+      buffer.put(part);
+    }
+    return buffer.array();
+  }
+
+  private static String sha256(byte[] content) throws Exception {
+    StringBuilder checksum = new StringBuilder();
+    for (byte value : MessageDigest.getInstance("SHA-256").digest(content)) {
+      checksum.append(String.format("%02x", value));
+    }
+    return checksum.toString();
+  }
+
+}
@@ -0,0 +1,173 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.futureh.drone.feeder.exception.PayloadTooLargeException;
+import com.futureh.drone.feeder.storage.InMemoryBlobPins;
+import com.futureh.drone.feeder.storage.StoredBlob;
+import com.futureh.drone.feeder.storage.LocalVideoStorage;
+import com.futureh.drone.feeder.util.VideoInspector;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+@TestMethodOrder(OrderAnnotation.class)
+class VideoStorageTest {
+
+  @TempDir
+  Path uploadDirectory;
+
+  private String videoNameOk = "BR01-2022-05-30-101010.mp4";
+  private String notExistentVideoName = "DRON-1999-10-10-101010.mp4";
+
+  @Test
+  @Order(1)
+  @DisplayName("1. resolve --------------------> DRON/yyyy-MM-dd/nome.")
+  public void resolveShardedPath() throws Exception {
+    LocalVideoStorage videoStorage = new LocalVideoStorage(uploadDirectory.toString());
+
+    Path videoPath = videoStorage.resolve(videoNameOk);
+
+    assertEquals(videoPath, uploadDirectory.resolve("BR01").resolve("2022-05-30")
+        .resolve(videoNameOk));
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("2. save / load / delete --------------------> Ok.")
+  public void saveLoadAndDeleteOk() throws Exception {
+    LocalVideoStorage videoStorage = new LocalVideoStorage(uploadDirectory.toString());
+
+    long size = videoStorage.save(videoNameOk,
+        new ByteArrayInputStream("New drone video".getBytes()), 1024);
+    Resource resource = videoStorage.load(videoNameOk);
+
+    assertEquals(resource.getFilename(), videoNameOk);
+    assertEquals(size, "New drone video".getBytes().length);
+    assertEquals(resource.contentLength(), "New drone video".getBytes().length);
+    assertTrue(videoStorage.delete(videoNameOk));
+    assertNull(videoStorage.load(videoNameOk));
+  }
+
+  @Test
+  @Order(3)
+  @DisplayName("3. load --------------------> vídeo salvo na raiz do diretório (legado).")
+  public void loadLegacyVideo() throws Exception {
+    LocalVideoStorage videoStorage = new LocalVideoStorage(uploadDirectory.toString());
+    Files.write(uploadDirectory.resolve(videoNameOk), "Legacy drone video".getBytes());
+
+    assertEquals(videoStorage.locate(videoNameOk), uploadDirectory.resolve(videoNameOk));
+    assertEquals(videoStorage.load(videoNameOk).getFilename(), videoNameOk);
+  }
+
+  @Test
+  @Order(4)
+  @DisplayName("4. load / delete --------------------> vídeo inexistente.")
+  public void loadAndDeleteNotExistentVideo() throws Exception {
+    LocalVideoStorage videoStorage = new LocalVideoStorage(uploadDirectory.toString());
+
+    assertNull(videoStorage.load(notExistentVideoName));
+    assertFalse(videoStorage.delete(notExistentVideoName));
+  }
+
+  @Test
+  @Order(5)
+  @DisplayName("5. save --------------------> PayloadTooLargeException, sem deixar arquivos.")
+  public void saveTooLarge() throws Exception {
+    LocalVideoStorage videoStorage = new LocalVideoStorage(uploadDirectory.toString());
+
+    assertThrows(PayloadTooLargeException.class, () -> videoStorage.save(videoNameOk,
+        new ByteArrayInputStream(new byte[200 * 1024]), 100 * 1024));
+
+    Path shardDirectory = videoStorage.resolve(videoNameOk).getParent();
+    try (Stream<Path> files = Files.list(shardDirectory)) {
+      assertEquals(files.count(), 0L);
+    }
+  }
+
+  @Test
+  @Order(6)
+  @DisplayName("6. saveBlob --------------------> conteúdo repetido é armazenado uma única vez.")
+  public void saveBlobDeduplicates() throws Exception {
+    LocalVideoStorage videoStorage = new LocalVideoStorage(uploadDirectory.toString());
+    byte[] content = "New drone video".getBytes();
+
+    StoredBlob first = videoStorage.saveBlob(new ByteArrayInputStream(content), 1024);
+    StoredBlob second = videoStorage.saveBlob(new ByteArrayInputStream(content), 1024);
+
+    assertFalse(first.isDeduplicated());
+    assertTrue(second.isDeduplicated());
+    assertEquals(first.getChecksum(), second.getChecksum());
+    assertEquals(first.getSize(), content.length);
+    assertEquals(first.getChecksum(),
+        VideoInspector.toHex(MessageDigest.getInstance("SHA-256").digest(content)));
+    assertArrayEquals(Files.readAllBytes(videoStorage.resolveBlob(first.getChecksum())),
+        content);
+    try (Stream<Path> files = Files.list(videoStorage.resolveBlob(first.getChecksum())
+        .getParent())) {
+      assertEquals(files.count(), 1L);
+    }
+    assertTrue(videoStorage.exists(videoNameOk, first.getChecksum()));
+    assertEquals(videoStorage.load(videoNameOk, first.getChecksum()).getFile().toPath(),
+        videoStorage.resolveBlob(first.getChecksum()));
+  }
+
+  @Test
+  @Order(7)
+  @DisplayName("7. deleteBlob --------------------> só apaga o blob sem uploads em andamento e"
+      + " sem vídeos que o referenciem.")
+  public void deleteBlobKeepsReferencedBlobs() throws Exception {
+    LocalVideoStorage videoStorage = new LocalVideoStorage(uploadDirectory.toString());
+    byte[] content = "New drone video".getBytes();
+    String checksum = videoStorage.saveBlob(new ByteArrayInputStream(content), 1024)
+        .getChecksum();
+    videoStorage.saveBlob(new ByteArrayInputStream(content), 1024);
+
+    assertFalse(videoStorage.deleteBlob(checksum, () -> false));
+    videoStorage.unpin(checksum);
+    assertFalse(videoStorage.deleteBlob(checksum, () -> false));
+    videoStorage.unpin(checksum);
+    assertFalse(videoStorage.deleteBlob(checksum, () -> true));
+    assertTrue(Files.exists(videoStorage.resolveBlob(checksum)));
+
+    assertTrue(videoStorage.deleteBlob(checksum, () -> false));
+    assertFalse(Files.exists(videoStorage.resolveBlob(checksum)));
+  }
+
+  @Test
+  @Order(8)
+  @DisplayName("8. saveBlob --------------------> falha ao fixar o blob, sem deixar arquivos.")
+  public void saveBlobPinFailureLeavesNoFiles() throws Exception {
+    LocalVideoStorage videoStorage = new LocalVideoStorage(uploadDirectory.toString());
+    videoStorage.setBlobPins(new InMemoryBlobPins() {
+      @Override
+      public void pin(String checksum) {
+        throw new CannotCreateTransactionException("Connection is not available");
+      }
+    });
+
+    assertThrows(CannotCreateTransactionException.class, () -> videoStorage.saveBlob(
+        new ByteArrayInputStream("New drone video".getBytes()), 1024));
+
+    try (Stream<Path> files = Files.list(uploadDirectory.resolve(".blobs")
+        .resolve(".incoming"))) {
+      assertEquals(files.count(), 0L);
+    }
+  }
+
+}
@@ -0,0 +1,84 @@
+package com.futureh.drone.feeder.benchmark;
+
+import com.futureh.drone.feeder.util.CapacityIndex;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DispatchBenchmark class.
+ *
+ * <p>Best-fit assignment of a synthetic backlog of 1M deliveries (0.1 to 12 kg) to a fleet of
+ * 10k drones (2 to 40 kg) through the {@link CapacityIndex}, the in-memory part of a dispatch
+ * run. The fleet is refilled before every invocation, so each one assigns from empty drones
+ * until the fleet is full; divide by the assigned count for the cost per assignment.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DispatchBenchmark {
+
+  private static final int FLEET_SIZE = 10_000;
+  private static final int BACKLOG_SIZE = 1_000_000;
+
+  private float[] capacities;
+  private float[] weights;
+  private CapacityIndex capacityIndex;
+
+  /** setUp method.*/
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    capacities = new float[FLEET_SIZE];
+    for (int i = 0; i < FLEET_SIZE; i++) {
+      capacities[i] = 2F + random.nextInt(381) / 10F;
+    }
+
+    weights = new float[BACKLOG_SIZE];
+    for (int i = 0; i < BACKLOG_SIZE; i++) {
+      weights[i] = 0.1F + random.nextInt(120) / 10F;
+    }
+    Arrays.sort(weights);
+    for (int i = 0, j = BACKLOG_SIZE - 1; i < j; i++, j--) {
+      float weight = weights[i];
+      weights[i] = weights[j];
+      weights[j] = weight;
+    }
+  }
+
+  /** fillFleet method.*/
+  @Setup(Level.Invocation)
+  public void fillFleet() {
+    capacityIndex = new CapacityIndex();
+    for (int i = 0; i < FLEET_SIZE; i++) {
+      capacityIndex.add((long) i, capacities[i]);
+    }
+  }
+
+  /** assignBacklog method.*/
+  @Benchmark
+  public int assignBacklog() {
+    int assigned = 0;
+    for (float weight : weights) {
+      if (capacityIndex.assign(weight) != null) {
+        assigned++;
+      }
+    }
+    return assigned;
+  }
+
+}
@@ -0,0 +1,80 @@
+package com.futureh.drone.feeder.benchmark;
+
+import com.futureh.drone.feeder.util.DeliveryStatus;
+import com.futureh.drone.feeder.util.GeoGrid;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GeoGridBenchmark class.
+ *
+ * <p>Radius and bounding-box lookups in the {@link GeoGrid} over {@code storeSize} deliveries
+ * spread across a 1 x 1 degree square around Rio de Janeiro, a third of them delivered.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoGridBenchmark {
+
+  @Param({"100000", "1000000"})
+  private int storeSize;
+
+  private GeoGrid geoGrid;
+  private double[][] centers;
+  private int next;
+
+  /** setUp method.*/
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    geoGrid = new GeoGrid();
+    for (int i = 0; i < storeSize; i++) {
+      geoGrid.put((long) i, -23.4 + random.nextDouble(), -43.7 + random.nextDouble(),
+          i % 3 == 0 ? DeliveryStatus.DELIVERED : DeliveryStatus.TO_DELIVER);
+    }
+
+    centers = new double[1024][];
+    for (int i = 0; i < centers.length; i++) {
+      centers[i] = new double[] { -23.3 + random.nextDouble() * 0.8,
+          -43.6 + random.nextDouble() * 0.8 };
+    }
+  }
+
+  /** nearestWithinOneKm method.*/
+  @Benchmark
+  public List<GeoGrid.Point> nearestWithinOneKm() {
+    double[] center = centers[next++ & (centers.length - 1)];
+    return geoGrid.nearest(center[0], center[1], 1, DeliveryStatus.TO_DELIVER, 100);
+  }
+
+  /** nearestWithinFiveKm method.*/
+  @Benchmark
+  public List<GeoGrid.Point> nearestWithinFiveKm() {
+    double[] center = centers[next++ & (centers.length - 1)];
+    return geoGrid.nearest(center[0], center[1], 5, DeliveryStatus.TO_DELIVER, 100);
+  }
+
+  /** withinBox method.*/
+  @Benchmark
+  public List<GeoGrid.Point> withinBox() {
+    double[] center = centers[next++ & (centers.length - 1)];
+    return geoGrid.withinBox(center[0], center[1], center[0] + 0.02, center[1] + 0.02,
+        DeliveryStatus.TO_DELIVER, 100);
+  }
+
+}
@@ -0,0 +1,93 @@
+package com.futureh.drone.feeder.benchmark;
+
+import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.repository.DeliveryRepository;
+import com.futureh.drone.feeder.repository.DroneRepository;
+import com.futureh.drone.feeder.repository.VideoRepository;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * InMemoryRepositories class.
+ *
+ * <p>Map-backed stand-ins for the Spring Data repositories, so the benchmarks measure the
+ * service code and not a database. Only the lookups the benchmarks call are implemented.</p>
+ */
+public class InMemoryRepositories {
+
+  /** droneRepository method.*/
+  public static DroneRepository droneRepository(Map<String, Drone> dronesByName) {
+    return proxy(DroneRepository.class, (proxy, method, args) -> {
+      switch (method.getName()) {
+        case "findByName":
+          return Optional.ofNullable(dronesByName.get((String) args[0]));
+        case "findAll":
+          return new ArrayList<Drone>(dronesByName.values());
+        default:
+          return objectMethod(proxy, method.getName(), args);
+      }
+    });
+  }
+
+  /** deliveryRepository method, serves the rows of the route planner query.*/
+  public static DeliveryRepository deliveryRepository(List<Object[]> stops) {
+    return proxy(DeliveryRepository.class, (proxy, method, args) -> {
+      switch (method.getName()) {
+        case "findStops":
+          return stops;
+        default:
+          return objectMethod(proxy, method.getName(), args);
+      }
+    });
+  }
+
+  /** videoRepository method.*/
+  public static VideoRepository videoRepository(Map<String, Video> videosByName) {
+    return proxy(VideoRepository.class, (proxy, method, args) -> {
+      switch (method.getName()) {
+        case "findByFileName":
+          return Optional.ofNullable(videosByName.get((String) args[0]));
+        case "existsByFileName":
+          return videosByName.containsKey((String) args[0]);
+        default:
+          return objectMethod(proxy, method.getName(), args);
+      }
+    });
+  }
+
+  /** inject method, sets an {@code @Autowired} field the way Spring would.*/
+  public static void inject(Object target, String fieldName, Object value) {
+    try {
+      Field field = target.getClass().getDeclaredField(fieldName);
+      field.setAccessible(true);
+      field.set(target, value);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static <T> T proxy(Class<T> repository, InvocationHandler handler) {
+    return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(),
+        new Class<?>[] { repository }, handler));
+  }
+
+  private static Object objectMethod(Object proxy, String name, Object[] args) {
+    switch (name) {
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "equals":
+        return proxy == args[0];
+      case "toString":
+        return "InMemoryRepository";
+      default:
+        throw new UnsupportedOperationException(name);
+    }
+  }
+
+}
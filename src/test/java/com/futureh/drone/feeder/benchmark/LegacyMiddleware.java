@@ -0,0 +1,76 @@
+package com.futureh.drone.feeder.benchmark;
+
+import com.futureh.drone.feeder.dto.DeliveryDto;
+import com.futureh.drone.feeder.dto.DroneDto;
+import com.futureh.drone.feeder.exception.WrongInputDataException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * LegacyMiddleware class.
+ *
+ * <p>The regex and DateTimeFormatter based validators the middlewares used before the hand
+ * written scanners, kept only as the baseline of MiddlewareBenchmark.</p>
+ */
+public class LegacyMiddleware {
+
+  /** isValidDelivery method.*/
+  public static void isValidDelivery(DeliveryDto delivery) {
+    if (delivery.getReceiverName().length() > 32) {
+      throw new WrongInputDataException("Delivery receiver name has more than 32 characters.");
+    }
+    if (delivery.getAddress().length() > 100) {
+      throw new WrongInputDataException("Delivery address has more than 100 characters.");
+    }
+    if (!delivery.getZipCode().matches("\\d{5}-\\d{3}")) {
+      throw new WrongInputDataException("Zip code isn't in default format (12345-123).");
+    }
+    if (!delivery.getLatitude().matches("[-+]\\d{2}.\\d{6}")) {
+      throw new WrongInputDataException("Latitude isn't in the format.");
+    }
+    if (!delivery.getLongitude().matches("[-+]\\d{2}.\\d{6}")) {
+      throw new WrongInputDataException("Longitude isn't in the format.");
+    }
+    if (delivery.getWeightInKg() > 12) {
+      throw new WrongInputDataException("The weight exceeded the limit (12Kg).");
+    }
+  }
+
+  /** isValidDrone method.*/
+  public static void isValidDrone(DroneDto drone) {
+    String name = drone.getName();
+    if (name.length() != 4) {
+      throw new WrongInputDataException("Drone name must be 4 characters.");
+    }
+    if (!name.matches("[A-Z_0-9]{4}")) {
+      throw new WrongInputDataException("Drone name must have uppercase characters and numbers.");
+    }
+    if (drone.getModel().length() > 32) {
+      throw new WrongInputDataException("Drone name has more than 32 characters.");
+    }
+    if (drone.getCapacityWeightInKg() == null) {
+      throw new WrongInputDataException("Drone must have weight capacity in kg.");
+    }
+  }
+
+  /** isValidName method.*/
+  public static void isValidName(String fileName) {
+    if (fileName.length() != 26) {
+      throw new WrongInputDataException("The video name length isn't 26 characters.");
+    }
+    if (!fileName.substring(0, 5).matches("^(?:\\w{4})-$")) {
+      throw new WrongInputDataException("The default drone name isn't correct.");
+    }
+    if (!fileName.substring(fileName.length() - 4, fileName.length()).equals(".mp4")) {
+      throw new WrongInputDataException("The video format isn't correct.");
+    }
+    String date = fileName.substring(5, fileName.length() - 4);
+    try {
+      DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd-HHmmss");
+      LocalDate.parse(date, dateFormat);
+    } catch (Exception exc) {
+      throw new WrongInputDataException("The delivery date-time isn't correct.");
+    }
+  }
+
+}
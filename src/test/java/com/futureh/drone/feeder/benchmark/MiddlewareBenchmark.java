@@ -0,0 +1,108 @@
+package com.futureh.drone.feeder.benchmark;
+
+import com.futureh.drone.feeder.dto.DeliveryDto;
+import com.futureh.drone.feeder.dto.DroneDto;
+import com.futureh.drone.feeder.exception.WrongInputDataException;
+import com.futureh.drone.feeder.middleware.DeliveryMiddleware;
+import com.futureh.drone.feeder.middleware.DroneMiddleware;
+import com.futureh.drone.feeder.middleware.ValidationResult;
+import com.futureh.drone.feeder.middleware.VideoNameMiddleware;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MiddlewareBenchmark class.
+ *
+ * <p>Cost of validating one valid request body or video name, the work every write request pays
+ * before reaching the services. The {@code legacy} benchmarks run the former regex and
+ * DateTimeFormatter validators; compare both with {@code -prof gc} for the allocation rate.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MiddlewareBenchmark {
+
+  private DeliveryDto delivery;
+  private DroneDto drone;
+  private String videoName;
+  private String invalidVideoName;
+
+  /** setUp method.*/
+  @Setup
+  public void setUp() {
+    delivery = new DeliveryDto();
+    delivery.setReceiverName("Alberto Santos Dumont");
+    delivery.setAddress("Avenida Ayrton Senna, 2541 - Barra da Tijuca, Rio de Janeiro - RJ");
+    delivery.setZipCode("22775-002");
+    delivery.setLatitude("-22.987029");
+    delivery.setLongitude("-43.366164");
+    delivery.setWeightInKg(4.3F);
+
+    drone = new DroneDto();
+    drone.setName("G305");
+    drone.setModel("DJI Phantom Pro 4");
+    drone.setCapacityWeightInKg(2.72F);
+
+    videoName = "G305-2023-06-12-191255.mp4";
+    invalidVideoName = "G305-2023-13-12-191255.mp4";
+  }
+
+  @Benchmark
+  public void isValidDelivery() {
+    DeliveryMiddleware.isValidDelivery(delivery);
+  }
+
+  @Benchmark
+  public void isValidDrone() {
+    DroneMiddleware.isValidDrone(drone);
+  }
+
+  @Benchmark
+  public void isValidVideoName() {
+    VideoNameMiddleware.isValidName(videoName);
+  }
+
+  @Benchmark
+  public ValidationResult validateInvalidVideoName() {
+    return VideoNameMiddleware.validateName(invalidVideoName);
+  }
+
+  @Benchmark
+  public void legacyIsValidDelivery() {
+    LegacyMiddleware.isValidDelivery(delivery);
+  }
+
+  @Benchmark
+  public void legacyIsValidDrone() {
+    LegacyMiddleware.isValidDrone(drone);
+  }
+
+  @Benchmark
+  public void legacyIsValidVideoName() {
+    LegacyMiddleware.isValidName(videoName);
+  }
+
+  /** legacyInvalidVideoName method.*/
+  @Benchmark
+  public String legacyInvalidVideoName() {
+    try {
+      LegacyMiddleware.isValidName(invalidVideoName);
+      return null;
+    } catch (WrongInputDataException e) {
+      return e.getMessage();
+    }
+  }
+
+}
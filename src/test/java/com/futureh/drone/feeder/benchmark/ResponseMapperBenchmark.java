@@ -0,0 +1,89 @@
+package com.futureh.drone.feeder.benchmark;
+
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.response.DeliveryDetailsResponse;
+import com.futureh.drone.feeder.response.DeliveryResponse;
+import com.futureh.drone.feeder.response.DroneResponse;
+import com.futureh.drone.feeder.response.VideoResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ResponseMapperBenchmark class.
+ *
+ * <p>Cost of copying one entity into the response classes through the
+ * {@code createResponseBy...Entity} mappers.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMapperBenchmark {
+
+  private Delivery delivery;
+  private Video video;
+  private Drone drone;
+
+  /** setUp method.*/
+  @Setup
+  public void setUp() {
+    drone = new Drone("G305", "DJI Phantom Pro 4", 2.72F);
+    drone.setId(1L);
+
+    video = new Video("G305-2023-06-12-191255.mp4", 2861955L);
+    video.setId(1L);
+    video.setDrone(drone);
+
+    delivery = new Delivery("Alberto Santos Dumont",
+        "Avenida Ayrton Senna, 2541 - Barra da Tijuca, Rio de Janeiro - RJ", "22775-002",
+        "-22.987029", "-43.366164", 4.3F);
+    delivery.setId(1L);
+    delivery.setVideo(video);
+  }
+
+  /** deliveryResponse method.*/
+  @Benchmark
+  public DeliveryResponse deliveryResponse() {
+    DeliveryResponse response = new DeliveryResponse();
+    response.createResponseByDeliveryEntity(delivery);
+    return response;
+  }
+
+  /** deliveryDetailsResponse method.*/
+  @Benchmark
+  public DeliveryDetailsResponse deliveryDetailsResponse() {
+    DeliveryDetailsResponse response = new DeliveryDetailsResponse();
+    response.createResponseByDeliveryEntity(delivery);
+    return response;
+  }
+
+  /** videoResponse method.*/
+  @Benchmark
+  public VideoResponse videoResponse() {
+    VideoResponse response = new VideoResponse();
+    response.createResponseByVideoEntity(video);
+    return response;
+  }
+
+  /** droneResponse method.*/
+  @Benchmark
+  public DroneResponse droneResponse() {
+    DroneResponse response = new DroneResponse();
+    response.createResponseByDroneEntity(drone);
+    return response;
+  }
+
+}
@@ -0,0 +1,77 @@
+package com.futureh.drone.feeder.benchmark;
+
+import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.response.RoutePlanResponse;
+import com.futureh.drone.feeder.service.RouteService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * RoutePlannerBenchmark class.
+ *
+ * <p>Plans a whole morning wave: {@code waveSize} unassigned deliveries of 0.1 to 5 kg spread
+ * over a 40 x 40 km city, flown by a fleet of 500 drones of 2 to 20 kg, through
+ * {@code RouteService.planWave} backed by in-memory repositories.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RoutePlannerBenchmark {
+
+  private static final int FLEET_SIZE = 500;
+
+  @Param({"10000", "50000"})
+  private int waveSize;
+
+  private RouteService routeService;
+
+  /** setUp method.*/
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    Map<String, Drone> dronesByName = new HashMap<String, Drone>();
+    for (int i = 0; i < FLEET_SIZE; i++) {
+      Drone drone = new Drone(String.format("D%03d", i), "DJI Matrice 100",
+          2F + random.nextInt(19));
+      drone.setId((long) i);
+      dronesByName.put(drone.getName(), drone);
+    }
+
+    List<Object[]> stops = new ArrayList<Object[]>(waveSize);
+    for (int i = 0; i < waveSize; i++) {
+      stops.add(new Object[] { (long) i, -23.08 + random.nextDouble() * 0.36,
+          -43.40 + random.nextDouble() * 0.39, 0.1F + random.nextInt(50) / 10F, null });
+    }
+
+    routeService = new RouteService();
+    InMemoryRepositories.inject(routeService, "droneRepository",
+        InMemoryRepositories.droneRepository(dronesByName));
+    InMemoryRepositories.inject(routeService, "deliveryRepository",
+        InMemoryRepositories.deliveryRepository(stops));
+  }
+
+  /** planWave method.*/
+  @Benchmark
+  public RoutePlanResponse planWave() {
+    return routeService.planWave();
+  }
+
+}
@@ -0,0 +1,102 @@
+package com.futureh.drone.feeder.benchmark;
+
+import com.futureh.drone.feeder.model.Drone;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.service.DeliveryService;
+import com.futureh.drone.feeder.service.DroneService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ServiceLookupBenchmark class.
+ *
+ * <p>Drone and video lookups by name through the services, backed by in-memory repositories.
+ * The rotating lookups walk every stored name instead of repeating the same one.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceLookupBenchmark {
+
+  @Param({"1000", "100000"})
+  private int storeSize;
+
+  private DroneService droneService;
+  private DeliveryService deliveryService;
+  private String[] droneNames;
+  private String[] videoNames;
+  private int next;
+
+  /** setUp method.*/
+  @Setup
+  public void setUp() {
+    Map<String, Drone> dronesByName = new HashMap<String, Drone>();
+    Map<String, Video> videosByName = new HashMap<String, Video>();
+    droneNames = new String[storeSize];
+    videoNames = new String[storeSize];
+
+    for (int i = 0; i < storeSize; i++) {
+      Drone drone = new Drone(String.format("D%03d", i), "DJI Phantom Pro 4", 2.72F);
+      drone.setId((long) i);
+      dronesByName.put(drone.getName(), drone);
+      droneNames[i] = drone.getName();
+
+      Video video = new Video(String.format("%s-2023-06-12-%06d.mp4", drone.getName(), i), 1024L);
+      video.setId((long) i);
+      video.setDrone(drone);
+      videosByName.put(video.getFileName(), video);
+      videoNames[i] = video.getFileName();
+    }
+
+    droneService = new DroneService();
+    InMemoryRepositories.inject(droneService, "droneRepository",
+        InMemoryRepositories.droneRepository(dronesByName));
+
+    deliveryService = new DeliveryService();
+    InMemoryRepositories.inject(deliveryService, "videoRepository",
+        InMemoryRepositories.videoRepository(videosByName));
+  }
+
+  /** droneByNameSameName method.*/
+  @Benchmark
+  public Drone droneByNameSameName() {
+    return droneService.getDroneByName(droneNames[0]);
+  }
+
+  /** droneByNameRotating method.*/
+  @Benchmark
+  public Drone droneByNameRotating() {
+    next = (next + 1) % storeSize;
+    return droneService.getDroneByName(droneNames[next]);
+  }
+
+  /** videoByName method.*/
+  @Benchmark
+  public Video videoByName() {
+    next = (next + 1) % storeSize;
+    return deliveryService.getVideoByName(videoNames[next]);
+  }
+
+  /** existsVideoByName method.*/
+  @Benchmark
+  public boolean existsVideoByName() {
+    next = (next + 1) % storeSize;
+    return deliveryService.existsVideoByName(videoNames[next]);
+  }
+
+}
@@ -0,0 +1,111 @@
+package com.futureh.drone.feeder.benchmark;
+
+import com.futureh.drone.feeder.Application;
+import com.futureh.drone.feeder.model.Video;
+import com.futureh.drone.feeder.repository.VideoRepository;
+import com.futureh.drone.feeder.util.VideoProcessingStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * VideoLookupBenchmark class.
+ *
+ * <p>The duplicate check of an upload, {@code existsByFileName}, with {@code tableSize} video
+ * rows, on its own in-memory H2 database in MySQL mode so it never touches the configured
+ * one. The settings are passed as arguments, which win over application.yml. The query cache
+ * is off so every probe reaches the database; with the unique index on the file name the time
+ * should barely change between table sizes. The rows are stored through the repository
+ * before the trial and deleted by id after it.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VideoLookupBenchmark {
+
+  private static final int INSERT_BATCH_SIZE = 1000;
+
+  @Param({"1000", "100000"})
+  private int tableSize;
+
+  private ConfigurableApplicationContext context;
+  private VideoRepository videoRepository;
+  private String[] videoNames;
+  private List<Long> ids;
+  private int next;
+
+  /** setUp method.*/
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new SpringApplicationBuilder(Application.class)
+        .web(WebApplicationType.NONE)
+        .run("--spring.datasource.url=jdbc:h2:mem:videolookup;MODE=MySQL;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+            "--logging.level.root=warn");
+    videoRepository = context.getBean(VideoRepository.class);
+
+    videoNames = new String[tableSize];
+    ids = new ArrayList<Long>(tableSize);
+    List<Video> videos = new ArrayList<Video>(INSERT_BATCH_SIZE);
+    for (int i = 0; i < tableSize; i++) {
+      videoNames[i] = String.format("BM%02d-2023-06-12-%06d.mp4", i % 100, i);
+      Video video = new Video(videoNames[i], 1024L);
+      video.setProcessingStatus(VideoProcessingStatus.READY);
+      videos.add(video);
+      if (videos.size() == INSERT_BATCH_SIZE || i == tableSize - 1) {
+        for (Video saved : videoRepository.saveAll(videos)) {
+          ids.add(saved.getId());
+        }
+        videos.clear();
+      }
+    }
+  }
+
+  /** tearDown method.*/
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    for (int i = 0; i < ids.size(); i += INSERT_BATCH_SIZE) {
+      videoRepository.deleteAllByIdInBatch(
+          ids.subList(i, Math.min(i + INSERT_BATCH_SIZE, ids.size())));
+    }
+    context.close();
+  }
+
+  /** existsByFileName method.*/
+  @Benchmark
+  public boolean existsByFileName() {
+    next = (next + 1) % tableSize;
+    return videoRepository.existsByFileName(videoNames[next]);
+  }
+
+  /** existsByFileNameMissing method.*/
+  @Benchmark
+  public boolean existsByFileNameMissing() {
+    next = (next + 1) % tableSize;
+    return videoRepository.existsByFileName("X" + videoNames[next]);
+  }
+
+}
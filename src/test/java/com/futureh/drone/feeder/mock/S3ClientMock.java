@@ -0,0 +1,113 @@
+package com.futureh.drone.feeder.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+/**
+ * S3ClientMock class.
+ *
+ * <p>In-process stand-in for an S3 bucket: objects are kept in memory and the GET ranges
+ * asked for are recorded.</p>
+ */
+public class S3ClientMock implements S3Client {
+
+  private final Map<String, byte[]> objects = new ConcurrentHashMap<String, byte[]>();
+  private final List<String> ranges = new ArrayList<String>();
+  private final Instant lastModified = Instant.parse("2022-05-30T10:10:10Z");
+
+  public Map<String, byte[]> getObjects() {
+    return objects;
+  }
+
+  public List<String> getRanges() {
+    return ranges;
+  }
+
+  @Override
+  public String serviceName() {
+    return "s3";
+  }
+
+  @Override
+  public void close() { }
+
+  @Override
+  public HeadObjectResponse headObject(HeadObjectRequest request) {
+    byte[] content = find(request.bucket(), request.key());
+    return HeadObjectResponse.builder().contentLength((long) content.length)
+        .lastModified(lastModified).build();
+  }
+
+  @Override
+  public PutObjectResponse putObject(PutObjectRequest request, RequestBody requestBody) {
+    try (InputStream inputStream = requestBody.contentStreamProvider().newStream()) {
+      objects.put(request.bucket() + "/" + request.key(), inputStream.readAllBytes());
+    } catch (IOException err) {
+      throw new UncheckedIOException(err);
+    }
+    return PutObjectResponse.builder().build();
+  }
+
+  @Override
+  public <T> T getObject(GetObjectRequest request,
+      ResponseTransformer<GetObjectResponse, T> responseTransformer) {
+    byte[] content = find(request.bucket(), request.key());
+    if (request.range() != null) {
+      ranges.add(request.range());
+      String[] range = request.range().substring("bytes=".length()).split("-");
+      content = Arrays.copyOfRange(content, Integer.parseInt(range[0]),
+          Integer.parseInt(range[1]) + 1);
+    }
+
+    GetObjectResponse response = GetObjectResponse.builder()
+        .contentLength((long) content.length).lastModified(lastModified).build();
+    try {
+      return responseTransformer.transform(response,
+          AbortableInputStream.create(new ByteArrayInputStream(content)));
+    } catch (Exception err) {
+      throw new IllegalStateException(err);
+    }
+  }
+
+  @Override
+  public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+    return getObject(request, ResponseTransformer.toInputStream());
+  }
+
+  @Override
+  public DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+    objects.remove(request.bucket() + "/" + request.key());
+    return DeleteObjectResponse.builder().build();
+  }
+
+  private byte[] find(String bucket, String key) {
+    byte[] content = objects.get(bucket + "/" + key);
+    if (content == null) {
+      throw NoSuchKeyException.builder().statusCode(404).message(key).build();
+    }
+    return content;
+  }
+
+}
@@ -41,7 +41,7 @@ public class VideoDownloadControllerMock {
 
       @Override
       public long contentLength() throws IOException {
-        return 0;
+        return fileName.getBytes().length;
       }
 
       @Override
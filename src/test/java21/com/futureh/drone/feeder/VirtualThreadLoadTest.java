@@ -0,0 +1,151 @@
+package com.futureh.drone.feeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.futureh.drone.feeder.dto.DeliveryBulkDto;
+import com.futureh.drone.feeder.dto.DeliveryDto;
+import com.futureh.drone.feeder.model.Delivery;
+import com.futureh.drone.feeder.service.DeliveryService;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = "drone-feeder.threads.virtual=true")
+class VirtualThreadLoadTest {
+
+  private static final int UPLOADS = 2000;
+  private static final DateTimeFormatter NAME_TIME =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd-HHmmss");
+
+  @TempDir
+  static Path uploadDirectory;
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private DeliveryService deliveryService;
+
+  private List<Long> ids = new ArrayList<Long>();
+
+  @DynamicPropertySource
+  static void uploadDirectory(DynamicPropertyRegistry registry) {
+    registry.add("drone-feeder.videos.directory", uploadDirectory::toString);
+  }
+
+  @BeforeEach
+  public void setUp() {
+    List<DeliveryDto> deliveries = new ArrayList<DeliveryDto>();
+    for (int i = 0; i < UPLOADS; i++) {
+      DeliveryDto delivery = new DeliveryDto();
+      delivery.setReceiverName("Alberto Santos Dumont " + i);
+      delivery.setAddress("Avenida Ayrton Senna, 2541 - Barra da Tijuca, Rio de Janeiro - RJ");
+      delivery.setZipCode("22775-002");
+      delivery.setLatitude("-22.987029");
+      delivery.setLongitude("-43.366164");
+      delivery.setWeightInKg(2.5F);
+      deliveries.add(delivery);
+    }
+    for (Delivery delivery : deliveryService.addDeliveries(deliveries)) {
+      ids.add(delivery.getId());
+    }
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    DeliveryBulkDto bulk = new DeliveryBulkDto();
+    bulk.setIds(ids);
+    deliveryService.removeDeliveries(bulk);
+  }
+
+  @Test
+  @DisplayName("Milhares de uploads lentos simultâneos não devem impedir que outras requisições"
+      + " sejam atendidas.")
+  public void slowUploadsDontStarveRequests() throws Exception {
+    CountDownLatch halfSent = new CountDownLatch(UPLOADS);
+    CountDownLatch resume = new CountDownLatch(1);
+    LocalDateTime firstRecording = LocalDateTime.of(2022, 5, 30, 0, 0);
+
+    try (ExecutorService drones = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<String>> uploads = new ArrayList<Future<String>>();
+      for (int i = 0; i < UPLOADS; i++) {
+        String path = "/delivery/" + ids.get(i) + "/uploadVideo/A011-"
+            + firstRecording.plusSeconds(i).format(NAME_TIME) + ".mp4";
+        byte[] video = ("Slow drone link footage #" + i).getBytes(StandardCharsets.UTF_8);
+        uploads.add(drones.submit(() -> slowUpload(path, video, halfSent, resume)));
+      }
+
+      try {
+        assertTrue(halfSent.await(120, TimeUnit.SECONDS));
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(30)).build();
+        HttpResponse<String> probe = httpClient.send(HttpRequest.newBuilder(
+            URI.create("http://localhost:" + port + "/drone/all"))
+            .timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, probe.statusCode());
+      } finally {
+        resume.countDown();
+      }
+      for (Future<String> upload : uploads) {
+        assertEquals("HTTP/1.1 201 ", upload.get(60, TimeUnit.SECONDS));
+      }
+    }
+  }
+
+  /** Sends half of the video, waits for {@code resume} and sends the rest. */
+  private String slowUpload(String path, byte[] video, CountDownLatch halfSent,
+      CountDownLatch resume) throws IOException, InterruptedException {
+    try (Socket socket = new Socket("localhost", port)) {
+      OutputStream outputStream = socket.getOutputStream();
+      String head = "PUT " + path + " HTTP/1.1\r\n"
+          + "Host: localhost:" + port + "\r\n"
+          + "Content-Type: application/octet-stream\r\n"
+          + "Content-Length: " + video.length + "\r\n"
+          + "Connection: close\r\n\r\n";
+      outputStream.write(head.getBytes(StandardCharsets.US_ASCII));
+      outputStream.write(video, 0, video.length / 2);
+      outputStream.flush();
+      halfSent.countDown();
+
+      resume.await();
+      outputStream.write(video, video.length / 2, video.length - video.length / 2);
+      outputStream.flush();
+
+      BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+          StandardCharsets.US_ASCII));
+      return reader.readLine().substring(0, "HTTP/1.1 201 ".length());
+    }
+  }
+
+}